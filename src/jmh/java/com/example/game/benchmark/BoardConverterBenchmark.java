@@ -0,0 +1,64 @@
+package com.example.game.benchmark;
+
+import com.example.game.converter.BoardConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of writing the board column and reading it back, including columns still holding legacy JSON.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardConverterBenchmark {
+
+    @Param({"3", "15"})
+    private int size;
+
+    private final BoardConverter boardConverter = new BoardConverter();
+    private String[][] board;
+    private String column;
+    private String jsonColumn;
+
+    @Setup
+    public void setUp() throws Exception {
+        board = Boards.inProgress(size);
+        column = boardConverter.convertToDatabaseColumn(board);
+        jsonColumn = new ObjectMapper().writeValueAsString(board);
+    }
+
+    @Benchmark
+    public String convertToDatabaseColumn() {
+        return boardConverter.convertToDatabaseColumn(board);
+    }
+
+    @Benchmark
+    public String[][] convertToEntityAttribute() {
+        return boardConverter.convertToEntityAttribute(column);
+    }
+
+    @Benchmark
+    public String[][] convertLegacyJsonToEntityAttribute() {
+        return boardConverter.convertToEntityAttribute(jsonColumn);
+    }
+
+    @Benchmark
+    public String[][] roundTrip() {
+        return boardConverter.convertToEntityAttribute(boardConverter.convertToDatabaseColumn(board));
+    }
+}
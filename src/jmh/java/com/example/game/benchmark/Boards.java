@@ -0,0 +1,51 @@
+package com.example.game.benchmark;
+
+import com.example.game.util.GameUtil;
+
+import java.util.Arrays;
+
+/**
+ * Board positions shared by the benchmarks.
+ */
+final class Boards {
+
+    static final String[][] MID_GAME = {
+            {"X", "", ""},
+            {"", "O", ""},
+            {"", "", "X"}
+    };
+    static final String[][] LATE_GAME = {
+            {"X", "O", "X"},
+            {"O", "X", ""},
+            {"O", "", ""}
+    };
+
+    private Boards() {
+    }
+
+    static String[][] empty(int size) {
+        String[][] board = new String[size][size];
+        for (String[] row : board) {
+            Arrays.fill(row, "");
+        }
+        return board;
+    }
+
+    /**
+     * A board of the given size with a few signs around the center and no winner.
+     */
+    static String[][] inProgress(int size) {
+        if (size == 3) {
+            return GameUtil.deepCopyBoard(MID_GAME);
+        }
+        String[][] board = empty(size);
+        int center = size / 2;
+        board[center][center] = "X";
+        board[center][center + 1] = "O";
+        board[center - 1][center] = "X";
+        board[center + 1][center - 1] = "O";
+        board[center - 1][center + 1] = "X";
+        board[center + 1][center + 1] = "O";
+        return board;
+    }
+}
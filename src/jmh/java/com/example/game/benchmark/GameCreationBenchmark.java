@@ -0,0 +1,163 @@
+package com.example.game.benchmark;
+
+import com.example.game.model.entity.Game;
+import com.example.game.model.entity.Player;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.repos.GameRepository;
+import com.example.game.repos.PlayerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of creating games through the entities and repositories, with the persistence settings of the default
+ * profile (before) and of the high-throughput profile (after), on tables already holding {@code preloadedGames}.
+ * {@code createGame} saves one game per transaction, as {@code GameService.createNewGame} does, so only the
+ * time-ordered ids can help it; {@code createGamesWithPlayers} saves games with a player each in one transaction,
+ * the flush that JDBC batching and ordered inserts group. Logs the size of the primary key indexes at the end of
+ * each trial. Runs a Spring context with the Flyway migrations against {@code -Dbenchmark.jdbc.url=...} (with
+ * {@code .user} and {@code .password}), passed to the forks with {@code -jvmArgsAppend}, or a Postgres container;
+ * each trial empties the game tables, so point it at a scratch database.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameCreationBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameCreationBenchmark.class);
+    private static final int GAMES_PER_OPERATION = 50;
+    private static final String DEFAULT_PROFILE = "default";
+
+    @Param({DEFAULT_PROFILE, "high-throughput"})
+    private String profile;
+
+    @Param({"200000"})
+    private int preloadedGames;
+
+    private PostgreSQLContainer<?> container;
+    private ConfigurableApplicationContext context;
+    private GameRepository gameRepository;
+    private PlayerRepository playerRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url");
+        String user = System.getProperty("benchmark.jdbc.user");
+        String password = System.getProperty("benchmark.jdbc.password");
+        if (url == null) {
+            container = new PostgreSQLContainer<>("postgres:16-alpine").withUrlParam("reWriteBatchedInserts", "true");
+            container.start();
+            url = container.getJdbcUrl();
+            user = container.getUsername();
+            password = container.getPassword();
+        }
+        SpringApplicationBuilder application = new SpringApplicationBuilder(PersistenceConfig.class)
+                .web(WebApplicationType.NONE);
+        if (!DEFAULT_PROFILE.equals(profile)) {
+            application.profiles(profile);
+        }
+        context = application.run("--spring.datasource.url=" + url, "--spring.datasource.username=" + user,
+                "--spring.datasource.password=" + password);
+        gameRepository = context.getBean(GameRepository.class);
+        playerRepository = context.getBean(PlayerRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.execute("TRUNCATE game_players, player, game CASCADE");
+        for (int created = 0; created < preloadedGames; created += GAMES_PER_OPERATION) {
+            createGamesWithPlayers();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        Map<String, Object> sizes = jdbcTemplate.queryForMap("SELECT"
+                + " pg_size_pretty(pg_relation_size('game_pkey')) AS game_index,"
+                + " pg_size_pretty(pg_relation_size('player_pkey')) AS player_index,"
+                + " (SELECT count(*) FROM game) AS games");
+        LOG.info("Profile {}: primary key indexes {} (game) and {} (player) for {} games", profile,
+                sizes.get("game_index"), sizes.get("player_index"), sizes.get("games"));
+        context.close();
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    @Benchmark
+    public Game createGame() {
+        return transactionTemplate.execute(status -> {
+            gameRepository.existsInProgressGame();
+            return gameRepository.save(newGame());
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES_PER_OPERATION)
+    public void createGamesWithPlayers() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < GAMES_PER_OPERATION; i++) {
+                Game game = gameRepository.save(newGame());
+                Player player = playerRepository.save(Player.builder()
+                        .name("player_" + i)
+                        .playerSign(PlayerSign.X)
+                        .currentGame(game)
+                        .build());
+                game.getPlayers().add(player);
+            }
+        });
+    }
+
+    private static Game newGame() {
+        return Game.builder()
+                .status(GameStatus.NEW)
+                .board(Boards.empty(3))
+                .boardRows(3)
+                .boardColumns(3)
+                .winLength(3)
+                .build();
+    }
+
+    /**
+     * The persistence part of the application: entities, repositories, datasource, Flyway and the profile's
+     * Hibernate settings, without the services that need Kafka or ZooKeeper.
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = KafkaAutoConfiguration.class)
+    @EntityScan(basePackageClasses = Game.class)
+    @EnableJpaRepositories(basePackageClasses = GameRepository.class)
+    static class PersistenceConfig {
+    }
+}
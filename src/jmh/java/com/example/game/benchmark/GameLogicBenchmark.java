@@ -0,0 +1,75 @@
+package com.example.game.benchmark;
+
+import com.example.game.config.EngineProperties;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.GameLogicService;
+import com.example.game.service.engine.PerfectPlayTable;
+import com.example.game.service.engine.SearchPool;
+import com.example.game.service.engine.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link GameLogicService#findBestMove(String[][], int, PlayerSign)} from empty, mid-game and late
+ * positions, with and without the perfect-play table and transposition table.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameLogicBenchmark {
+
+    @Param({"EMPTY", "MID", "LATE"})
+    private String position;
+
+    @Param({"true", "false"})
+    private boolean perfectPlayTable;
+
+    @Param({"4", "0"})
+    private int transpositionTableMegabytes;
+
+    private GameLogicService gameLogicService;
+    private SearchPool searchPool;
+    private String[][] board;
+    private PlayerSign playerSign;
+
+    @Setup
+    public void setUp() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setPerfectPlayTable(perfectPlayTable);
+        engineProperties.setTranspositionTableMegabytes(transpositionTableMegabytes);
+        searchPool = new SearchPool(engineProperties);
+        gameLogicService = new GameLogicService(engineProperties, new PerfectPlayTable(),
+                new TranspositionTable(engineProperties), searchPool);
+        board = switch (position) {
+            case "EMPTY" -> Boards.empty(3);
+            case "MID" -> Boards.MID_GAME;
+            default -> Boards.LATE_GAME;
+        };
+        playerSign = "MID".equals(position) ? PlayerSign.O : PlayerSign.X;
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchPool.shutdown();
+    }
+
+    @Benchmark
+    public int[] findBestMove() {
+        return gameLogicService.findBestMove(board, 3, playerSign);
+    }
+}
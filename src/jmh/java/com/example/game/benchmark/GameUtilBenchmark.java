@@ -0,0 +1,62 @@
+package com.example.game.benchmark;
+
+import com.example.game.model.enums.GameStatus;
+import com.example.game.util.GameUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the board status checks and board copying done on every move.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameUtilBenchmark {
+
+    @Param({"3", "15"})
+    private int size;
+
+    private String[][] board;
+    private int winLength;
+    private int lastMoveRow;
+    private int lastMoveColumn;
+    private int moveCount;
+
+    @Setup
+    public void setUp() {
+        board = Boards.inProgress(size);
+        winLength = Math.min(size, 5);
+        moveCount = GameUtil.countSigns(board);
+        lastMoveRow = size / 2;
+        lastMoveColumn = size / 2;
+    }
+
+    @Benchmark
+    public GameStatus getCurrentGameStatus() {
+        return GameUtil.getCurrentGameStatus(board, winLength);
+    }
+
+    @Benchmark
+    public GameStatus getStatusAfterMove() {
+        return GameUtil.getStatusAfterMove(board, winLength, lastMoveRow, lastMoveColumn, moveCount);
+    }
+
+    @Benchmark
+    public String[][] deepCopyBoard() {
+        return GameUtil.deepCopyBoard(board);
+    }
+}
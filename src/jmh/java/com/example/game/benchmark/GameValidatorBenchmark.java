@@ -0,0 +1,59 @@
+package com.example.game.benchmark;
+
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.GameValidatorService;
+import com.example.game.util.GameUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link GameValidatorService#validateMove(GameMove)} for a valid move.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameValidatorBenchmark {
+
+    @Param({"3", "15"})
+    private int size;
+
+    private final GameValidatorService gameValidatorService = new GameValidatorService();
+    private GameMove move;
+
+    @Setup
+    public void setUp() {
+        String[][] previousBoard = Boards.inProgress(size);
+        String[][] newBoard = GameUtil.deepCopyBoard(previousBoard);
+        int row = size == 3 ? 0 : size / 2 + 1;
+        int column = size == 3 ? 1 : size / 2;
+        newBoard[row][column] = PlayerSign.O.name();
+        move = GameMove.builder()
+                .sign(PlayerSign.O)
+                .moveX(row)
+                .moveY(column)
+                .previousBoard(previousBoard)
+                .newBoard(newBoard)
+                .build();
+    }
+
+    @Benchmark
+    public GameMove validateMove() {
+        gameValidatorService.validateMove(move);
+        return move;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.game.benchmark;
+
+import com.example.game.config.EngineProperties;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.GameLogicService;
+import com.example.game.service.engine.PerfectPlayTable;
+import com.example.game.service.engine.SearchPool;
+import com.example.game.service.engine.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the minimax search on a 15x15 board with five in a row to win, sequential and split across
+ * all available processors.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LargeBoardSearchBenchmark {
+
+    @Param({"2", "3"})
+    private int searchDepth;
+
+    @Param({"1", "0"})
+    private int searchThreads;
+
+    private GameLogicService gameLogicService;
+    private SearchPool searchPool;
+    private String[][] board;
+
+    @Setup
+    public void setUp() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setLargeBoardSearchDepth(searchDepth);
+        engineProperties.setSearchThreads(searchThreads);
+        searchPool = new SearchPool(engineProperties);
+        gameLogicService = new GameLogicService(engineProperties, new PerfectPlayTable(),
+                new TranspositionTable(engineProperties), searchPool);
+        board = Boards.inProgress(15);
+    }
+
+    @TearDown
+    public void tearDown() {
+        searchPool.shutdown();
+    }
+
+    @Benchmark
+    public int[] findBestMove() {
+        return gameLogicService.findBestMove(board, 5, PlayerSign.X);
+    }
+}
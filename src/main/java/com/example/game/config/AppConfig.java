@@ -2,14 +2,27 @@ package com.example.game.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import java.util.Random;
 
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
     public Random random() {
         return new Random();
     }
+
+    @Bean
+    public ThreadPoolTaskScheduler moveScheduler(MoveDelayProperties moveDelayProperties) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(moveDelayProperties.getSchedulerThreads());
+        scheduler.setThreadNamePrefix("move-delay-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds((int) (moveDelayProperties.getMaxMillis() / 1000) + 1);
+        return scheduler;
+    }
 }
@@ -0,0 +1,39 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.archive")
+public class ArchiveProperties {
+    /**
+     * Whether finished games are moved from the hot tables into the partitioned archive tables.
+     */
+    private boolean enabled = true;
+    /**
+     * Age, by creation time, after which a finished or drawn game is archived.
+     */
+    private long minAgeHours = 24;
+    /**
+     * Pause between two archiving runs.
+     */
+    private long intervalMillis = 60_000;
+    /**
+     * Games moved per transaction.
+     */
+    private int batchSize = 500;
+    /**
+     * Batches moved per run, bounding the load one run puts on the database.
+     */
+    private int maxBatchesPerRun = 20;
+    /**
+     * Pause between two batches of the same run.
+     */
+    private long batchPauseMillis = 100;
+    /**
+     * Age in months after which a monthly archive partition is detached from its archive table; 0 keeps all.
+     */
+    private int detachAfterMonths = 0;
+}
@@ -0,0 +1,15 @@
+package com.example.game.config;
+
+import com.example.game.util.BitBoard;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.board")
+public class BoardProperties {
+    private int rows = BitBoard.SIZE;
+    private int columns = BitBoard.SIZE;
+    private int winLength = BitBoard.SIZE;
+}
@@ -0,0 +1,20 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.dedup")
+public class DedupProperties {
+    /**
+     * Whether the listeners drop moves and game messages this instance has already handled before taking any lock
+     * or touching the database.
+     */
+    private boolean enabled = true;
+    /**
+     * Games whose latest handled move and status are remembered; the least recently seen ones are forgotten first.
+     */
+    private int maxGames = 10_000;
+}
@@ -0,0 +1,54 @@
+package com.example.game.config;
+
+import com.example.game.util.BitBoard;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.engine")
+public class EngineProperties {
+    /**
+     * Maximum number of plies searched before the position is scored heuristically.
+     */
+    private int maxSearchDepth = BitBoard.CELLS;
+    /**
+     * Maximum number of plies searched on boards other than the classic 3x3 one.
+     */
+    private int largeBoardSearchDepth = 2;
+    /**
+     * Whether best moves are looked up in the precomputed perfect-play table instead of searched.
+     */
+    private boolean perfectPlayTable = true;
+    /**
+     * Memory budget of the process-wide transposition table; 0 disables it.
+     */
+    private int transpositionTableMegabytes = 4;
+    /**
+     * Number of fork/join workers a single search splits its root moves across; 1 searches on the calling thread,
+     * 0 uses one per available processor.
+     */
+    private int searchThreads = 1;
+    private Mcts mcts = new Mcts();
+
+    @Data
+    public static class Mcts {
+        /**
+         * Wall-clock time a single move may search for.
+         */
+        private long timeBudgetMillis = 500;
+        /**
+         * Number of independent trees searched in parallel; 0 uses one per available processor.
+         */
+        private int threads = 0;
+        /**
+         * Upper bound on simulations per move across all trees; 0 means limited by the time budget only.
+         */
+        private int maxIterations = 0;
+        /**
+         * UCT exploration constant.
+         */
+        private double exploration = Math.sqrt(2);
+    }
+}
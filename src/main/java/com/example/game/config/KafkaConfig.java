@@ -22,6 +22,12 @@ public class KafkaConfig {
     @Value(value = "${game.topic.movies.name}")
     private String gameMoviesTopicName;
 
+    @Value(value = "${game.topic.game.partitions:1}")
+    private int gameTopicPartitions;
+
+    @Value(value = "${game.topic.movies.partitions:1}")
+    private int gameMoviesTopicPartitions;
+
     @Bean
     public KafkaAdmin kafkaAdmin() {
         Map<String, Object> configs = new HashMap<>();
@@ -29,14 +35,19 @@ public class KafkaConfig {
         return new KafkaAdmin(configs);
     }
 
+    /**
+     * Records are keyed by game id, so each game stays on one partition and its records keep their order.
+     * Raising the partition count of an existing topic moves keys to other partitions, so it should only be
+     * done while no game is in progress.
+     */
     @Bean
     public NewTopic gameTopic() {
-        return new NewTopic(gameTopicName, 1, (short) 1);
+        return new NewTopic(gameTopicName, gameTopicPartitions, (short) 1);
     }
 
     @Bean
     public NewTopic gameMoviesTopic() {
-        return new NewTopic(gameMoviesTopicName, 1, (short) 1);
+        return new NewTopic(gameMoviesTopicName, gameMoviesTopicPartitions, (short) 1);
     }
 
 }
@@ -1,7 +1,10 @@
 package com.example.game.config;
 
+import com.example.game.converter.GameMessageDeserializer;
 import com.example.game.model.entity.Game;
 import com.example.game.model.GameMove;
+import com.example.game.service.kafka.PartitionOwnershipService;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,18 +18,23 @@ import org.springframework.kafka.support.converter.RecordMessageConverter;
 import org.springframework.kafka.support.converter.StringJsonMessageConverter;
 import org.springframework.kafka.support.mapping.DefaultJackson2JavaTypeMapper;
 import org.springframework.kafka.support.mapping.Jackson2JavaTypeMapper;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @EnableKafka
 @Configuration
+@RequiredArgsConstructor
 public class KafkaConsumerConfig {
 
+    private final PartitionOwnershipService partitionOwnershipService;
+
     @Value(value = "${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    @Value(value = "${game.topic.listener-concurrency:1}")
+    private int listenerConcurrency;
+
     @Bean
     public RecordMessageConverter multiTypeConverter() {
         StringJsonMessageConverter converter = new StringJsonMessageConverter();
@@ -40,11 +48,30 @@ public class KafkaConsumerConfig {
         return new DefaultKafkaConsumerFactory<>(createConsumerProps());
     }
 
+    /**
+     * Each of the {@code listenerConcurrency} consumers owns a share of the partitions; records of one game share a
+     * partition, so games are processed in parallel while each game is still processed in order.
+     */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> multiTypeKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(multiTypeConsumerFactory());
         factory.setRecordMessageConverter(multiTypeConverter());
+        factory.setConcurrency(listenerConcurrency);
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionOwnershipService);
+        return factory;
+    }
+
+    /**
+     * Delivers each consumer a poll's worth of records at once, for listeners that group them by game.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> multiTypeBatchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(multiTypeConsumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(listenerConcurrency);
+        factory.getContainerProperties().setConsumerRebalanceListener(partitionOwnershipService);
         return factory;
     }
 
@@ -63,7 +90,7 @@ public class KafkaConsumerConfig {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, GameMessageDeserializer.class);
         return props;
     }
 }
@@ -1,5 +1,8 @@
 package com.example.game.config;
 
+import com.example.game.converter.GameMessageSerializer;
+import com.example.game.model.enums.WireFormat;
+import lombok.RequiredArgsConstructor;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,11 +17,20 @@ import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@RequiredArgsConstructor
 public class KafkaProducerConfig {
 
+    private final KafkaSenderProperties kafkaSenderProperties;
+
     @Value(value = "${spring.kafka.bootstrap-servers}")
     private String bootstrapAddress;
 
+    /**
+     * Encoding of sent messages; switch to BINARY only once every consumer reads it.
+     */
+    @Value(value = "${game.topic.wire-format:JSON}")
+    private WireFormat wireFormat;
+
     @Bean
     public ProducerFactory<String, Object> gameMoveProducerFactory() {
         return new DefaultKafkaProducerFactory<>(createProps());
@@ -33,7 +45,16 @@ public class KafkaProducerConfig {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapAddress);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, GameMessageSerializer.class);
+        configProps.put(GameMessageSerializer.WIRE_FORMAT_CONFIG, wireFormat.name());
+        // Idempotence keeps the producer's internal retries free of duplicates and reordering per partition
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, kafkaSenderProperties.getLingerMillis());
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, kafkaSenderProperties.getBatchSizeBytes());
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, kafkaSenderProperties.getCompressionType());
+        configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, kafkaSenderProperties.getDeliveryTimeoutMillis());
         configProps.put(JsonSerializer.TYPE_MAPPINGS, "game:com.example.game.model.entity.Game, " +
                 "gameMove:com.example.game.model.GameMove");
         return configProps;
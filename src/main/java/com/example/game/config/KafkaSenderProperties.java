@@ -0,0 +1,36 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.sender")
+public class KafkaSenderProperties {
+    /**
+     * Time the producer waits for more records to fill a batch before sending it.
+     */
+    private int lingerMillis = 5;
+    /**
+     * Maximum size of one producer batch per partition.
+     */
+    private int batchSizeBytes = 64 * 1024;
+    /**
+     * Compression applied to whole batches: none, gzip, snappy, lz4 or zstd.
+     */
+    private String compressionType = "lz4";
+    /**
+     * Time the producer keeps retrying a record internally before reporting it as failed; at least linger.ms
+     * plus the 30 s request timeout.
+     */
+    private int deliveryTimeoutMillis = 120_000;
+    /**
+     * Messages sent but not yet acknowledged, retries included; further sends wait for a free slot.
+     */
+    private int maxInFlightMessages = 1_000;
+    /**
+     * Time a send waits for a free slot before failing.
+     */
+    private long maxBlockMillis = 5_000;
+}
@@ -0,0 +1,44 @@
+package com.example.game.config;
+
+import com.example.game.model.enums.LockBackendType;
+import com.example.game.model.enums.LockMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.lock")
+public class LockProperties {
+    /**
+     * DISTRIBUTED locks every applied move; PARTITION_OWNERSHIP skips the lock for moves on partitions
+     * this instance owns and retries their updates that lost a version check; OPTIMISTIC takes no locks and
+     * retries updates that lost a version check.
+     */
+    private LockMode mode = LockMode.DISTRIBUTED;
+    /**
+     * Where locks come from: ZOOKEEPER or POSTGRES for clusters, LOCAL for a single instance.
+     */
+    private LockBackendType backend = LockBackendType.ZOOKEEPER;
+    /**
+     * ZooKeeper ensemble the ZOOKEEPER backend connects to.
+     */
+    private String zookeeperConnectString = "localhost:2181";
+    /**
+     * Number of ReentrantLock stripes of the LOCAL backend, rounded up to a power of two.
+     */
+    private int localStripes = 1024;
+    /**
+     * How long after a partition is assigned its moves are still applied under the distributed lock,
+     * so a previous owner can finish the records it is processing.
+     */
+    private long handoverMillis = 10_000;
+    /**
+     * Attempts an optimistic update gets, the first one included, before the conflict is rethrown.
+     */
+    private int optimisticMaxAttempts = 5;
+    /**
+     * Initial pause before retrying a conflicting update; it doubles with random jitter on every further retry.
+     */
+    private long optimisticBackoffMillis = 10;
+}
@@ -0,0 +1,32 @@
+package com.example.game.config;
+
+import com.example.game.model.enums.DelayDistribution;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.move-delay")
+public class MoveDelayProperties {
+    /**
+     * How the "think time" before a move is published is drawn.
+     */
+    private DelayDistribution distribution = DelayDistribution.FIXED;
+    /**
+     * The delay for FIXED, the mean delay for EXPONENTIAL.
+     */
+    private long millis = 1000;
+    /**
+     * Lower bound of UNIFORM and EXPONENTIAL delays.
+     */
+    private long minMillis = 0;
+    /**
+     * Upper bound of UNIFORM and EXPONENTIAL delays.
+     */
+    private long maxMillis = 2000;
+    /**
+     * Threads publishing delayed moves; they only send, so a few serve any number of games.
+     */
+    private int schedulerThreads = 2;
+}
@@ -0,0 +1,27 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.move-log")
+public class MoveLogProperties {
+    /**
+     * Whether applied moves are appended to the game_move table, a best-effort log for analytics.
+     */
+    private boolean enabled = true;
+    /**
+     * Pause between two batch inserts of buffered moves.
+     */
+    private long flushIntervalMillis = 200;
+    /**
+     * Maximum number of rows sent in one JDBC batch.
+     */
+    private int batchSize = 500;
+    /**
+     * Moves buffered while the database is slow or down; further moves are dropped from the log.
+     */
+    private int maxPendingMoves = 10_000;
+}
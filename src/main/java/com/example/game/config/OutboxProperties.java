@@ -0,0 +1,53 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.outbox")
+public class OutboxProperties {
+    /**
+     * Whether game events are written to the outbox table and relayed to Kafka; when off they are sent directly
+     * once their transaction commits.
+     */
+    private boolean enabled = true;
+    /**
+     * Whether moves also go through the outbox; when off they are sent from the in-memory move scheduler,
+     * which keeps the database off the move path, e.g. with write-behind.
+     */
+    private boolean moves = true;
+    /**
+     * Pause between two relay runs.
+     */
+    private long intervalMillis = 100;
+    /**
+     * Events read and published per relay transaction.
+     */
+    private int batchSize = 500;
+    /**
+     * Batches relayed per run.
+     */
+    private int maxBatchesPerRun = 20;
+    /**
+     * Time a batch waits for the broker's acknowledgements; unacknowledged events are relayed again later.
+     */
+    private long sendTimeoutMillis = 10_000;
+    /**
+     * Failed attempts after which an event is parked and no longer relayed.
+     */
+    private int maxAttempts = 10;
+    /**
+     * Age after which sent events are deleted from the outbox.
+     */
+    private long retentionHours = 24;
+    /**
+     * Pause between two purges of sent events.
+     */
+    private long purgeIntervalMillis = 60_000;
+    /**
+     * Sent events deleted per purge.
+     */
+    private int purgeBatchSize = 10_000;
+}
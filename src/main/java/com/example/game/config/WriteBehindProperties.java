@@ -0,0 +1,21 @@
+package com.example.game.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "game.write-behind")
+public class WriteBehindProperties {
+    /**
+     * Whether games on exclusively owned partitions are kept in memory and persisted write-behind;
+     * only takes effect in PARTITION_OWNERSHIP lock mode, and only pays off when all instances consume game moves
+     * in one shared group, since with a group per player both players write every game.
+     */
+    private boolean enabled = false;
+    /**
+     * Pause between two flushes of the moves applied to in-memory games.
+     */
+    private long flushIntervalMillis = 500;
+}
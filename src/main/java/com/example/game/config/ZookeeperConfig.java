@@ -1,18 +1,24 @@
 package com.example.game.config;
 
+import lombok.RequiredArgsConstructor;
 import org.apache.curator.framework.CuratorFramework;
 import org.apache.curator.framework.CuratorFrameworkFactory;
 import org.apache.curator.retry.ExponentialBackoffRetry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "game.lock", name = "backend", havingValue = "ZOOKEEPER", matchIfMissing = true)
 public class ZookeeperConfig {
 
+    private final LockProperties lockProperties;
+
     @Bean
     public CuratorFramework curatorFramework() {
         CuratorFramework curatorFramework = CuratorFrameworkFactory.newClient(
-                "localhost:2181",
+                lockProperties.getZookeeperConnectString(),
                 new ExponentialBackoffRetry(1000, 3)
         );
         curatorFramework.start();
@@ -1,41 +1,122 @@
 package com.example.game.converter;
 
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.util.BitBoard;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.AttributeConverter;
 import jakarta.persistence.Converter;
 
 /**
- * Converter class for converting the game board between its entity representation and JSON.
+ * Converter class for converting the game board between its entity representation and a compact string.
+ * Each row is written as one character per cell, {@code X}, {@code O} or {@code .} for an empty cell, and rows are
+ * separated by {@code /}, e.g. {@code X../.O./...}. Columns written before this encoding hold the board as JSON;
+ * they are still read and are rewritten compactly on the next update.
  */
 @Converter
 public class BoardConverter implements AttributeConverter<String[][], String> {
 
+    private static final char EMPTY = '.';
+    private static final char ROW_SEPARATOR = '/';
+    private static final char JSON_ARRAY_START = '[';
+    private static final String X = PlayerSign.X.name();
+    private static final String O = PlayerSign.O.name();
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
-     * Converts the board to a JSON string for storage in the database.
+     * Converts the board to its compact form for storage in the database.
      *
      * @param board the board to convert
-     * @return the JSON string representation of the board
+     * @return the compact string representation of the board
+     * @throws IllegalArgumentException if a cell holds anything but a player sign or an empty cell
      */
     @Override
     public String convertToDatabaseColumn(String[][] board) {
-        try {
-            return objectMapper.writeValueAsString(board);
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Error converting board to JSON", e);
+        if (board == null) {
+            return null;
+        }
+        int length = Math.max(0, board.length - 1);
+        for (String[] row : board) {
+            length += row.length;
+        }
+        char[] chars = new char[length];
+        int position = 0;
+        for (int i = 0; i < board.length; i++) {
+            if (i > 0) {
+                chars[position++] = ROW_SEPARATOR;
+            }
+            for (String cell : board[i]) {
+                chars[position++] = encode(cell);
+            }
         }
+        return new String(chars);
     }
 
     /**
-     * Converts the JSON string from the database back to the board.
+     * Converts the column from the database back to the board, accepting both the compact form and legacy JSON.
      *
-     * @param boardJson the JSON string representation of the board
+     * @param column the stored representation of the board
      * @return the board as a 2D array
+     * @throws IllegalArgumentException if the column cannot be parsed
      */
     @Override
-    public String[][] convertToEntityAttribute(String boardJson) {
+    public String[][] convertToEntityAttribute(String column) {
+        if (column == null) {
+            return null;
+        }
+        if (column.isEmpty()) {
+            return new String[0][];
+        }
+        if (column.charAt(0) == JSON_ARRAY_START) {
+            return fromJson(column);
+        }
+        int rows = 1;
+        for (int i = 0; i < column.length(); i++) {
+            if (column.charAt(i) == ROW_SEPARATOR) {
+                rows++;
+            }
+        }
+        String[][] board = new String[rows][];
+        int start = 0;
+        for (int row = 0; row < rows; row++) {
+            int end = column.indexOf(ROW_SEPARATOR, start);
+            if (end < 0) {
+                end = column.length();
+            }
+            String[] cells = new String[end - start];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = decode(column.charAt(start + i));
+            }
+            board[row] = cells;
+            start = end + 1;
+        }
+        return board;
+    }
+
+    private static char encode(String cell) {
+        if (cell == null || cell.isEmpty()) {
+            return EMPTY;
+        }
+        if (cell.equals(X)) {
+            return 'X';
+        }
+        if (cell.equals(O)) {
+            return 'O';
+        }
+        throw new IllegalArgumentException("Unknown board cell: " + cell);
+    }
+
+    private static String decode(char cell) {
+        return switch (cell) {
+            case EMPTY -> BitBoard.EMPTY_CELL;
+            case 'X' -> X;
+            case 'O' -> O;
+            default -> throw new IllegalArgumentException("Unknown board cell: " + cell);
+        };
+    }
+
+    private String[][] fromJson(String boardJson) {
         try {
             return objectMapper.readValue(boardJson, String[][].class);
         } catch (JsonProcessingException e) {
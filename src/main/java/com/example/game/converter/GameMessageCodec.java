@@ -0,0 +1,171 @@
+package com.example.game.converter;
+
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import lombok.experimental.UtilityClass;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Compact binary encoding of the Kafka messages, sent with the {@link #CONTENT_TYPE} content type.
+ * A message starts with the format version, the message type and a bit set of the fields present, followed by
+ * the present fields in declaration order. A {@link GameMove} carries its ids, sign, coordinates, sequence and
+ * board hash but no boards; it takes at most 52 bytes against several hundred as JSON.
+ * Enum constants are written by ordinal, so new constants must only be appended.
+ */
+@UtilityClass
+public class GameMessageCodec {
+
+    /**
+     * Kafka header naming the encoding of the value; records without it are JSON.
+     */
+    public static final String CONTENT_TYPE_HEADER = "contentType";
+    public static final String CONTENT_TYPE = "application/vnd.game.v1+binary";
+
+    private static final byte VERSION = 1;
+    private static final byte GAME_MOVE = 1;
+    private static final byte GAME_DTO = 2;
+    private static final int HEADER_BYTES = 3;
+    private static final int UUID_BYTES = 16;
+
+    /**
+     * Checks whether a message has a binary encoding.
+     *
+     * @param message the message
+     * @return true for a {@link GameMove} or a {@link GameDto}
+     */
+    public boolean supports(Object message) {
+        return message instanceof GameMove || message instanceof GameDto;
+    }
+
+    /**
+     * Encodes a message.
+     *
+     * @param message a {@link GameMove} or a {@link GameDto}
+     * @return the encoded message
+     * @throws IllegalArgumentException if the message type has no binary encoding
+     */
+    public byte[] encode(Object message) {
+        if (message instanceof GameMove move) {
+            return encode(move);
+        }
+        if (message instanceof GameDto gameDto) {
+            return encode(gameDto);
+        }
+        throw new IllegalArgumentException("No binary encoding for " + message);
+    }
+
+    /**
+     * Decodes a message encoded by {@link #encode(Object)}.
+     *
+     * @param data the encoded message
+     * @return the decoded {@link GameMove} or {@link GameDto}
+     * @throws IllegalArgumentException if the data is not a supported message
+     */
+    public Object decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported binary message version: " + version);
+            }
+            byte type = buffer.get();
+            int fields = buffer.get();
+            return switch (type) {
+                case GAME_MOVE -> decodeGameMove(buffer, fields);
+                case GAME_DTO -> decodeGameDto(buffer, fields);
+                default -> throw new IllegalArgumentException("Unknown binary message type: " + type);
+            };
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Malformed binary message", e);
+        }
+    }
+
+    private byte[] encode(GameMove move) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 2 * UUID_BYTES + 1 + 4 * Integer.BYTES);
+        buffer.put(VERSION).put(GAME_MOVE).put(presentFields(move.getGameId(), move.getPlayerId(), move.getSign(),
+                move.getMoveX(), move.getMoveY(), move.getSequence(), move.getBoardHash()));
+        putUuid(buffer, move.getGameId());
+        putUuid(buffer, move.getPlayerId());
+        if (move.getSign() != null) {
+            buffer.put((byte) move.getSign().ordinal());
+        }
+        putInt(buffer, move.getMoveX());
+        putInt(buffer, move.getMoveY());
+        putInt(buffer, move.getSequence());
+        putInt(buffer, move.getBoardHash());
+        return toArray(buffer);
+    }
+
+    private GameMove decodeGameMove(ByteBuffer buffer, int fields) {
+        return GameMove.builder()
+                .gameId(isSet(fields, 0) ? getUuid(buffer) : null)
+                .playerId(isSet(fields, 1) ? getUuid(buffer) : null)
+                .sign(isSet(fields, 2) ? PlayerSign.values()[buffer.get()] : null)
+                .moveX(isSet(fields, 3) ? buffer.getInt() : null)
+                .moveY(isSet(fields, 4) ? buffer.getInt() : null)
+                .sequence(isSet(fields, 5) ? buffer.getInt() : null)
+                .boardHash(isSet(fields, 6) ? buffer.getInt() : null)
+                .build();
+    }
+
+    private byte[] encode(GameDto gameDto) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 2 * UUID_BYTES + 1);
+        buffer.put(VERSION).put(GAME_DTO).put(presentFields(gameDto.getId(), gameDto.getStatus(),
+                gameDto.getLastPlayedPlayerId()));
+        putUuid(buffer, gameDto.getId());
+        if (gameDto.getStatus() != null) {
+            buffer.put((byte) gameDto.getStatus().ordinal());
+        }
+        putUuid(buffer, gameDto.getLastPlayedPlayerId());
+        return toArray(buffer);
+    }
+
+    private GameDto decodeGameDto(ByteBuffer buffer, int fields) {
+        return GameDto.builder()
+                .id(isSet(fields, 0) ? getUuid(buffer) : null)
+                .status(isSet(fields, 1) ? GameStatus.values()[buffer.get()] : null)
+                .lastPlayedPlayerId(isSet(fields, 2) ? getUuid(buffer) : null)
+                .build();
+    }
+
+    private void putUuid(ByteBuffer buffer, UUID uuid) {
+        if (uuid != null) {
+            buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        }
+    }
+
+    private UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private void putInt(ByteBuffer buffer, Integer value) {
+        if (value != null) {
+            buffer.putInt(value);
+        }
+    }
+
+    private boolean isSet(int fields, int index) {
+        return (fields & 1 << index) != 0;
+    }
+
+    private byte[] toArray(ByteBuffer buffer) {
+        byte[] data = new byte[buffer.position()];
+        buffer.flip().get(data);
+        return data;
+    }
+
+    private byte presentFields(Object... values) {
+        int fields = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                fields |= 1 << i;
+            }
+        }
+        return (byte) fields;
+    }
+}
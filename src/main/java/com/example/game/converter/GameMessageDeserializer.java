@@ -0,0 +1,52 @@
+package com.example.game.converter;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Kafka deserializer reading game messages in either format: records carrying the
+ * {@link GameMessageCodec#CONTENT_TYPE} header are decoded as binary, all others by {@link JsonDeserializer}.
+ */
+public class GameMessageDeserializer implements Deserializer<Object> {
+
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null || !isBinary(headers)) {
+            return jsonDeserializer.deserialize(topic, headers, data);
+        }
+        try {
+            return GameMessageCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Unable to decode binary message from " + topic, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+    private static boolean isBinary(Headers headers) {
+        Header contentType = headers.lastHeader(GameMessageCodec.CONTENT_TYPE_HEADER);
+        return contentType != null
+                && GameMessageCodec.CONTENT_TYPE.equals(new String(contentType.value(), StandardCharsets.UTF_8));
+    }
+}
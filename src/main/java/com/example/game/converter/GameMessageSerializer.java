@@ -0,0 +1,53 @@
+package com.example.game.converter;
+
+import com.example.game.model.enums.WireFormat;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Kafka serializer writing game messages in the configured {@link WireFormat}. Binary messages are marked with the
+ * {@link GameMessageCodec#CONTENT_TYPE} header; everything else goes through {@link JsonSerializer} unchanged.
+ */
+public class GameMessageSerializer implements Serializer<Object> {
+
+    /**
+     * Producer property holding the {@link WireFormat} name.
+     */
+    public static final String WIRE_FORMAT_CONFIG = "game.wire-format";
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private WireFormat wireFormat = WireFormat.JSON;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object configured = configs.get(WIRE_FORMAT_CONFIG);
+        if (configured != null) {
+            wireFormat = WireFormat.valueOf(configured.toString());
+        }
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (wireFormat == WireFormat.BINARY && GameMessageCodec.supports(data)) {
+            headers.add(GameMessageCodec.CONTENT_TYPE_HEADER,
+                    GameMessageCodec.CONTENT_TYPE.getBytes(StandardCharsets.UTF_8));
+            return GameMessageCodec.encode(data);
+        }
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+}
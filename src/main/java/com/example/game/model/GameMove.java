@@ -18,6 +18,18 @@ public class GameMove {
     private PlayerSign sign;
     private Integer moveX;
     private Integer moveY;
+    /**
+     * Number of the move in its game, starting at 1.
+     */
+    private Integer sequence;
+    /**
+     * {@link com.example.game.util.GameUtil#boardHash(String[][])} of the board the move was made on.
+     */
+    private Integer boardHash;
+    /**
+     * Boards before and after the move; not sent in the binary format, where the receiver rebuilds them from
+     * the stored board, the coordinates and the sign.
+     */
     private String[][] previousBoard;
     private String[][] newBoard;
 }
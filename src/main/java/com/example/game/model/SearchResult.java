@@ -0,0 +1,17 @@
+package com.example.game.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of a single engine search: the equally scored best moves, their score and the visited node count.
+ */
+@Value
+@Builder
+public class SearchResult {
+    List<int[]> bestMoves;
+    long score;
+    long nodes;
+}
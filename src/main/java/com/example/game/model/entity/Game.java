@@ -2,25 +2,27 @@ package com.example.game.model.entity;
 
 import com.example.game.model.enums.GameStatus;
 import com.example.game.converter.BoardConverter;
+import com.example.game.model.id.TimeOrderedUuid;
+import com.example.game.util.BitBoard;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -38,9 +40,16 @@ import java.util.UUID;
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @TimeOrderedUuid
     private UUID id;
 
+    /**
+     * Incremented on every update; an update made from a stale copy of the game fails instead of overwriting it.
+     */
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     @CreationTimestamp
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -56,6 +65,30 @@ public class Game {
     @Convert(converter = BoardConverter.class)
     private String[][] board = new String[3][3];
 
+    @Builder.Default
+    @ColumnDefault("3")
+    private int boardRows = BitBoard.SIZE;
+
+    @Builder.Default
+    @ColumnDefault("3")
+    private int boardColumns = BitBoard.SIZE;
+
+    @Builder.Default
+    @ColumnDefault("3")
+    private int winLength = BitBoard.SIZE;
+
+    /**
+     * Number of moves applied so far, which is also the sequence of the last applied move; the next
+     * {@link com.example.game.model.GameMove} carries {@code moveCount + 1}.
+     */
+    @Builder.Default
+    @ColumnDefault("0")
+    private int moveCount = 0;
+
+    private Integer lastMoveX;
+
+    private Integer lastMoveY;
+
     @Enumerated(EnumType.STRING)
     private GameStatus status;
 
@@ -0,0 +1,50 @@
+package com.example.game.model.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One applied move in the append-only move log; rows are inserted in JDBC batches and never updated.
+ */
+@Builder
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(MoveLogEntryId.class)
+@Table(name = "game_move")
+public class MoveLogEntry {
+
+    @Id
+    @Column(name = "game_id")
+    private UUID gameId;
+
+    /**
+     * The move count of the game after this move, starting at 1.
+     */
+    @Id
+    @Column(name = "sequence")
+    private int sequence;
+
+    @Column(name = "player_id", nullable = false)
+    private UUID playerId;
+
+    @Column(name = "move_x", nullable = false)
+    private int moveX;
+
+    @Column(name = "move_y", nullable = false)
+    private int moveY;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.example.game.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MoveLogEntryId implements Serializable {
+
+    private UUID gameId;
+
+    private int sequence;
+}
@@ -0,0 +1,7 @@
+package com.example.game.model.enums;
+
+public enum DelayDistribution {
+    FIXED,
+    UNIFORM,
+    EXPONENTIAL
+}
@@ -0,0 +1,6 @@
+package com.example.game.model.enums;
+
+public enum EngineType {
+    MINIMAX,
+    MCTS
+}
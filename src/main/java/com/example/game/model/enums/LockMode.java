@@ -0,0 +1,7 @@
+package com.example.game.model.enums;
+
+public enum LockMode {
+    DISTRIBUTED,
+    PARTITION_OWNERSHIP,
+    OPTIMISTIC
+}
@@ -0,0 +1,9 @@
+package com.example.game.model.enums;
+
+/**
+ * Kind of message stored in the event outbox, deciding its payload type and the topic it is relayed to.
+ */
+public enum OutboxEventType {
+    GAME,
+    GAME_MOVE
+}
@@ -0,0 +1,9 @@
+package com.example.game.model.enums;
+
+/**
+ * Encoding of the messages a producer sends; consumers read both.
+ */
+public enum WireFormat {
+    JSON,
+    BINARY
+}
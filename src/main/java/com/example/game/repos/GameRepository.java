@@ -1,6 +1,5 @@
 package com.example.game.repos;
 
-import com.example.game.model.enums.GameStatus;
 import com.example.game.model.entity.Game;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,8 +11,18 @@ import java.util.UUID;
 @Repository
 public interface GameRepository extends JpaRepository<Game, UUID> {
 
-    Optional<Game> findByStatus(GameStatus status);
+    /**
+     * Checks for a game in progress through the partial status index. The status is a literal rather than a bound
+     * parameter, so the generic plan of the server-side prepared statement can still use the partial index.
+     */
+    @Query("SELECT count(game) > 0 FROM Game game"
+            + " WHERE game.status = com.example.game.model.enums.GameStatus.IN_PROGRESS")
+    boolean existsInProgressGame();
 
-    @Query("SELECT game FROM Game game ORDER BY game.createdAt DESC limit 1")
+    /**
+     * Finds the newest game through the created_at index, fetching its players in the same statement.
+     */
+    @Query("SELECT game FROM Game game LEFT JOIN FETCH game.lastPlayedPlayer LEFT JOIN FETCH game.winner"
+            + " ORDER BY game.createdAt DESC limit 1")
     Optional<Game> findLastCreatedGame();
 }
\ No newline at end of file
@@ -0,0 +1,265 @@
+package com.example.game.service;
+
+import com.example.game.config.WriteBehindProperties;
+import com.example.game.exception.EntityNotFoundException;
+import com.example.game.model.entity.Game;
+import com.example.game.model.entity.Player;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.repos.GameRepository;
+import com.example.game.util.GameUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory aggregates of the active games whose moves this instance applies as exclusive partition owner.
+ * A game is loaded once; applied moves only snapshot its state, and the latest snapshot of every changed game
+ * is written in one transaction per flush interval. Finished games are written at once and dropped.
+ * A flush that finds a game updated elsewhere merges with the stored row instead of dropping the moves applied
+ * here: a state holding every stored sign is written on top of it, and a stored row already holding the moves
+ * applied here replaces the in-memory copy. Moves without boards are rebuilt from the in-memory board, so it never
+ * goes back to an older board. Only a game whose boards diverged is dropped and reloaded.
+ * Only pays off when all instances applying a game's moves share one consumer group, so the partition owner is the
+ * game's single writer: with the default group per player, both players hold and flush the same games and most
+ * flushes have to merge.
+ */
+@Slf4j
+@Service
+public class ActiveGameCache {
+
+    private final GameRepository gameRepository;
+    private final WriteBehindProperties writeBehindProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentMap<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+
+    public ActiveGameCache(GameRepository gameRepository, WriteBehindProperties writeBehindProperties,
+                           PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.writeBehindProperties = writeBehindProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return writeBehindProperties.isEnabled();
+    }
+
+    /**
+     * Gets the in-memory game, loading it on first access.
+     *
+     * @param gameId the game ID
+     * @return the game aggregate; only the thread applying the game's moves may modify it, and it is replaced
+     * when a flush takes over a newer stored row
+     * @throws EntityNotFoundException if the game is not found
+     */
+    public Game getGame(UUID gameId) {
+        return entries.computeIfAbsent(gameId, id -> new Entry(gameRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Game with id: %s not found", id)))))
+                .game;
+    }
+
+    /**
+     * Records the current state of the game for the next flush; a game that is no longer in progress is written
+     * immediately and dropped from memory.
+     *
+     * @param game the game returned by {@link #getGame(UUID)}
+     * @throws OptimisticLockingFailureException if a finished game diverged from the one stored; it is dropped
+     *                                           from memory, so the redelivered move is applied to a reloaded game
+     * @throws org.springframework.dao.DataAccessException if writing a finished game failed
+     */
+    public void update(Game game) {
+        Entry entry = entries.get(game.getId());
+        if (entry == null || entry.game != game) {
+            log.warn("Game {} is no longer held in memory, its state will be reloaded", game.getId());
+            return;
+        }
+        entry.pending.set(new GameState(game));
+        if (!GameStatus.IN_PROGRESS.equals(game.getStatus())) {
+            Set<UUID> conflicts;
+            synchronized (flushLock) {
+                try {
+                    conflicts = write(takePending(List.of(game.getId())));
+                } finally {
+                    entries.remove(game.getId());
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                throw new OptimisticLockingFailureException(String.format(
+                        "Game %s diverged from the one stored, its final state was not written", game.getId()));
+            }
+        }
+    }
+
+    /**
+     * Writes the latest state of every changed game in one transaction.
+     */
+    @Scheduled(fixedDelayString = "${game.write-behind.flush-interval-millis:500}")
+    public void flush() {
+        synchronized (flushLock) {
+            flush(takePending(entries.keySet()));
+        }
+    }
+
+    /**
+     * Writes all pending states and drops every game from memory, e.g. when partitions are revoked.
+     */
+    @PreDestroy
+    public void flushAndEvictAll() {
+        synchronized (flushLock) {
+            flush(takePending(entries.keySet()));
+            entries.clear();
+        }
+    }
+
+    private Map<UUID, GameState> takePending(Iterable<UUID> gameIds) {
+        Map<UUID, GameState> batch = new HashMap<>();
+        for (UUID gameId : gameIds) {
+            Entry entry = entries.get(gameId);
+            GameState state = entry == null ? null : entry.pending.getAndSet(null);
+            if (state != null) {
+                batch.put(gameId, state);
+            }
+        }
+        return batch;
+    }
+
+    private void flush(Map<UUID, GameState> batch) {
+        try {
+            write(batch);
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Concurrent update while flushing {} game(s), merging them on the next flush", batch.size(), e);
+            restorePending(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} game(s), retrying on the next flush", batch.size(), e);
+            restorePending(batch);
+        }
+    }
+
+    private void restorePending(Map<UUID, GameState> batch) {
+        batch.forEach((gameId, state) -> {
+            Entry entry = entries.get(gameId);
+            if (entry != null) {
+                entry.pending.compareAndSet(null, state);
+            }
+        });
+    }
+
+    /**
+     * Writes the pending states, merging with rows updated elsewhere: a state holding every stored sign is written
+     * on top of the row, and a row already holding the state replaces the in-memory game.
+     *
+     * @return the games skipped and dropped from memory because their boards diverged
+     */
+    private Set<UUID> write(Map<UUID, GameState> batch) {
+        if (batch.isEmpty()) {
+            return Set.of();
+        }
+        List<Game> written = new ArrayList<>(batch.size());
+        List<Game> newer = new ArrayList<>();
+        Set<UUID> conflicts = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Game stored : gameRepository.findAllById(batch.keySet())) {
+                Entry entry = entries.get(stored.getId());
+                GameState state = batch.get(stored.getId());
+                if (entry != null && !Objects.equals(stored.getVersion(), entry.version)) {
+                    if (state.contains(stored)) {
+                        log.debug("Game {} was updated elsewhere, writing the moves applied here on top",
+                                stored.getId());
+                    } else if (state.isContainedIn(stored)) {
+                        log.debug("Game {} was updated elsewhere with the moves applied here, taking it over",
+                                stored.getId());
+                        newer.add(stored);
+                        continue;
+                    } else {
+                        entry = null;
+                    }
+                }
+                if (entry == null) {
+                    log.warn("Game {} diverged from the one stored, dropping its in-memory state", stored.getId());
+                    entries.remove(stored.getId());
+                    conflicts.add(stored.getId());
+                    continue;
+                }
+                state.applyTo(stored);
+                written.add(stored);
+            }
+        });
+        for (Game stored : written) {
+            Entry entry = entries.get(stored.getId());
+            if (entry != null) {
+                entry.version = stored.getVersion();
+            }
+        }
+        for (Game stored : newer) {
+            entries.computeIfPresent(stored.getId(), (id, entry) -> new Entry(stored));
+        }
+        log.debug("Flushed {} game(s)", written.size());
+        return conflicts;
+    }
+
+    private static final class Entry {
+        private final Game game;
+        private final AtomicReference<GameState> pending = new AtomicReference<>();
+        /**
+         * Version of the game row as last read or written by this cache; only accessed under the flush lock.
+         */
+        private Long version;
+
+        private Entry(Game game) {
+            this.game = game;
+            this.version = game.getVersion();
+        }
+    }
+
+    /**
+     * The part of a game that applying a move changes, copied on the thread applying the move.
+     */
+    private record GameState(String[][] board, GameStatus status, Player lastPlayedPlayer, Player winner,
+                             Integer lastMoveX, Integer lastMoveY, int moveCount) {
+
+        private GameState(Game game) {
+            this(GameUtil.deepCopyBoard(game.getBoard()), game.getStatus(), game.getLastPlayedPlayer(),
+                    game.getWinner(), game.getLastMoveX(), game.getLastMoveY(), game.getMoveCount());
+        }
+
+        /**
+         * Whether this state is the stored game at the same or a later move.
+         */
+        private boolean contains(Game stored) {
+            return moveCount >= stored.getMoveCount() && GameUtil.containsSigns(board, stored.getBoard());
+        }
+
+        /**
+         * Whether the stored game is this state at the same or a later move.
+         */
+        private boolean isContainedIn(Game stored) {
+            return stored.getMoveCount() >= moveCount && GameUtil.containsSigns(stored.getBoard(), board);
+        }
+
+        private void applyTo(Game game) {
+            game.setBoard(board);
+            game.setStatus(status);
+            game.setLastPlayedPlayer(lastPlayedPlayer);
+            game.setWinner(winner);
+            game.setLastMoveX(lastMoveX);
+            game.setLastMoveY(lastMoveY);
+            game.setMoveCount(moveCount);
+        }
+    }
+}
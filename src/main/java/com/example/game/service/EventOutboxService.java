@@ -0,0 +1,79 @@
+package com.example.game.service;
+
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.OutboxEventType;
+import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Service writing game and move events to the outbox table in the caller's transaction, so an event exists
+ * exactly when the change it announces was committed and the transaction never waits on Kafka.
+ * {@link OutboxRelayService} publishes the stored events.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventOutboxService {
+
+    static final String INSERT_SQL = "INSERT INTO event_outbox"
+            + " (event_type, message_key, payload, created_at, available_at)"
+            + " VALUES (:eventType, :messageKey, :payload, :createdAt, :availableAt)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxProperties outboxProperties;
+    private final KafkaSenderService kafkaSenderService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Publishes a game event. With the outbox disabled the event is sent directly once the current transaction
+     * commits.
+     *
+     * @param gameDto the game data transfer object
+     */
+    public void publishGame(GameDto gameDto) {
+        if (outboxProperties.isEnabled()) {
+            insert(OutboxEventType.GAME, gameDto.getId(), gameDto, 0);
+        } else {
+            TransactionUtil.runAfterCommit(() -> kafkaSenderService.sendGame(gameDto));
+        }
+    }
+
+    /**
+     * Stores a move to be relayed once the delay has passed.
+     *
+     * @param gameMove    the move
+     * @param delayMillis the think time before the move may be sent
+     */
+    public void publishGameMove(GameMove gameMove, long delayMillis) {
+        insert(OutboxEventType.GAME_MOVE, gameMove.getGameId(), gameMove, delayMillis);
+    }
+
+    private void insert(OutboxEventType eventType, UUID gameId, Object message, long delayMillis) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update(INSERT_SQL, new MapSqlParameterSource()
+                .addValue("eventType", eventType.name())
+                .addValue("messageKey", gameId == null ? null : gameId.toString())
+                .addValue("payload", toJson(message))
+                .addValue("createdAt", now)
+                .addValue("availableAt", now.plus(delayMillis, ChronoUnit.MILLIS)));
+    }
+
+    private String toJson(Object message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unable to serialize " + message, e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.game.service;
+
+import com.example.game.config.ArchiveProperties;
+import com.example.game.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service moving finished and drawn games out of the hot tables. Games older than the configured age are moved,
+ * oldest first and a bounded number of batches per run, together with their players and move log into archive
+ * tables partitioned by month of the game's creation. Monthly partitions are created on demand and, when
+ * configured, detached once old enough to be dumped or dropped without touching the archive.
+ * Publishes the {@code game.archive.games} counter, the {@code game.archive.batch} timer and the
+ * {@code game.archive.lag} gauge, the age in seconds of the oldest game still waiting to be archived.
+ */
+@Slf4j
+@Service
+public class GameArchiveService {
+
+    static final String SELECT_BATCH_SQL = "SELECT id, created_at FROM game"
+            + " WHERE status IN ('FINISHED', 'DRAW') AND created_at < :cutoff"
+            + " ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED";
+    static final String OLDEST_SQL = "SELECT min(created_at) FROM game"
+            + " WHERE status IN ('FINISHED', 'DRAW') AND created_at < :cutoff";
+    static final String ARCHIVE_GAMES_SQL = "INSERT INTO game_archive (id, created_at, last_played_player_id,"
+            + " winner_player_id, board, board_rows, board_columns, win_length, move_count, last_movex, last_movey,"
+            + " status, version) SELECT id, created_at, last_played_player_id, winner_player_id, board, board_rows,"
+            + " board_columns, win_length, move_count, last_movex, last_movey, status, version"
+            + " FROM game WHERE id IN (:ids)";
+    static final String ARCHIVE_PLAYERS_SQL = "INSERT INTO game_players_archive (game_id, player_id, game_created_at)"
+            + " SELECT gp.game_id, gp.player_id, g.created_at FROM game_players gp JOIN game g ON g.id = gp.game_id"
+            + " WHERE gp.game_id IN (:ids)";
+    static final String ARCHIVE_MOVES_SQL = "INSERT INTO game_move_archive (game_id, sequence, player_id, move_x,"
+            + " move_y, created_at, game_created_at) SELECT m.game_id, m.sequence, m.player_id, m.move_x, m.move_y,"
+            + " m.created_at, g.created_at FROM game_move m JOIN game g ON g.id = m.game_id WHERE m.game_id IN (:ids)";
+    static final String RELEASE_PLAYERS_SQL = "UPDATE player SET current_game_id = NULL WHERE current_game_id IN (:ids)";
+    static final String DELETE_PLAYERS_SQL = "DELETE FROM game_players WHERE game_id IN (:ids)";
+    static final String DELETE_MOVES_SQL = "DELETE FROM game_move WHERE game_id IN (:ids)";
+    static final String DELETE_GAMES_SQL = "DELETE FROM game WHERE id IN (:ids)";
+    static final String PARTITIONS_SQL = "SELECT child.relname FROM pg_inherits"
+            + " JOIN pg_class parent ON parent.oid = pg_inherits.inhparent"
+            + " JOIN pg_class child ON child.oid = pg_inherits.inhrelid WHERE parent.relname = :table";
+    static final List<String> ARCHIVE_TABLES = List.of("game_archive", "game_players_archive", "game_move_archive");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyyMM");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ArchiveProperties archiveProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter archivedGames;
+    private final Counter detachedPartitions;
+    private final Timer batchTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+    /**
+     * Partitions known to exist, so each one is only created once per instance.
+     */
+    private final Set<String> partitions = ConcurrentHashMap.newKeySet();
+
+    public GameArchiveService(NamedParameterJdbcTemplate jdbcTemplate, ArchiveProperties archiveProperties,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.archiveProperties = archiveProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archivedGames = Counter.builder("game.archive.games")
+                .description("Finished games moved to the archive tables")
+                .register(meterRegistry);
+        this.detachedPartitions = Counter.builder("game.archive.partitions.detached")
+                .description("Monthly archive partitions detached from their archive table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("game.archive.batch")
+                .description("Time to move one batch of games to the archive tables")
+                .register(meterRegistry);
+        Gauge.builder("game.archive.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest finished game waiting to be archived")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Archives finished games older than the configured age, stopping after the configured number of batches,
+     * then detaches partitions past the retention.
+     *
+     * @return the number of games archived by this run
+     */
+    @Scheduled(initialDelayString = "${game.archive.interval-millis:60000}",
+            fixedDelayString = "${game.archive.interval-millis:60000}")
+    public int archive() {
+        if (!archiveProperties.isEnabled()) {
+            return 0;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(archiveProperties.getMinAgeHours());
+        int total = 0;
+        for (int batch = 0; batch < archiveProperties.getMaxBatchesPerRun(); batch++) {
+            if (batch > 0 && !pause()) {
+                break;
+            }
+            int archived;
+            try {
+                archived = Objects.requireNonNull(batchTimer.record(() -> archiveBatch(cutoff)));
+            } catch (RuntimeException e) {
+                log.error("Failed to archive finished games, retrying on the next run", e);
+                break;
+            }
+            total += archived;
+            if (archived < archiveProperties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} finished game(s)", total);
+        }
+        updateLag(cutoff);
+        detachOldPartitions();
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            List<ArchivedGame> games = jdbcTemplate.query(SELECT_BATCH_SQL,
+                    Map.of("cutoff", cutoff, "limit", archiveProperties.getBatchSize()),
+                    (rs, rowNum) -> new ArchivedGame(rs.getObject("id", UUID.class),
+                            rs.getObject("created_at", LocalDateTime.class)));
+            if (games.isEmpty()) {
+                return 0;
+            }
+            games.stream().map(game -> YearMonth.from(game.createdAt())).distinct().forEach(this::createPartitions);
+            Map<String, List<UUID>> ids = Map.of("ids", games.stream().map(ArchivedGame::id).toList());
+            jdbcTemplate.update(ARCHIVE_GAMES_SQL, ids);
+            jdbcTemplate.update(ARCHIVE_PLAYERS_SQL, ids);
+            jdbcTemplate.update(ARCHIVE_MOVES_SQL, ids);
+            jdbcTemplate.update(RELEASE_PLAYERS_SQL, ids);
+            jdbcTemplate.update(DELETE_PLAYERS_SQL, ids);
+            jdbcTemplate.update(DELETE_MOVES_SQL, ids);
+            jdbcTemplate.update(DELETE_GAMES_SQL, ids);
+            TransactionUtil.runAfterCommit(() -> archivedGames.increment(games.size()));
+            return games.size();
+        }));
+    }
+
+    private void createPartitions(YearMonth month) {
+        for (String table : ARCHIVE_TABLES) {
+            String partition = table + month.format(PARTITION_SUFFIX);
+            if (partitions.contains(partition)) {
+                continue;
+            }
+            jdbcTemplate.getJdbcOperations().execute(String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                    partition, table, month.atDay(1), month.plusMonths(1).atDay(1)));
+            TransactionUtil.runAfterCommit(() -> partitions.add(partition));
+        }
+    }
+
+    private void updateLag(LocalDateTime cutoff) {
+        try {
+            LocalDateTime oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Map.of("cutoff", cutoff),
+                    LocalDateTime.class);
+            lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        } catch (RuntimeException e) {
+            log.warn("Failed to measure the archive lag", e);
+        }
+    }
+
+    private void detachOldPartitions() {
+        if (archiveProperties.getDetachAfterMonths() <= 0) {
+            return;
+        }
+        LocalDateTime retention = LocalDateTime.now().minusMonths(archiveProperties.getDetachAfterMonths());
+        for (String table : ARCHIVE_TABLES) {
+            try {
+                for (String partition : jdbcTemplate.queryForList(PARTITIONS_SQL, Map.of("table", table),
+                        String.class)) {
+                    YearMonth month = partitionMonth(table, partition);
+                    if (month != null && month.plusMonths(1).atDay(1).atStartOfDay().isBefore(retention)) {
+                        jdbcTemplate.getJdbcOperations().execute(
+                                String.format("ALTER TABLE %s DETACH PARTITION %s", table, partition));
+                        partitions.remove(partition);
+                        detachedPartitions.increment();
+                        log.info("Detached archive partition {}", partition);
+                    }
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to detach old partitions of {}", table, e);
+            }
+        }
+    }
+
+    private static YearMonth partitionMonth(String table, String partition) {
+        if (!partition.startsWith(table)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(table.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(archiveProperties.getBatchPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ArchivedGame(UUID id, LocalDateTime createdAt) {
+    }
+}
@@ -1,24 +1,65 @@
 package com.example.game.service;
 
+import com.example.game.config.EngineProperties;
+import com.example.game.model.SearchResult;
+import com.example.game.model.enums.GameStatus;
 import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.engine.PerfectPlayTable;
+import com.example.game.service.engine.SearchPool;
+import com.example.game.service.engine.TranspositionTable;
+import com.example.game.service.engine.ZobristKeys;
+import com.example.game.util.BitBoard;
+import com.example.game.util.GameUtil;
+import com.example.game.util.MnkBoard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
 
 /**
- * Service for managing Tic-Tac-Toe game logic, including finding the best move using minimax algorithm.
+ * Service for managing Tic-Tac-Toe game logic, including finding the best move using minimax algorithm
+ * with alpha-beta pruning. The classic 3x3 board is searched on {@link BitBoard} masks; {@code String[][]} boards
+ * are converted once per call. Positions covered by the {@link PerfectPlayTable} are answered without searching;
+ * searched positions are cached in the process-wide {@link TranspositionTable}. Other m,n,k boards are searched
+ * on an {@link MnkBoard} to a shallow depth over the cells next to existing signs. Root moves can be searched in
+ * parallel on the {@link SearchPool}, sharing the best score found so far as their alpha bound.
  */
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class GameLogicService {
 
     private final Random random = new Random();
-    private static final int WIN_SCORE = 10;
-    private static final int LOSS_SCORE = -10;
+    private static final int WIN_SCORE = 1000;
+    private static final int LOSS_SCORE = -1000;
+    private static final int WIN_THRESHOLD = WIN_SCORE / 2;
+    private static final long LARGE_BOARD_WIN_SCORE = 1L << 60;
     private static final int DRAW_SCORE = 0;
-    private static final int BOARD_SIZE = 3;
     private static final int MAX_DEPTH = 0;
+    private static final int ONE_IN_LINE_SCORE = 1;
+    private static final int TWO_IN_LINE_SCORE = 10;
+    private static final String NO_MOVES_LEFT = "No moves left on the board";
+
+    /**
+     * Cells in search order: center first, then corners, then edges.
+     */
+    private static final int[] MOVE_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+    private static final int[] WIN_MASKS = BitBoard.winMasks();
+    private static final ZobristKeys ZOBRIST_KEYS = new ZobristKeys(BitBoard.CELLS);
+
+    private final EngineProperties engineProperties;
+    private final PerfectPlayTable perfectPlayTable;
+    private final TranspositionTable transpositionTable;
+    private final SearchPool searchPool;
+    private final LongAdder searchedNodes = new LongAdder();
 
     /**
      * Finds the best move for the given player sign using the minimax algorithm.
@@ -28,121 +69,381 @@ public class GameLogicService {
      * @return the best move as an array with two elements: row and column
      */
     public int[] findBestMove(String[][] board, PlayerSign playerSign) {
-        int bestVal = Integer.MIN_VALUE;
-        List<int[]> bestMoves = new ArrayList<>();
-
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j].isEmpty()) {
-                    board[i][j] = playerSign.name();
-                    int moveVal = minimax(board, MAX_DEPTH, false, playerSign);
-                    board[i][j] = "";
-
-                    if (moveVal > bestVal) {
-                        bestVal = moveVal;
-                        bestMoves.clear();
-                        bestMoves.add(new int[]{i, j});
-                    } else if (moveVal == bestVal) {
-                        bestMoves.add(new int[]{i, j});
-                    }
-                }
+        return findBestMove(BitBoard.fromArray(board), playerSign);
+    }
+
+    /**
+     * Finds the best move for the given player sign on an m,n,k board.
+     *
+     * @param board      the current state of the game board
+     * @param winLength  the number of signs in a line needed to win
+     * @param playerSign the sign of the player ('X' or 'O')
+     * @return the best move as an array with two elements: row and column
+     */
+    public int[] findBestMove(String[][] board, int winLength, PlayerSign playerSign) {
+        if (GameUtil.isStandardBoard(board, winLength)) {
+            return findBestMove(board, playerSign);
+        }
+        return findBestMove(MnkBoard.fromArray(board, winLength), playerSign);
+    }
+
+    /**
+     * Finds the best move for the given player sign using the minimax algorithm.
+     *
+     * @param board      the current state of the game board
+     * @param playerSign the sign of the player ('X' or 'O')
+     * @return the best move as an array with two elements: row and column
+     */
+    public int[] findBestMove(BitBoard board, PlayerSign playerSign) {
+        if (engineProperties.isPerfectPlayTable()) {
+            int optimalMoves = perfectPlayTable.findOptimalMoves(board.mask(playerSign),
+                    board.mask(getOpponentSign(playerSign)));
+            if (optimalMoves != 0) {
+                return toMove(pickRandomCell(optimalMoves));
             }
         }
+        var bestMoves = search(board, playerSign).getBestMoves();
+        if (bestMoves.isEmpty()) {
+            throw new IllegalArgumentException(NO_MOVES_LEFT);
+        }
+        return bestMoves.get(random.nextInt(bestMoves.size()));
+    }
+
+    /**
+     * Scores every move of the given player and collects all moves sharing the best score.
+     *
+     * @param board      the current state of the game board
+     * @param playerSign the sign of the player to move
+     * @return the best moves, their score and the number of visited nodes
+     */
+    public SearchResult search(BitBoard board, PlayerSign playerSign) {
+        int own = board.mask(playerSign);
+        int opponent = board.mask(getOpponentSign(playerSign));
+        int empty = board.emptyMask();
+        long hash = ZOBRIST_KEYS.hash(own, opponent, true);
+        int maxDepth = Math.max(1, engineProperties.getMaxSearchDepth());
+        int[] rootMoves = Arrays.stream(MOVE_ORDER).filter(index -> (empty & (1 << index)) != 0).toArray();
+
+        var root = searchRoot(rootMoves, maxDepth, (state, index, alpha) -> minimax(state, own | (1 << index),
+                opponent, hash ^ ZOBRIST_KEYS.ownMove(index), MAX_DEPTH, false,
+                (int) Math.max(alpha, Integer.MIN_VALUE), Integer.MAX_VALUE));
+        log.debug("Searched {} nodes for {} on {}", root.nodes(), playerSign, board);
+        return SearchResult.builder()
+                .bestMoves(root.bestMoves(GameLogicService::toMove))
+                .score(root.isEmpty() ? Integer.MIN_VALUE : root.bestValue())
+                .nodes(root.nodes())
+                .build();
+    }
+
+    /**
+     * Finds the best move for the given player sign on an m,n,k board.
+     *
+     * @param board      the current state of the game board; it is restored before returning
+     * @param playerSign the sign of the player ('X' or 'O')
+     * @return the best move as an array with two elements: row and column
+     */
+    public int[] findBestMove(MnkBoard board, PlayerSign playerSign) {
+        var bestMoves = search(board, playerSign).getBestMoves();
+        if (bestMoves.isEmpty()) {
+            throw new IllegalArgumentException(NO_MOVES_LEFT);
+        }
         return bestMoves.get(random.nextInt(bestMoves.size()));
     }
 
+    /**
+     * Scores the moves next to existing signs (or the center of an empty board) with a depth-limited
+     * alpha-beta search and collects all moves sharing the best score.
+     *
+     * @param board      the current state of the game board; it is restored before returning
+     * @param playerSign the sign of the player to move
+     * @return the best moves, their score and the number of visited nodes
+     */
+    public SearchResult search(MnkBoard board, PlayerSign playerSign) {
+        int columns = board.getColumns();
+        if (board.getMoveCount() == 0) {
+            return SearchResult.builder()
+                    .bestMoves(List.of(new int[]{board.getRows() / 2, columns / 2}))
+                    .score(0)
+                    .nodes(0)
+                    .build();
+        }
+        int maxDepth = Math.max(1, engineProperties.getLargeBoardSearchDepth());
+        int[] rootMoves = IntStream.range(0, board.getCellCount()).filter(board::isCandidate).toArray();
+        boolean copyBoard = searchPool.isParallel();
+
+        var root = searchRoot(rootMoves, maxDepth, (state, cell, alpha) -> {
+            var taskBoard = copyBoard ? board.copy() : board;
+            taskBoard.place(cell, playerSign);
+            long value = minimax(state, taskBoard, playerSign, MAX_DEPTH, false, alpha, Long.MAX_VALUE);
+            taskBoard.undo(cell);
+            return value;
+        });
+        log.debug("Searched {} nodes for {} on {}x{} board", root.nodes(), playerSign, board.getRows(), columns);
+        return SearchResult.builder()
+                .bestMoves(root.bestMoves(cell -> new int[]{cell / columns, cell % columns}))
+                .score(root.isEmpty() ? Long.MIN_VALUE : root.bestValue())
+                .nodes(root.nodes())
+                .build();
+    }
+
+    /**
+     * Scores every root move, splitting the moves across the {@link SearchPool} in parallel mode.
+     * Each move is searched with a window just below the best score found so far by any task, so equally
+     * scored moves keep exact values while worse ones are cut off early.
+     */
+    private RootSearch searchRoot(int[] rootMoves, int maxDepth, RootMoveSearch moveSearch) {
+        var bestSoFar = new AtomicLong(Long.MIN_VALUE);
+        var nodes = new LongAdder();
+        long[] values = new long[rootMoves.length];
+        List<Runnable> tasks = new ArrayList<>(rootMoves.length);
+        for (int i = 0; i < rootMoves.length; i++) {
+            int move = i;
+            tasks.add(() -> {
+                var state = new SearchState(maxDepth);
+                long best = bestSoFar.get();
+                long alpha = best == Long.MIN_VALUE ? Long.MIN_VALUE : best - 1;
+                values[move] = moveSearch.search(state, rootMoves[move], alpha);
+                bestSoFar.accumulateAndGet(values[move], Math::max);
+                nodes.add(state.nodes);
+            });
+        }
+        searchPool.invokeAll(tasks);
+        searchedNodes.add(nodes.sum());
+        return new RootSearch(rootMoves, values, bestSoFar.get(), nodes.sum());
+    }
+
+    /**
+     * Gets the total number of nodes visited by all searches of this service.
+     *
+     * @return the visited node count
+     */
+    public long getSearchedNodes() {
+        return searchedNodes.sum();
+    }
+
     public int[] findRandomMove(String[][] board) {
-        List<int[]> availableMoves = new ArrayList<>();
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (board[i][j].isEmpty()) {
-                    availableMoves.add(new int[]{i, j});
-                }
+        if (GameUtil.isStandardBoard(board, BitBoard.SIZE)) {
+            return findRandomMove(BitBoard.fromArray(board));
+        }
+        byte[] cells = MnkBoard.encode(board);
+        int available = 0;
+        for (byte cell : cells) {
+            if (cell == MnkBoard.EMPTY) {
+                available++;
+            }
+        }
+        if (available == 0) {
+            throw new IllegalArgumentException(NO_MOVES_LEFT);
+        }
+        int skip = random.nextInt(available);
+        int columns = board[0].length;
+        for (int cell = 0; ; cell++) {
+            if (cells[cell] == MnkBoard.EMPTY && skip-- == 0) {
+                return new int[]{cell / columns, cell % columns};
             }
         }
-        return availableMoves.get(random.nextInt(availableMoves.size()));
     }
 
-    private int minimax(String[][] board, int depth, boolean isMax, PlayerSign playerSign) {
-        int score = evaluate(board, playerSign);
+    public int[] findRandomMove(BitBoard board) {
+        int empty = board.emptyMask();
+        if (empty == 0) {
+            throw new IllegalArgumentException(NO_MOVES_LEFT);
+        }
+        return toMove(pickRandomCell(empty));
+    }
+
+    private int pickRandomCell(int cells) {
+        for (int skip = random.nextInt(Integer.bitCount(cells)); skip > 0; skip--) {
+            cells &= cells - 1;
+        }
+        return Integer.numberOfTrailingZeros(cells);
+    }
+
+    private int minimax(SearchState state, int own, int opponent, long hash, int depth, boolean isMax,
+                        int alpha, int beta) {
+        state.nodes++;
+        int score = evaluate(own, opponent);
 
         if (score == WIN_SCORE) return score - depth;
         if (score == LOSS_SCORE) return score + depth;
-        if (!isMovesLeft(board)) return DRAW_SCORE;
+        int empty = ~(own | opponent) & BitBoard.FULL_MASK;
+        if (empty == 0) return DRAW_SCORE;
+        if (depth + 1 >= state.maxDepth) return evaluateHeuristic(own, opponent);
+
+        // A subtree never needs more plies than there are empty cells, which lets full-depth entries
+        // be reused by searches started from any root.
+        int remainingDepth = Math.min(state.maxDepth - depth - 1, Integer.bitCount(empty));
+        long entry = transpositionTable.probe(hash);
+        if (entry != TranspositionTable.NO_ENTRY && TranspositionTable.depth(entry) >= remainingDepth) {
+            int stored = fromTableValue(TranspositionTable.value(entry), depth);
+            int bound = TranspositionTable.bound(entry);
+            if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && stored >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && stored <= alpha)) {
+                return stored;
+            }
+        }
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best;
 
         if (isMax) {
-            int best = Integer.MIN_VALUE;
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j].isEmpty()) {
-                        board[i][j] = playerSign.name();
-                        best = Math.max(best, minimax(board, depth + 1, false, playerSign));
-                        board[i][j] = "";
-                    }
+            best = Integer.MIN_VALUE;
+            for (int index : MOVE_ORDER) {
+                int bit = 1 << index;
+                if ((empty & bit) != 0) {
+                    best = Math.max(best, minimax(state, own | bit, opponent, hash ^ ZOBRIST_KEYS.ownMove(index),
+                            depth + 1, false, alpha, beta));
+                    alpha = Math.max(alpha, best);
+                    if (alpha >= beta) break;
                 }
             }
-            return best;
         } else {
-            int best = Integer.MAX_VALUE;
-            PlayerSign opponentSign = getOpponentSign(playerSign);
-            for (int i = 0; i < BOARD_SIZE; i++) {
-                for (int j = 0; j < BOARD_SIZE; j++) {
-                    if (board[i][j].isEmpty()) {
-                        board[i][j] = opponentSign.name();
-                        best = Math.min(best, minimax(board, depth + 1, true, playerSign));
-                        board[i][j] = "";
-                    }
+            best = Integer.MAX_VALUE;
+            for (int index : MOVE_ORDER) {
+                int bit = 1 << index;
+                if ((empty & bit) != 0) {
+                    best = Math.min(best, minimax(state, own, opponent | bit, hash ^ ZOBRIST_KEYS.opponentMove(index),
+                            depth + 1, true, alpha, beta));
+                    beta = Math.min(beta, best);
+                    if (alpha >= beta) break;
                 }
             }
-            return best;
         }
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER_BOUND
+                : best >= originalBeta ? TranspositionTable.LOWER_BOUND : TranspositionTable.EXACT;
+        transpositionTable.store(hash, toTableValue(best, depth), bound, remainingDepth);
+        return best;
     }
 
-    private boolean isMovesLeft(String[][] board) {
-        for (int i = 0; i < BOARD_SIZE; i++)
-            for (int j = 0; j < BOARD_SIZE; j++)
-                if (board[i][j].isEmpty())
-                    return true;
-        return false;
+    /**
+     * Converts a win or loss score from root distance to distance from the stored position.
+     */
+    private static int toTableValue(int value, int depth) {
+        if (value > WIN_THRESHOLD) return value + depth;
+        if (value < -WIN_THRESHOLD) return value - depth;
+        return value;
     }
 
-    private int evaluate(String[][] board, PlayerSign playerSign) {
-        for (int row = 0; row < BOARD_SIZE; row++) {
-            if (board[row][0].equals(board[row][1]) && board[row][1].equals(board[row][2])) {
-                if (board[row][0].equals(playerSign.name()))
-                    return WIN_SCORE;
-                else if (board[row][0].equals(getOpponentSign(playerSign).name()))
-                    return LOSS_SCORE;
-            }
+    private static int fromTableValue(int value, int depth) {
+        if (value > WIN_THRESHOLD) return value - depth;
+        if (value < -WIN_THRESHOLD) return value + depth;
+        return value;
+    }
+
+    private long minimax(SearchState state, MnkBoard board, PlayerSign playerSign, int depth, boolean isMax,
+                         long alpha, long beta) {
+        state.nodes++;
+        GameStatus status = board.status();
+
+        if (status == GameStatus.FINISHED) {
+            return isMax ? -LARGE_BOARD_WIN_SCORE + depth : LARGE_BOARD_WIN_SCORE - depth;
         }
+        if (status == GameStatus.DRAW) return DRAW_SCORE;
+        if (depth + 1 >= state.maxDepth) return board.evaluate(playerSign);
 
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            if (board[0][col].equals(board[1][col]) && board[1][col].equals(board[2][col])) {
-                if (board[0][col].equals(playerSign.name()))
-                    return WIN_SCORE;
-                else if (board[0][col].equals(getOpponentSign(playerSign).name()))
-                    return LOSS_SCORE;
+        PlayerSign sign = isMax ? playerSign : getOpponentSign(playerSign);
+        long best = isMax ? Long.MIN_VALUE : Long.MAX_VALUE;
+        for (int cell = 0; cell < board.getCellCount(); cell++) {
+            if (!board.isCandidate(cell)) {
+                continue;
+            }
+            board.place(cell, sign);
+            long value = minimax(state, board, playerSign, depth + 1, !isMax, alpha, beta);
+            board.undo(cell);
+            if (isMax) {
+                best = Math.max(best, value);
+                alpha = Math.max(alpha, best);
+            } else {
+                best = Math.min(best, value);
+                beta = Math.min(beta, best);
             }
+            if (alpha >= beta) break;
+        }
+        return best;
+    }
+
+    private int evaluate(int own, int opponent) {
+        if (BitBoard.isWin(own)) {
+            return WIN_SCORE;
         }
+        if (BitBoard.isWin(opponent)) {
+            return LOSS_SCORE;
+        }
+        return DRAW_SCORE;
+    }
 
-        if (board[0][0].equals(board[1][1]) && board[1][1].equals(board[2][2])) {
-            if (board[0][0].equals(playerSign.name()))
-                return WIN_SCORE;
-            else if (board[0][0].equals(getOpponentSign(playerSign).name()))
-                return LOSS_SCORE;
+    /**
+     * Scores a non-terminal position at the search horizon by the lines each side can still complete.
+     */
+    private int evaluateHeuristic(int own, int opponent) {
+        int score = 0;
+        for (int winMask : WIN_MASKS) {
+            int ownInLine = Integer.bitCount(own & winMask);
+            int opponentInLine = Integer.bitCount(opponent & winMask);
+            if (opponentInLine == 0) {
+                score += lineScore(ownInLine);
+            } else if (ownInLine == 0) {
+                score -= lineScore(opponentInLine);
+            }
         }
+        return score;
+    }
 
-        if (board[0][2].equals(board[1][1]) && board[1][1].equals(board[2][0])) {
-            if (board[0][2].equals(playerSign.name()))
-                return WIN_SCORE;
-            else if (board[0][2].equals(getOpponentSign(playerSign).name()))
-                return LOSS_SCORE;
+    private static int lineScore(int signsInLine) {
+        if (signsInLine == 2) {
+            return TWO_IN_LINE_SCORE;
         }
+        return signsInLine == 1 ? ONE_IN_LINE_SCORE : 0;
+    }
 
-        return DRAW_SCORE;
+    private static int[] toMove(int index) {
+        return new int[]{BitBoard.row(index), BitBoard.column(index)};
     }
 
     private PlayerSign getOpponentSign(PlayerSign playerSign) {
         return (playerSign == PlayerSign.X) ? PlayerSign.O : PlayerSign.X;
     }
+
+    @FunctionalInterface
+    private interface RootMoveSearch {
+        /**
+         * Scores a root move for the player to move.
+         *
+         * @return the exact score, or any score not above {@code alpha} if the move is worse than {@code alpha}
+         */
+        long search(SearchState state, int move, long alpha);
+    }
+
+    /**
+     * Scores of all root moves of a finished search.
+     */
+    private record RootSearch(int[] moves, long[] values, long bestValue, long nodes) {
+
+        private boolean isEmpty() {
+            return moves.length == 0;
+        }
+
+        private List<int[]> bestMoves(IntFunction<int[]> toMove) {
+            List<int[]> bestMoves = new ArrayList<>();
+            for (int i = 0; i < moves.length; i++) {
+                if (values[i] == bestValue) {
+                    bestMoves.add(toMove.apply(moves[i]));
+                }
+            }
+            return bestMoves;
+        }
+    }
+
+    /**
+     * Per-search state, kept off the service so concurrent searches do not share counters.
+     */
+    private static final class SearchState {
+        private final int maxDepth;
+        private long nodes;
+
+        private SearchState(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.game.service;
 
+import com.example.game.config.BoardProperties;
 import com.example.game.exception.EntityNotFoundException;
 import com.example.game.exception.GameAlreadyExistsException;
 import com.example.game.mapper.GameMapper;
@@ -9,12 +10,13 @@ import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
 import com.example.game.model.enums.GameStatus;
 import com.example.game.repos.GameRepository;
-import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.util.BitBoard;
 import com.example.game.util.GameUtil;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -27,8 +29,9 @@ public class GameService {
     private static final String LOCK_PATH_IS_GAME_OVER = "/isGameOverLock/";
 
     private final GameRepository gameRepository;
-    private final KafkaSenderService kafkaSenderService;
+    private final EventOutboxService eventOutboxService;
     private final LockService lockService;
+    private final BoardProperties boardProperties;
 
     /**
      * Gets the current game.
@@ -60,12 +63,12 @@ public class GameService {
      */
     @Transactional
     public GameDto createNewGame() {
-        if (gameRepository.findByStatus(GameStatus.IN_PROGRESS).isPresent()) {
+        if (gameRepository.existsInProgressGame()) {
             throw new GameAlreadyExistsException("Game already exists");
         }
         var newGame = buildNewGame();
         gameRepository.save(newGame);
-        kafkaSenderService.sendGame(new GameDto(newGame.getId(), newGame.getStatus(), null));
+        eventOutboxService.publishGame(new GameDto(newGame.getId(), newGame.getStatus(), null));
         return GameMapper.INSTANCE.gameToGameDto(newGame);
     }
 
@@ -89,25 +92,61 @@ public class GameService {
     @Transactional
     public Boolean isGameOver(Game game, Player player) {
         String lockPath = LOCK_PATH_IS_GAME_OVER + game.getId();
-        return lockService.executeWithLockSupplier(lockPath, () -> {
-            var status = GameUtil.getCurrentGameStatus(game.getBoard());
-            updateGameStatus(game, status, player);
-            return !GameStatus.IN_PROGRESS.equals(status);
-        });
+        return lockService.executeWithLockSupplier(lockPath, () -> isGameOverWithoutLock(game, player));
+    }
+
+    /**
+     * Checks if the game is over without taking the distributed lock; only for callers that are already the
+     * single writer of the game.
+     *
+     * @param game   the game entity
+     * @param player the player
+     * @return true if the game is over, false otherwise
+     */
+    @Transactional
+    public Boolean isGameOverWithoutLock(Game game, Player player) {
+        var isGameOver = updateGameStatus(game, player);
+        saveGame(game);
+        return isGameOver;
+    }
+
+    /**
+     * Updates the status and winner of the game after the player's move without saving it.
+     *
+     * @param game   the game entity
+     * @param player the player who made the last move
+     * @return true if the game is over, false otherwise
+     */
+    public boolean updateGameStatus(Game game, Player player) {
+        var status = getCurrentGameStatus(game);
+        if (status.equals(GameStatus.FINISHED)) {
+            game.setWinner(player);
+        }
+        game.setStatus(status);
+        return !GameStatus.IN_PROGRESS.equals(status);
     }
 
     private Game buildNewGame() {
+        var rows = boardProperties.getRows();
+        var columns = boardProperties.getColumns();
+        var board = new String[rows][columns];
+        for (String[] row : board) {
+            Arrays.fill(row, BitBoard.EMPTY_CELL);
+        }
         return Game.builder()
                 .status(GameStatus.NEW)
-                .board(new String[][]{{"", "", ""}, {"", "", ""}, {"", "", ""}})
+                .board(board)
+                .boardRows(rows)
+                .boardColumns(columns)
+                .winLength(boardProperties.getWinLength())
                 .build();
     }
 
-    private void updateGameStatus(Game game, GameStatus status, Player player) {
-        if (status.equals(GameStatus.FINISHED)) {
-            game.setWinner(player);
+    private GameStatus getCurrentGameStatus(Game game) {
+        if (game.getLastMoveX() == null || game.getLastMoveY() == null) {
+            return GameUtil.getCurrentGameStatus(game.getBoard(), game.getWinLength());
         }
-        game.setStatus(status);
-        saveGame(game);
+        return GameUtil.getStatusAfterMove(game.getBoard(), game.getWinLength(),
+                game.getLastMoveX(), game.getLastMoveY(), game.getMoveCount());
     }
 }
@@ -2,8 +2,12 @@ package com.example.game.service;
 
 import com.example.game.exception.MoveValidationException;
 import com.example.game.model.GameMove;
+import com.example.game.util.BitBoard;
+import com.example.game.util.MnkBoard;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+
 @Service
 public class GameValidatorService {
 
@@ -18,31 +22,74 @@ public class GameValidatorService {
         var moveY = move.getMoveY();
         var previousBoard = move.getPreviousBoard();
         var newBoard = move.getNewBoard();
-        if (moveX == null || moveY == null || moveX < 0 || moveX > 2 || moveY < 0 || moveY > 2) {
+        if (previousBoard == null || previousBoard.length == 0 || previousBoard[0] == null || newBoard == null) {
+            throw new MoveValidationException("Invalid board: board must not be empty");
+        }
+        var rows = previousBoard.length;
+        var columns = previousBoard[0].length;
+        if (newBoard.length != rows || newBoard[0] == null || newBoard[0].length != columns) {
+            throw new MoveValidationException("Invalid board: boards must have the same dimensions");
+        }
+        if (moveX == null || moveY == null || moveX < 0 || moveX >= rows || moveY < 0 || moveY >= columns) {
             throw new MoveValidationException("Invalid move coordinates.");
         }
 
-        if (!previousBoard[moveX][moveY].isEmpty()) {
+        if (rows == BitBoard.SIZE && columns == BitBoard.SIZE) {
+            validateMove(move, toBitBoard(previousBoard), toBitBoard(newBoard), BitBoard.index(moveX, moveY));
+        } else {
+            validateMove(move, encode(previousBoard), encode(newBoard), moveX * columns + moveY);
+        }
+    }
+
+    private void validateMove(GameMove move, BitBoard previousBoard, BitBoard newBoard, int index) {
+        if (!previousBoard.isEmpty(index)) {
             throw new MoveValidationException("The previous board position is not empty.");
         }
 
-        if (!newBoard[moveX][moveY].equals(move.getSign().name())) {
+        var sign = newBoard.signAt(index);
+        if (sign == null || sign != move.getSign()) {
             throw new MoveValidationException("The new board position does not contain the correct sign.");
         }
 
-        validateBoardConsistency(previousBoard, newBoard, moveX, moveY);
+        validateBoardConsistency(previousBoard, newBoard, index);
+    }
+
+    private void validateMove(GameMove move, byte[] previousBoard, byte[] newBoard, int index) {
+        if (previousBoard[index] != MnkBoard.EMPTY) {
+            throw new MoveValidationException("The previous board position is not empty.");
+        }
+
+        if (move.getSign() == null || newBoard[index] != MnkBoard.encode(move.getSign())) {
+            throw new MoveValidationException("The new board position does not contain the correct sign.");
+        }
+
+        previousBoard[index] = newBoard[index];
+        if (!Arrays.equals(previousBoard, newBoard)) {
+            throw new MoveValidationException("The rest of the board positions must be identical.");
+        }
+    }
+
+    private void validateBoardConsistency(BitBoard previousBoard, BitBoard newBoard, int index) {
+        int others = ~(1 << index);
+        if ((previousBoard.getXMask() & others) != (newBoard.getXMask() & others)
+                || (previousBoard.getOMask() & others) != (newBoard.getOMask() & others)) {
+            throw new MoveValidationException("The rest of the board positions must be identical.");
+        }
+    }
+
+    private BitBoard toBitBoard(String[][] board) {
+        try {
+            return BitBoard.fromArray(board);
+        } catch (IllegalArgumentException e) {
+            throw new MoveValidationException("Invalid board: " + e.getMessage());
+        }
     }
 
-    private void validateBoardConsistency(String[][] previousBoard, String[][] newBoard, int moveX, int moveY) {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (i == moveX && j == moveY) {
-                    continue;
-                }
-                if (!previousBoard[i][j].equals(newBoard[i][j])) {
-                    throw new MoveValidationException("The rest of the board positions must be identical.");
-                }
-            }
+    private byte[] encode(String[][] board) {
+        try {
+            return MnkBoard.encode(board);
+        } catch (IllegalArgumentException e) {
+            throw new MoveValidationException("Invalid board: " + e.getMessage());
         }
     }
 }
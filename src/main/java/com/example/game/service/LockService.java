@@ -1,25 +1,47 @@
 package com.example.game.service;
 
-import lombok.RequiredArgsConstructor;
-import org.apache.curator.framework.CuratorFramework;
-import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import com.example.game.service.lock.LockBackend;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
- * Service for managing distributed locks using Curator's InterProcessMutex.
+ * Service for running critical sections under locks taken from the configured {@link LockBackend}.
+ * Publishes the {@code game.lock.acquire} latency and {@code game.lock.contention} histograms, tagged by backend.
  */
 @Service
-@RequiredArgsConstructor
 public class LockService {
 
-    private final CuratorFramework curatorFramework;
     private static final long LOCK_WAIT_TIME = 2L;
 
+    private final LockBackend lockBackend;
+    private final Timer acquiredTimer;
+    private final Timer timedOutTimer;
+    private final DistributionSummary contention;
     /**
-     * Executes a supplier within a distributed lock.
+     * Threads of this instance currently holding or waiting for each lock path.
+     */
+    private final ConcurrentMap<String, Integer> pending = new ConcurrentHashMap<>();
+
+    public LockService(LockBackend lockBackend, MeterRegistry meterRegistry) {
+        this.lockBackend = lockBackend;
+        this.acquiredTimer = acquireTimer(meterRegistry, "acquired");
+        this.timedOutTimer = acquireTimer(meterRegistry, "timeout");
+        this.contention = DistributionSummary.builder("game.lock.contention")
+                .description("Threads of this instance already holding or waiting for the lock path on arrival")
+                .tag("backend", lockBackend.name())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes a supplier within a lock. Exceptions thrown by the supplier are propagated unchanged.
      *
      * @param lockPath the path of the lock
      * @param supplier the supplier to execute within the lock
@@ -28,55 +50,74 @@ public class LockService {
      * @throws RuntimeException if unable to acquire or release the lock
      */
     public <T> T executeWithLockSupplier(String lockPath, Supplier<T> supplier) {
-        InterProcessMutex lock = createLock(lockPath);
+        LockBackend.LockHandle lock = acquireLock(lockPath);
         try {
-            if (lock.acquire(LOCK_WAIT_TIME, TimeUnit.SECONDS)) {
-                return supplier.get();
-            } else {
-                throw new RuntimeException("Unable to acquire lock for path: " + lockPath);
-            }
-        } catch (Exception e) {
-            throw createLockException("acquire", lockPath, e);
+            return supplier.get();
         } finally {
             releaseLock(lock, lockPath);
         }
     }
 
     /**
-     * Executes a runnable within a distributed lock.
+     * Executes a runnable within a lock. Exceptions thrown by the runnable are propagated unchanged.
      *
      * @param lockPath the path of the lock
      * @param runnable the runnable to execute within the lock
      * @throws RuntimeException if unable to acquire or release the lock
      */
     public void executeWithLock(String lockPath, Runnable runnable) {
-        InterProcessMutex lock = createLock(lockPath);
+        executeWithLockSupplier(lockPath, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    private LockBackend.LockHandle acquireLock(String lockPath) {
+        contention.record(pending.merge(lockPath, 1, Integer::sum) - 1);
+        long start = System.nanoTime();
+        LockBackend.LockHandle lock;
         try {
-            if (lock.acquire(LOCK_WAIT_TIME, TimeUnit.SECONDS)) {
-                runnable.run();
-            } else {
-                throw new RuntimeException("Unable to acquire lock for path: " + lockPath);
-            }
+            lock = lockBackend.tryAcquire(lockPath, LOCK_WAIT_TIME, TimeUnit.SECONDS);
         } catch (Exception e) {
+            leave(lockPath);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             throw createLockException("acquire", lockPath, e);
-        } finally {
-            releaseLock(lock, lockPath);
         }
+        if (lock == null) {
+            timedOutTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            leave(lockPath);
+            throw new RuntimeException("Unable to acquire lock for path: " + lockPath);
+        }
+        acquiredTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return lock;
     }
 
-    InterProcessMutex createLock(String lockPath) {
-        return new InterProcessMutex(curatorFramework, lockPath);
-    }
-
-    private void releaseLock(InterProcessMutex lock, String lockPath) {
+    private void releaseLock(LockBackend.LockHandle lock, String lockPath) {
         try {
             lock.release();
         } catch (Exception e) {
             throw createLockException("release", lockPath, e);
+        } finally {
+            leave(lockPath);
         }
     }
 
+    private void leave(String lockPath) {
+        pending.computeIfPresent(lockPath, (path, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private Timer acquireTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("game.lock.acquire")
+                .description("Time spent waiting for a lock")
+                .tag("backend", lockBackend.name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
     private RuntimeException createLockException(String action, String lockPath, Exception e) {
         return new RuntimeException("Lock " + action + " interrupted for path: " + lockPath, e);
     }
-}
\ No newline at end of file
+}
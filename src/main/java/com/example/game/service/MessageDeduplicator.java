@@ -0,0 +1,118 @@
+package com.example.game.service;
+
+import com.example.game.config.DedupProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.util.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Remembers, per game, the sequence of the latest move and the latest status this instance has handled, so the
+ * listeners drop redelivered and stale messages before any lock, database access or engine search. A move is
+ * stale once its sequence is not above the game's {@link com.example.game.model.entity.Game#getMoveCount()} seen
+ * after applying moves; the count is only remembered once the applying transaction commits. Messages without a
+ * sequence, and messages of games no longer remembered, take the full path, where the board comparison still
+ * catches duplicates. Publishes the {@code game.kafka.dedup.dropped} counter, tagged by message type.
+ */
+@Service
+public class MessageDeduplicator {
+
+    private final DedupProperties dedupProperties;
+    private final Map<UUID, Integer> moveCounts;
+    private final Map<UUID, GameStatus> statuses;
+    private final Counter droppedMoves;
+    private final Counter droppedGames;
+
+    public MessageDeduplicator(DedupProperties dedupProperties, MeterRegistry meterRegistry) {
+        this.dedupProperties = dedupProperties;
+        this.moveCounts = boundedMap(dedupProperties.getMaxGames());
+        this.statuses = boundedMap(dedupProperties.getMaxGames());
+        this.droppedMoves = droppedCounter(meterRegistry, "move");
+        this.droppedGames = droppedCounter(meterRegistry, "game");
+    }
+
+    /**
+     * Checks whether a move was already applied by this instance, counting it as dropped if so.
+     *
+     * @param move the received move
+     * @return true if the move's sequence is not above the game's last known move count
+     */
+    public boolean isDuplicate(GameMove move) {
+        if (!dedupProperties.isEnabled() || move.getGameId() == null || move.getSequence() == null) {
+            return false;
+        }
+        Integer moveCount = moveCounts.get(move.getGameId());
+        if (moveCount == null || move.getSequence() > moveCount) {
+            return false;
+        }
+        droppedMoves.increment();
+        return true;
+    }
+
+    /**
+     * Checks whether a game message with the same or an earlier status was already handled, counting it as
+     * dropped if so.
+     *
+     * @param gameDto the received game message
+     * @return true if the game already reached the message's status
+     */
+    public boolean isDuplicate(GameDto gameDto) {
+        if (!dedupProperties.isEnabled() || gameDto.getId() == null || gameDto.getStatus() == null) {
+            return false;
+        }
+        GameStatus status = statuses.get(gameDto.getId());
+        if (status == null || gameDto.getStatus().compareTo(status) > 0) {
+            return false;
+        }
+        droppedGames.increment();
+        return true;
+    }
+
+    /**
+     * Remembers the move count of a game once the current transaction commits.
+     *
+     * @param gameId    the game ID
+     * @param moveCount the game's move count after applying the received moves
+     */
+    public void recordMoves(UUID gameId, int moveCount) {
+        if (dedupProperties.isEnabled()) {
+            TransactionUtil.runAfterCommit(() -> moveCounts.merge(gameId, moveCount, Math::max));
+        }
+    }
+
+    /**
+     * Remembers that a game message was handled.
+     *
+     * @param gameDto the handled game message
+     */
+    public void recordGame(GameDto gameDto) {
+        if (dedupProperties.isEnabled() && gameDto.getId() != null && gameDto.getStatus() != null) {
+            statuses.merge(gameDto.getId(), gameDto.getStatus(),
+                    (previous, status) -> status.compareTo(previous) > 0 ? status : previous);
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String type) {
+        return Counter.builder("game.kafka.dedup.dropped")
+                .description("Messages dropped as already handled before any lock or database access")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    private static <V> Map<UUID, V> boundedMap(int maxGames) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, V> eldest) {
+                return size() > maxGames;
+            }
+        });
+    }
+}
@@ -1,16 +1,25 @@
 package com.example.game.service;
 
+import com.example.game.config.LockProperties;
+import com.example.game.exception.MoveValidationException;
 import com.example.game.model.GameMove;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
 import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.LockMode;
+import com.example.game.util.BitBoard;
 import com.example.game.util.GameUtil;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.UUID;
+
 /**
  * Service for handling moves in the Tic Tac Toe game.
  */
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class MoveApplierService {
@@ -22,48 +31,235 @@ public class MoveApplierService {
     private final LockService lockService;
     private final GameValidatorService validatorService;
     private final MoveMakerService moveMakerService;
+    private final LockProperties lockProperties;
+    private final OptimisticRetryService optimisticRetryService;
+    private final ActiveGameCache activeGameCache;
+    private final MoveLogService moveLogService;
+    private final MessageDeduplicator messageDeduplicator;
 
     /**
-     * Applies a move in the game.
+     * Applies a move in the game, either under the distributed lock or, in optimistic mode, in a transaction
+     * that is retried when the game was updated concurrently.
      *
      * @param move the move to apply
      */
     public void applyMove(GameMove move) {
+        if (LockMode.OPTIMISTIC.equals(lockProperties.getMode())) {
+            optimisticRetryService.executeWithRetry("move in game " + move.getGameId(),
+                    () -> applyMove(move, Guard.OPTIMISTIC));
+            return;
+        }
         String lockPath = LOCK_PATH_PREFIX + move.getGameId();
-        lockService.executeWithLock(lockPath, () -> {
+        lockService.executeWithLock(lockPath, () -> applyMove(move, Guard.DISTRIBUTED_LOCK));
+    }
+
+    /**
+     * Applies a move received on a partition this instance exclusively owns without the distributed lock.
+     * Ownership only makes this instance the single writer within its consumer group; each player consumes in its
+     * own group, so the move is applied in a transaction retried on a version conflict with the other player's
+     * instance. With write-behind enabled, the game is kept in memory between moves instead.
+     *
+     * @param move the move to apply
+     */
+    public void applyMoveAsPartitionOwner(GameMove move) {
+        if (activeGameCache.isEnabled()) {
+            applyMove(move, Guard.WRITE_BEHIND);
+            return;
+        }
+        optimisticRetryService.executeWithRetry("owned move in game " + move.getGameId(),
+                () -> applyMove(move, Guard.OPTIMISTIC));
+    }
+
+    /**
+     * Applies a poll's worth of moves of one game, in order, under one distributed lock or, in optimistic mode,
+     * in one retried transaction. The game is loaded and saved once for all moves.
+     *
+     * @param moves the moves of one game, in the order they were received
+     */
+    public void applyMoves(List<GameMove> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        UUID gameId = moves.get(0).getGameId();
+        if (LockMode.OPTIMISTIC.equals(lockProperties.getMode())) {
+            optimisticRetryService.executeWithRetry(moves.size() + " move(s) in game " + gameId,
+                    () -> applyMoves(moves, Guard.OPTIMISTIC));
+            return;
+        }
+        lockService.executeWithLock(LOCK_PATH_PREFIX + gameId, () -> applyMoves(moves, Guard.DISTRIBUTED_LOCK));
+    }
+
+    /**
+     * Applies a poll's worth of moves of one game received on a partition this instance exclusively owns,
+     * loading and saving the game once, in a transaction retried on a version conflict as for
+     * {@link #applyMoveAsPartitionOwner(GameMove)}.
+     *
+     * @param moves the moves of one game, in the order they were received
+     */
+    public void applyMovesAsPartitionOwner(List<GameMove> moves) {
+        if (moves.isEmpty()) {
+            return;
+        }
+        if (activeGameCache.isEnabled()) {
+            applyMoves(moves, Guard.WRITE_BEHIND);
+            return;
+        }
+        optimisticRetryService.executeWithRetry(moves.size() + " owned move(s) in game " + moves.get(0).getGameId(),
+                () -> applyMoves(moves, Guard.OPTIMISTIC));
+    }
+
+    private void applyMoves(List<GameMove> moves, Guard guard) {
+        var currentPlayer = playerService.getCurrentPlayer();
+        var game = loadGame(moves.get(0).getGameId(), guard);
+        var updated = false;
+        var respond = false;
+        for (GameMove receivedMove : moves) {
+            if (!GameStatus.IN_PROGRESS.equals(game.getStatus())) {
+                break;
+            }
+            GameMove move;
+            try {
+                move = receivedMove.getNewBoard() != null ? receivedMove : withBoards(receivedMove, game);
+                validatorService.validateMove(move);
+            } catch (MoveValidationException e) {
+                log.warn("Skipping move {} of game {}: {}", receivedMove.getSequence(), game.getId(), e.getMessage());
+                continue;
+            }
+            var moveMaker = playerService.findPlayerById(move.getPlayerId());
+            if (GameUtil.isBoardChanged(game.getBoard(), move.getNewBoard())) {
+                recordMove(game, move, moveMaker);
+                updated = true;
+                respond = !gameService.updateGameStatus(game, moveMaker) && !moveMaker.equals(currentPlayer);
+            } else {
+                respond = !moveMaker.equals(currentPlayer);
+            }
+        }
+        if (updated && guard == Guard.WRITE_BEHIND) {
+            activeGameCache.update(game);
+        } else if (updated) {
+            gameService.saveGame(game);
+        }
+        messageDeduplicator.recordMoves(game.getId(), game.getMoveCount());
+        if (respond && GameStatus.IN_PROGRESS.equals(game.getStatus())) {
+            moveMakerService.makeMove(game, currentPlayer);
+        }
+    }
+
+    private void applyMove(GameMove receivedMove, Guard guard) {
+        boolean hasBoards = receivedMove.getNewBoard() != null;
+        if (hasBoards) {
+            validatorService.validateMove(receivedMove);
+        }
+        var currentPlayer = playerService.getCurrentPlayer();
+        var game = loadGame(receivedMove.getGameId(), guard);
+        var move = hasBoards ? receivedMove : withBoards(receivedMove, game);
+        if (!hasBoards) {
             validatorService.validateMove(move);
-            var currentPlayer = playerService.getCurrentPlayer();
-            var game = gameService.getGameById(move.getGameId());
-            String[][] newBoard = move.getNewBoard();
-            var isBoardChanged = GameUtil.isBoardChanged(game.getBoard(), newBoard);
-
-            if (GameStatus.IN_PROGRESS.equals(game.getStatus())) {
-                var moveMaker = playerService.findPlayerById(move.getPlayerId());
-                var isYourTurn = !moveMaker.equals(currentPlayer);
-
-                if (isBoardChanged) {
-                    updateGameBoard(game, newBoard, moveMaker, currentPlayer);
-                } else if (isYourTurn) {
-                    moveMakerService.makeMove(game, currentPlayer);
-                }
+        }
+        String[][] newBoard = move.getNewBoard();
+        var isBoardChanged = GameUtil.isBoardChanged(game.getBoard(), newBoard);
+
+        if (GameStatus.IN_PROGRESS.equals(game.getStatus())) {
+            var moveMaker = playerService.findPlayerById(move.getPlayerId());
+            var isYourTurn = !moveMaker.equals(currentPlayer);
+
+            if (isBoardChanged) {
+                updateGameBoard(game, move, moveMaker, currentPlayer, guard);
+            } else if (isYourTurn) {
+                moveMakerService.makeMove(game, currentPlayer);
             }
-        });
+        }
+        messageDeduplicator.recordMoves(game.getId(), game.getMoveCount());
+    }
+
+    /**
+     * Rebuilds the boards of a move received without them from the stored board. A stored board that already holds
+     * the move yields an unchanged board, as a redelivered move with boards would.
+     *
+     * @param move the move without boards
+     * @param game the game the move was made in
+     * @return the move with its previous and new board
+     * @throws MoveValidationException if the board the move was made on differs from the stored board
+     */
+    private static GameMove withBoards(GameMove move, Game game) {
+        var previousBoard = GameUtil.deepCopyBoard(game.getBoard());
+        Integer x = move.getMoveX();
+        Integer y = move.getMoveY();
+        boolean onBoard = x != null && y != null && x >= 0 && x < previousBoard.length
+                && y >= 0 && y < previousBoard[x].length && move.getSign() != null;
+        if (onBoard && move.getSign().name().equals(previousBoard[x][y])) {
+            previousBoard[x][y] = BitBoard.EMPTY_CELL;
+        }
+        if (move.getBoardHash() != null && move.getBoardHash() != GameUtil.boardHash(previousBoard)) {
+            throw new MoveValidationException(String.format(
+                    "Move %s of game %s was made on a different board", move.getSequence(), move.getGameId()));
+        }
+        var newBoard = GameUtil.deepCopyBoard(previousBoard);
+        if (onBoard) {
+            newBoard[x][y] = move.getSign().name();
+        }
+        return GameMove.builder()
+                .playerId(move.getPlayerId())
+                .gameId(move.getGameId())
+                .sign(move.getSign())
+                .moveX(x)
+                .moveY(y)
+                .sequence(move.getSequence())
+                .boardHash(move.getBoardHash())
+                .previousBoard(previousBoard)
+                .newBoard(newBoard)
+                .build();
     }
 
     /**
      * Updates the game board and makes the next move if necessary.
      *
      * @param game          the game entity
-     * @param newBoard      the new board state
+     * @param move          the move with the new board state
      * @param player        the player who made the move
      * @param currentPlayer the current player
+     * @param guard         how the game is protected against concurrent writers
      */
-    private void updateGameBoard(Game game, String[][] newBoard, Player player, Player currentPlayer) {
-        game.setBoard(newBoard);
-        game.setLastPlayedPlayer(player);
-        if (!gameService.isGameOver(game, player) && !player.equals(currentPlayer)) {
+    private void updateGameBoard(Game game, GameMove move, Player player, Player currentPlayer, Guard guard) {
+        recordMove(game, move, player);
+        var isGameOver = switch (guard) {
+            case DISTRIBUTED_LOCK -> gameService.isGameOver(game, player);
+            case OPTIMISTIC -> gameService.isGameOverWithoutLock(game, player);
+            case WRITE_BEHIND -> {
+                var gameOver = gameService.updateGameStatus(game, player);
+                activeGameCache.update(game);
+                yield gameOver;
+            }
+        };
+        if (!isGameOver && !player.equals(currentPlayer)) {
             moveMakerService.makeMove(game, currentPlayer);
         }
     }
 
+    private Game loadGame(UUID gameId, Guard guard) {
+        return guard == Guard.WRITE_BEHIND ? activeGameCache.getGame(gameId) : gameService.getGameById(gameId);
+    }
+
+    /**
+     * Sets the move's board and coordinates on the game, without checking the outcome or saving the game.
+     */
+    private void recordMove(Game game, GameMove move, Player player) {
+        game.setBoard(move.getNewBoard());
+        game.setLastPlayedPlayer(player);
+        game.setLastMoveX(move.getMoveX());
+        game.setLastMoveY(move.getMoveY());
+        // Games started before move counting was introduced count their signs once
+        game.setMoveCount(game.getMoveCount() > 0 ? game.getMoveCount() + 1 : GameUtil.countSigns(move.getNewBoard()));
+        moveLogService.append(game, move);
+    }
+
+    /**
+     * How the game a move is applied to is protected against concurrent writers.
+     */
+    private enum Guard {
+        DISTRIBUTED_LOCK,
+        OPTIMISTIC,
+        WRITE_BEHIND
+    }
+
 }
@@ -0,0 +1,102 @@
+package com.example.game.service;
+
+import com.example.game.config.MoveLogProperties;
+import com.example.game.model.GameMove;
+import com.example.game.model.entity.Game;
+import com.example.game.model.entity.MoveLogEntry;
+import com.example.game.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Service for the log of applied moves, kept for analytics only: game state is never rebuilt from it. Moves are
+ * buffered once the transaction that applied them commits and inserted in JDBC batches; a move delivered again has
+ * the same game and sequence and is skipped. The log is best-effort: buffered moves are lost when the instance
+ * stops before a flush or the buffer is full, and with write-behind a move is logged as soon as it is applied
+ * in memory, before its game is written.
+ */
+@Slf4j
+@Service
+public class MoveLogService {
+
+    static final String INSERT_SQL = "INSERT INTO game_move (game_id, sequence, player_id, move_x, move_y, created_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MoveLogProperties moveLogProperties;
+    private final BlockingQueue<MoveLogEntry> pending;
+
+    public MoveLogService(JdbcTemplate jdbcTemplate, MoveLogProperties moveLogProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.moveLogProperties = moveLogProperties;
+        this.pending = new LinkedBlockingQueue<>(moveLogProperties.getMaxPendingMoves());
+    }
+
+    /**
+     * Appends the move just applied to the game to the log.
+     *
+     * @param game the game after the move, its move count being the move's sequence
+     * @param move the applied move
+     */
+    public void append(Game game, GameMove move) {
+        if (!moveLogProperties.isEnabled()) {
+            return;
+        }
+        var entry = MoveLogEntry.builder()
+                .gameId(game.getId())
+                .sequence(game.getMoveCount())
+                .playerId(move.getPlayerId())
+                .moveX(move.getMoveX())
+                .moveY(move.getMoveY())
+                .createdAt(LocalDateTime.now())
+                .build();
+        TransactionUtil.runAfterCommit(() -> enqueue(entry));
+    }
+
+    /**
+     * Inserts all buffered moves in batches of the configured size.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${game.move-log.flush-interval-millis:200}")
+    public synchronized void flush() {
+        List<MoveLogEntry> batch = new ArrayList<>(moveLogProperties.getBatchSize());
+        while (pending.drainTo(batch, moveLogProperties.getBatchSize()) > 0) {
+            try {
+                insert(batch);
+            } catch (RuntimeException e) {
+                log.error("Failed to insert {} move(s) into the move log, retrying on the next flush", batch.size(), e);
+                batch.forEach(this::enqueue);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void insert(List<MoveLogEntry> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+            statement.setObject(1, entry.getGameId());
+            statement.setInt(2, entry.getSequence());
+            statement.setObject(3, entry.getPlayerId());
+            statement.setInt(4, entry.getMoveX());
+            statement.setInt(5, entry.getMoveY());
+            statement.setTimestamp(6, Timestamp.valueOf(entry.getCreatedAt()));
+        });
+        log.debug("Inserted {} move(s) into the move log", batch.size());
+    }
+
+    private void enqueue(MoveLogEntry entry) {
+        if (!pending.offer(entry)) {
+            log.warn("Move log buffer is full, dropping move {} of game {}", entry.getSequence(), entry.getGameId());
+        }
+    }
+}
@@ -4,7 +4,8 @@ import com.example.game.model.GameDto;
 import com.example.game.model.GameMove;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
-import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.model.enums.EngineType;
+import com.example.game.service.engine.MctsEngine;
 import com.example.game.util.GameUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -19,13 +20,13 @@ import java.util.Random;
 @RequiredArgsConstructor
 public class MoveMakerService {
 
-    public static final int SLEEP_IN_MILLISECONDS = 1000;
     private static final Double WRONG_MOVE_PROBABILITY = 0.1;
     private final Random random;
 
     private final PlayerService playerService;
     private final GameLogicService gameLogicService;
-    private final KafkaSenderService kafkaSenderService;
+    private final MctsEngine mctsEngine;
+    private final MoveSchedulerService moveSchedulerService;
     private final GameService gameService;
 
     /**
@@ -53,12 +54,18 @@ public class MoveMakerService {
         var randomValue = random.nextDouble();
         int[] nextMove = randomValue < WRONG_MOVE_PROBABILITY ?
                 gameLogicService.findRandomMove(newBoard) :
-                gameLogicService.findBestMove(newBoard, currentPlayer.getPlayerSign());
+                findBestMove(game, newBoard, currentPlayer);
         applyMoveToBoard(currentPlayer, newBoard, nextMove);
 
         var gameMove = buildGameMove(game, currentPlayer, nextMove, newBoard);
-        sleepBeforeMoving();
-        kafkaSenderService.sendGameMove(gameMove);
+        moveSchedulerService.scheduleMove(gameMove);
+    }
+
+    private int[] findBestMove(Game game, String[][] board, Player currentPlayer) {
+        if (playerService.getEngineType() == EngineType.MCTS) {
+            return mctsEngine.findBestMove(board, game.getWinLength(), currentPlayer.getPlayerSign());
+        }
+        return gameLogicService.findBestMove(board, game.getWinLength(), currentPlayer.getPlayerSign());
     }
 
     private boolean isCurrentPlayerTurn(GameDto gameDto, Player currentPlayer) {
@@ -77,20 +84,10 @@ public class MoveMakerService {
                 .sign(currentPlayer.getPlayerSign())
                 .moveX(nextMove[0])
                 .moveY(nextMove[1])
+                .sequence(game.getMoveCount() + 1)
+                .boardHash(GameUtil.boardHash(game.getBoard()))
                 .previousBoard(game.getBoard())
                 .newBoard(newBoard)
                 .build();
     }
-
-    /**
-     * Sleeps for a delay to simulate move processing time.
-     */
-    void sleepBeforeMoving() {
-        try {
-            Thread.sleep(SLEEP_IN_MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            System.err.println("Thread was interrupted, Failed to complete operation");
-        }
-    }
 }
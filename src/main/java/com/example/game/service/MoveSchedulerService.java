@@ -0,0 +1,76 @@
+package com.example.game.service;
+
+import com.example.game.config.MoveDelayProperties;
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameMove;
+import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Random;
+
+/**
+ * Service for publishing moves after a simulated "think time" without blocking the calling thread, either through
+ * the event outbox or from an in-memory scheduler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MoveSchedulerService {
+
+    private final MoveDelayProperties moveDelayProperties;
+    private final TaskScheduler moveScheduler;
+    private final KafkaSenderService kafkaSenderService;
+    private final OutboxProperties outboxProperties;
+    private final EventOutboxService eventOutboxService;
+    private final Random random;
+
+    /**
+     * Schedules the move to be sent after a delay drawn from the configured distribution and returns immediately.
+     * With moves going through the outbox, the move is stored in the current transaction and relayed once the
+     * delay has passed; otherwise it is only scheduled once the transaction commits.
+     *
+     * @param gameMove the move to send
+     */
+    public void scheduleMove(GameMove gameMove) {
+        if (outboxProperties.isEnabled() && outboxProperties.isMoves()) {
+            eventOutboxService.publishGameMove(gameMove, nextDelayMillis());
+            return;
+        }
+        TransactionUtil.runAfterCommit(() -> {
+            long delay = nextDelayMillis();
+            log.debug("Sending move for game {} in {} ms", gameMove.getGameId(), delay);
+            moveScheduler.schedule(() -> sendGameMove(gameMove), Instant.now().plusMillis(delay));
+        });
+    }
+
+    /**
+     * Draws the next delay from the configured distribution.
+     *
+     * @return the delay in milliseconds
+     */
+    long nextDelayMillis() {
+        long min = moveDelayProperties.getMinMillis();
+        long max = Math.max(min, moveDelayProperties.getMaxMillis());
+        return switch (moveDelayProperties.getDistribution()) {
+            case FIXED -> moveDelayProperties.getMillis();
+            case UNIFORM -> min + random.nextLong(max - min + 1);
+            case EXPONENTIAL -> {
+                long delay = Math.round(-moveDelayProperties.getMillis() * Math.log(1 - random.nextDouble()));
+                yield Math.min(max, Math.max(min, delay));
+            }
+        };
+    }
+
+    private void sendGameMove(GameMove gameMove) {
+        try {
+            kafkaSenderService.sendGameMove(gameMove);
+        } catch (RuntimeException e) {
+            log.error("Failed to send delayed move for game {}", gameMove.getGameId(), e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.game.service;
+
+import com.example.game.config.LockProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Service for running game updates under optimistic concurrency instead of a distributed lock.
+ * Every attempt runs in its own transaction, so it reads fresh state and its version checks fail on commit;
+ * an attempt that lost a version check is retried a bounded number of times.
+ */
+@Slf4j
+@Service
+public class OptimisticRetryService {
+
+    private static final double BACKOFF_MULTIPLIER = 2.0;
+    private static final long MAX_BACKOFF_MILLIS = 1_000;
+
+    private final RetryTemplate retryTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticRetryService(LockProperties lockProperties, PlatformTransactionManager transactionManager) {
+        this.retryTemplate = createRetryTemplate(lockProperties);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Executes a runnable in a new transaction, retrying it while it conflicts with a concurrent update.
+     *
+     * @param description what the runnable updates, used for logging
+     * @param runnable    the runnable to execute
+     * @throws OptimisticLockingFailureException if every attempt conflicted
+     */
+    public void executeWithRetry(String description, Runnable runnable) {
+        retryTemplate.execute(context -> {
+            if (context.getRetryCount() > 0) {
+                log.debug("Retrying {} after {} conflict(s)", description, context.getRetryCount());
+            }
+            transactionTemplate.executeWithoutResult(status -> runnable.run());
+            return null;
+        });
+    }
+
+    private static RetryTemplate createRetryTemplate(LockProperties lockProperties) {
+        ExponentialRandomBackOffPolicy backOffPolicy = new ExponentialRandomBackOffPolicy();
+        backOffPolicy.setInitialInterval(lockProperties.getOptimisticBackoffMillis());
+        backOffPolicy.setMultiplier(BACKOFF_MULTIPLIER);
+        backOffPolicy.setMaxInterval(MAX_BACKOFF_MILLIS);
+
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setBackOffPolicy(backOffPolicy);
+        retryTemplate.setRetryPolicy(new SimpleRetryPolicy(lockProperties.getOptimisticMaxAttempts(),
+                Map.of(OptimisticLockingFailureException.class, true), true));
+        return retryTemplate;
+    }
+}
@@ -0,0 +1,288 @@
+package com.example.game.service;
+
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.OutboxEventType;
+import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service relaying the events stored by {@link EventOutboxService} to Kafka. Each batch is read in insertion order
+ * under a transaction-scoped advisory lock, so only one instance relays at a time. The whole batch is handed to
+ * the producer before waiting for acknowledgements, letting it fill its batches. Events of a game keep their order:
+ * per message key only the acknowledged events before the first failure are marked as sent, and the failed event
+ * and every later event of its key are relayed again by a later run. An event that failed
+ * {@code game.outbox.max-attempts} times is parked, so it no longer holds up the outbox; parked events stay in the
+ * table until released by hand by resetting {@code parked_at}.
+ * Publishes the {@code game.outbox.relayed} and {@code game.outbox.parked} counters, the {@code game.outbox.batch}
+ * timer, the {@code game.outbox.latency} timer from an event becoming available to its acknowledgement and the
+ * {@code game.outbox.lag} gauge, the age in seconds of the oldest event waiting to be relayed.
+ */
+@Slf4j
+@Service
+public class OutboxRelayService {
+
+    static final long RELAY_LOCK_KEY = 0x6f7574626f78L;
+    static final String LOCK_SQL = "SELECT pg_try_advisory_xact_lock(:key)";
+    static final String SELECT_BATCH_SQL = "SELECT id, event_type, message_key, payload, available_at, attempts"
+            + " FROM event_outbox WHERE sent_at IS NULL AND parked_at IS NULL AND available_at <= :now"
+            + " ORDER BY id LIMIT :limit";
+    static final String MARK_SENT_SQL = "UPDATE event_outbox SET sent_at = :sentAt WHERE id IN (:ids)";
+    static final String MARK_FAILED_SQL = "UPDATE event_outbox SET attempts = attempts + 1,"
+            + " parked_at = CASE WHEN attempts + 1 >= :maxAttempts THEN CAST(:now AS timestamp) END"
+            + " WHERE id IN (:ids)";
+    static final String OLDEST_SQL = "SELECT min(available_at) FROM event_outbox"
+            + " WHERE sent_at IS NULL AND parked_at IS NULL AND available_at <= :now";
+    static final String PURGE_SQL = "DELETE FROM event_outbox WHERE id IN (SELECT id FROM event_outbox"
+            + " WHERE sent_at < :cutoff ORDER BY sent_at LIMIT :limit)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final OutboxProperties outboxProperties;
+    private final KafkaSenderService kafkaSenderService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Counter relayedEvents;
+    private final Counter parkedEvents;
+    private final Timer batchTimer;
+    private final Timer latencyTimer;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public OutboxRelayService(NamedParameterJdbcTemplate jdbcTemplate, OutboxProperties outboxProperties,
+                              KafkaSenderService kafkaSenderService, PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.outboxProperties = outboxProperties;
+        this.kafkaSenderService = kafkaSenderService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayedEvents = Counter.builder("game.outbox.relayed")
+                .description("Outbox events acknowledged by the broker and marked as sent")
+                .register(meterRegistry);
+        this.parkedEvents = Counter.builder("game.outbox.parked")
+                .description("Outbox events set aside after failing on every attempt")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("game.outbox.batch")
+                .description("Time to read, publish and mark one batch of outbox events")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("game.outbox.latency")
+                .description("Time from an outbox event becoming available to its acknowledgement")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("game.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the oldest outbox event waiting to be relayed")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays available events until the outbox is drained or the configured number of batches was relayed.
+     *
+     * @return the number of events relayed by this run
+     */
+    @Scheduled(fixedDelayString = "${game.outbox.interval-millis:100}")
+    public int relay() {
+        if (!outboxProperties.isEnabled()) {
+            return 0;
+        }
+        int total = 0;
+        for (int batch = 0; batch < outboxProperties.getMaxBatchesPerRun(); batch++) {
+            int relayed;
+            try {
+                relayed = Objects.requireNonNull(batchTimer.record(this::relayBatch));
+            } catch (RuntimeException e) {
+                log.error("Failed to relay outbox events, retrying on the next run", e);
+                break;
+            }
+            total += relayed;
+            if (relayed < outboxProperties.getBatchSize()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.debug("Relayed {} outbox event(s)", total);
+        }
+        updateLag();
+        return total;
+    }
+
+    /**
+     * Deletes sent events older than the retention, a bounded number per run.
+     *
+     * @return the number of events deleted
+     */
+    @Scheduled(initialDelayString = "${game.outbox.purge-interval-millis:60000}",
+            fixedDelayString = "${game.outbox.purge-interval-millis:60000}")
+    public int purge() {
+        if (!outboxProperties.isEnabled()) {
+            return 0;
+        }
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, Map.of(
+                    "cutoff", LocalDateTime.now().minusHours(outboxProperties.getRetentionHours()),
+                    "limit", outboxProperties.getPurgeBatchSize()));
+            if (purged > 0) {
+                log.info("Purged {} sent outbox event(s)", purged);
+            }
+            return purged;
+        } catch (RuntimeException e) {
+            log.error("Failed to purge sent outbox events", e);
+            return 0;
+        }
+    }
+
+    private int relayBatch() {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            if (!Boolean.TRUE.equals(jdbcTemplate.queryForObject(LOCK_SQL, Map.of("key", RELAY_LOCK_KEY),
+                    Boolean.class))) {
+                log.debug("Outbox relayed by another instance");
+                return 0;
+            }
+            List<OutboxEvent> events = jdbcTemplate.query(SELECT_BATCH_SQL,
+                    Map.of("now", LocalDateTime.now(), "limit", outboxProperties.getBatchSize()),
+                    (rs, rowNum) -> new OutboxEvent(rs.getLong("id"),
+                            OutboxEventType.valueOf(rs.getString("event_type")), rs.getString("message_key"),
+                            rs.getString("payload"), rs.getObject("available_at", LocalDateTime.class),
+                            rs.getInt("attempts")));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<CompletableFuture<Void>> acks = publishAll(events);
+            List<Long> sent = new ArrayList<>();
+            List<OutboxEvent> failed = new ArrayList<>();
+            awaitAcks(events, acks, sent, failed);
+            LocalDateTime now = LocalDateTime.now();
+            if (!sent.isEmpty()) {
+                jdbcTemplate.update(MARK_SENT_SQL, Map.of("sentAt", now, "ids", sent));
+                TransactionUtil.runAfterCommit(() -> relayedEvents.increment(sent.size()));
+            }
+            if (!failed.isEmpty()) {
+                markFailed(failed, now);
+            }
+            return sent.size();
+        }));
+    }
+
+    /**
+     * Hands the events to the producer in order. Once an event of a key fails right away, the later events of
+     * that key are held back, so they are not published ahead of it.
+     *
+     * @return the acknowledgement of every event, null for the held back ones
+     */
+    private List<CompletableFuture<Void>> publishAll(List<OutboxEvent> events) {
+        Set<String> failedKeys = new HashSet<>();
+        List<CompletableFuture<Void>> acks = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (event.messageKey() != null && failedKeys.contains(event.messageKey())) {
+                acks.add(null);
+                continue;
+            }
+            CompletableFuture<Void> ack = publish(event);
+            if (ack.isCompletedExceptionally() && event.messageKey() != null) {
+                failedKeys.add(event.messageKey());
+            }
+            acks.add(ack);
+        }
+        return acks;
+    }
+
+    private CompletableFuture<Void> publish(OutboxEvent event) {
+        try {
+            return switch (event.eventType()) {
+                case GAME -> kafkaSenderService.sendGame(objectMapper.readValue(event.payload(), GameDto.class));
+                case GAME_MOVE -> kafkaSenderService.sendGameMove(
+                        objectMapper.readValue(event.payload(), GameMove.class));
+            };
+        } catch (JsonProcessingException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Waits for the acknowledgements, collecting the events to mark as sent, which per key stop at the first
+     * failure, and the events that failed.
+     */
+    private void awaitAcks(List<OutboxEvent> events, List<CompletableFuture<Void>> acks, List<Long> sent,
+                           List<OutboxEvent> failed) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(outboxProperties.getSendTimeoutMillis());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            CompletableFuture<Void> ack = acks.get(i);
+            if (ack == null) {
+                continue;
+            }
+            try {
+                ack.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (event.messageKey() == null || !failedKeys.contains(event.messageKey())) {
+                    sent.add(event.id());
+                    latencyTimer.record(Duration.between(event.availableAt(), LocalDateTime.now()));
+                }
+                continue;
+            } catch (ExecutionException e) {
+                log.warn("Outbox event {} not sent, relaying it again later", event.id(), e.getCause());
+            } catch (TimeoutException e) {
+                log.warn("Outbox event {} not acknowledged in time, relaying it again later", event.id());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            failed.add(event);
+            if (event.messageKey() != null) {
+                failedKeys.add(event.messageKey());
+            }
+        }
+    }
+
+    private void markFailed(List<OutboxEvent> failed, LocalDateTime now) {
+        jdbcTemplate.update(MARK_FAILED_SQL, Map.of("maxAttempts", outboxProperties.getMaxAttempts(), "now", now,
+                "ids", failed.stream().map(OutboxEvent::id).toList()));
+        List<OutboxEvent> parked = failed.stream()
+                .filter(event -> event.attempts() + 1 >= outboxProperties.getMaxAttempts())
+                .toList();
+        if (!parked.isEmpty()) {
+            log.error("Parked outbox event(s) {} after {} failed attempts",
+                    parked.stream().map(OutboxEvent::id).toList(), outboxProperties.getMaxAttempts());
+            TransactionUtil.runAfterCommit(() -> parkedEvents.increment(parked.size()));
+        }
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Map.of("now", LocalDateTime.now()),
+                    LocalDateTime.class);
+            lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toSeconds());
+        } catch (RuntimeException e) {
+            log.warn("Failed to measure the outbox lag", e);
+        }
+    }
+
+    private record OutboxEvent(long id, OutboxEventType eventType, String messageKey, String payload,
+                               LocalDateTime availableAt, int attempts) {
+    }
+}
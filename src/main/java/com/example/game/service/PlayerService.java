@@ -1,5 +1,6 @@
 package com.example.game.service;
 
+import com.example.game.config.LockProperties;
 import com.example.game.exception.EntityNotFoundException;
 import com.example.game.exception.PlayerAlreadyJoinedException;
 import com.example.game.exception.PlayerLimitExceededException;
@@ -7,10 +8,11 @@ import com.example.game.exception.PlayerSignConflictException;
 import com.example.game.model.GameDto;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
+import com.example.game.model.enums.EngineType;
 import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.LockMode;
 import com.example.game.model.enums.PlayerSign;
 import com.example.game.repos.PlayerRepository;
-import com.example.game.service.kafka.KafkaSenderService;
 import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.Getter;
@@ -18,6 +20,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.CollectionUtils;
 
 import java.util.UUID;
@@ -35,7 +39,11 @@ public class PlayerService {
 
     @Value(value = "${game.player.sign}")
     private PlayerSign playerSign;
-    private static final String LOCK_PATH_JOIN_GAME = "/joingame";
+
+    @Getter
+    @Value(value = "${game.player.engine:MINIMAX}")
+    private EngineType engineType;
+    private static final String LOCK_PATH_JOIN_GAME = "/joingame/";
     private static final String PLAYER_NOT_FOUND = "Player with id: %s not found";
     private static final String PLAYER_ALREADY_JOINED = "Player with the same sign already joined";
     private static final String PLAYER_SIGN_CONFLICT = "Player with the same sign already joined";
@@ -43,8 +51,11 @@ public class PlayerService {
 
     private final GameService gameService;
     private final PlayerRepository playerRepository;
-    private final KafkaSenderService kafkaSenderService;
+    private final EventOutboxService eventOutboxService;
     private final LockService lockService;
+    private final LockProperties lockProperties;
+    private final OptimisticRetryService optimisticRetryService;
+    private final PlatformTransactionManager transactionManager;
 
     @Getter
     private Player currentPlayer;
@@ -73,17 +84,24 @@ public class PlayerService {
     }
 
     /**
-     * Joins a game based on the provided GameDto.
+     * Joins a game based on the provided GameDto, either in a transaction under a distributed lock held for this
+     * game only or, in optimistic mode, in the retried transaction alone, repeated when another player joined
+     * the game concurrently. Only one of the two transactions is opened, so a join holds one connection.
      *
      * @param gameDto the game data transfer object
      */
-    @Transactional
     public void joinGame(GameDto gameDto) {
         log.info("Joining game {}", gameDto);
-        lockService.executeWithLock(LOCK_PATH_JOIN_GAME, () -> {
+        Runnable join = () -> {
             Game currentGame = gameService.getGameById(gameDto.getId());
             addPlayerToGame(currentGame, currentPlayer, gameDto);
-        });
+        };
+        if (LockMode.OPTIMISTIC.equals(lockProperties.getMode())) {
+            optimisticRetryService.executeWithRetry("join of game " + gameDto.getId(), join);
+        } else {
+            lockService.executeWithLock(LOCK_PATH_JOIN_GAME + gameDto.getId(),
+                    () -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> join.run()));
+        }
     }
 
     private void addPlayerToGame(Game game, Player player, GameDto gameDto) {
@@ -113,7 +131,7 @@ public class PlayerService {
         } else {
             updateGame(game, player);
             updatePlayer(game, player);
-            kafkaSenderService.sendGame(new GameDto(gameDto.getId(), game.getStatus(), player.getId()));
+            eventOutboxService.publishGame(new GameDto(gameDto.getId(), game.getStatus(), player.getId()));
         }
     }
 
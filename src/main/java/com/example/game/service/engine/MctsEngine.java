@@ -0,0 +1,298 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.util.MnkBoard;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monte Carlo Tree Search engine for m,n,k boards of any size.
+ * Each move runs one UCT tree per worker thread (root parallelism) on its own copy of the board until the time
+ * budget or iteration limit is reached; the root visit counts of all trees are then summed and the most visited
+ * move wins, ties broken at random. Playouts pick random cells next to existing signs.
+ */
+@Slf4j
+@Component
+public class MctsEngine {
+
+    private static final double WIN_REWARD = 1.0;
+    private static final double DRAW_REWARD = 0.5;
+    private static final int PLAYOUT_SAMPLES = 32;
+
+    private final EngineProperties engineProperties;
+    private final ExecutorService executor;
+    private final int threads;
+    private final LongAdder simulations = new LongAdder();
+
+    public MctsEngine(EngineProperties engineProperties) {
+        this.engineProperties = engineProperties;
+        int configured = engineProperties.getMcts().getThreads();
+        this.threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        var threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, "mcts-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Finds the best move for the given player sign within the configured time budget.
+     *
+     * @param board      the current state of the game board
+     * @param winLength  the number of signs in a line needed to win
+     * @param playerSign the sign of the player to move
+     * @return the best move as an array with two elements: row and column
+     */
+    public int[] findBestMove(String[][] board, int winLength, PlayerSign playerSign) {
+        return findBestMove(MnkBoard.fromArray(board, winLength), playerSign);
+    }
+
+    /**
+     * Finds the best move for the given player sign within the configured time budget.
+     *
+     * @param board      the current state of the game board; it is not modified
+     * @param playerSign the sign of the player to move
+     * @return the best move as an array with two elements: row and column
+     * @throws IllegalArgumentException if the game on the board is already over
+     */
+    public int[] findBestMove(MnkBoard board, PlayerSign playerSign) {
+        if (board.status() != GameStatus.IN_PROGRESS) {
+            throw new IllegalArgumentException("No moves left on the board");
+        }
+        var mcts = engineProperties.getMcts();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(mcts.getTimeBudgetMillis());
+        long iterationsPerTree = mcts.getMaxIterations() > 0
+                ? Math.max(1, mcts.getMaxIterations() / threads) : Long.MAX_VALUE;
+
+        List<Callable<long[]>> trees = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            long seed = ThreadLocalRandom.current().nextLong();
+            trees.add(() -> new Tree(board.copy(), playerSign, mcts.getExploration(), new SplittableRandom(seed))
+                    .search(deadline, iterationsPerTree));
+        }
+        long[] visits = new long[board.getCellCount()];
+        try {
+            for (Future<long[]> tree : executor.invokeAll(trees)) {
+                long[] treeVisits = tree.get();
+                for (int cell = 0; cell < visits.length; cell++) {
+                    visits[cell] += treeVisits[cell];
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+        int cell = mostVisited(visits);
+        log.debug("MCTS picked cell {} with {} visits", cell, visits[cell]);
+        return new int[]{cell / board.getColumns(), cell % board.getColumns()};
+    }
+
+    /**
+     * Gets the total number of playouts run by this engine.
+     *
+     * @return the simulation count
+     */
+    public long getSimulations() {
+        return simulations.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private int mostVisited(long[] visits) {
+        var random = ThreadLocalRandom.current();
+        int best = -1;
+        int ties = 0;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (visits[cell] == 0) {
+                continue;
+            }
+            if (best < 0 || visits[cell] > visits[best]) {
+                best = cell;
+                ties = 1;
+            } else if (visits[cell] == visits[best] && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    private static PlayerSign opponent(PlayerSign sign) {
+        return sign == PlayerSign.X ? PlayerSign.O : PlayerSign.X;
+    }
+
+    /**
+     * A search tree owned by a single worker thread.
+     */
+    private final class Tree {
+        private final MnkBoard board;
+        private final PlayerSign playerSign;
+        private final double exploration;
+        private final SplittableRandom random;
+        private final int[] path;
+
+        private Tree(MnkBoard board, PlayerSign playerSign, double exploration, SplittableRandom random) {
+            this.board = board;
+            this.playerSign = playerSign;
+            this.exploration = exploration;
+            this.random = random;
+            this.path = new int[board.getCellCount()];
+        }
+
+        private long[] search(long deadline, long maxIterations) {
+            var root = new Node(null, -1, opponent(playerSign));
+            root.setUntried(candidates());
+            long iterations = 0;
+            do {
+                iterate(root);
+                iterations++;
+            } while (iterations < maxIterations && System.nanoTime() < deadline);
+            simulations.add(iterations);
+
+            long[] visits = new long[board.getCellCount()];
+            for (Node child : root.children) {
+                visits[child.cell] = child.visits;
+            }
+            return visits;
+        }
+
+        private void iterate(Node root) {
+            int depth = 0;
+            Node node = root;
+            GameStatus status = GameStatus.IN_PROGRESS;
+
+            while (node.untriedCount == 0 && !node.children.isEmpty()) {
+                node = node.select(exploration);
+                status = board.place(node.cell, node.mover);
+                path[depth++] = node.cell;
+            }
+            if (status == GameStatus.IN_PROGRESS && node.untriedCount > 0) {
+                int pick = random.nextInt(node.untriedCount);
+                int cell = node.untried[pick];
+                node.untried[pick] = node.untried[--node.untriedCount];
+                var child = new Node(node, cell, opponent(node.mover));
+                node.children.add(child);
+                status = board.place(cell, child.mover);
+                path[depth++] = cell;
+                child.setUntried(status == GameStatus.IN_PROGRESS ? candidates() : new int[0]);
+                node = child;
+            }
+
+            PlayerSign toMove = opponent(node.mover);
+            while (status == GameStatus.IN_PROGRESS) {
+                int cell = playoutMove();
+                status = board.place(cell, toMove);
+                path[depth++] = cell;
+                toMove = opponent(toMove);
+            }
+            // the player who made the last move either won or drew
+            PlayerSign winner = status == GameStatus.FINISHED ? opponent(toMove) : null;
+
+            for (; node != null; node = node.parent) {
+                node.visits++;
+                if (winner == null) {
+                    node.wins += DRAW_REWARD;
+                } else if (winner == node.mover) {
+                    node.wins += WIN_REWARD;
+                }
+            }
+            while (depth > 0) {
+                board.undo(path[--depth]);
+            }
+        }
+
+        private int[] candidates() {
+            if (board.getMoveCount() == 0) {
+                return new int[]{(board.getRows() / 2) * board.getColumns() + board.getColumns() / 2};
+            }
+            int[] cells = new int[board.getCellCount()];
+            int count = 0;
+            for (int cell = 0; cell < cells.length; cell++) {
+                if (board.isCandidate(cell)) {
+                    cells[count++] = cell;
+                }
+            }
+            int[] result = new int[count];
+            System.arraycopy(cells, 0, result, 0, count);
+            return result;
+        }
+
+        private int playoutMove() {
+            int cellCount = board.getCellCount();
+            for (int i = 0; i < PLAYOUT_SAMPLES; i++) {
+                int cell = random.nextInt(cellCount);
+                if (board.isCandidate(cell)) {
+                    return cell;
+                }
+            }
+            int start = random.nextInt(cellCount);
+            for (int i = 0; i < cellCount; i++) {
+                int cell = (start + i) % cellCount;
+                if (board.isEmpty(cell)) {
+                    return cell;
+                }
+            }
+            throw new IllegalStateException("No empty cell left for playout");
+        }
+    }
+
+    private static final class Node {
+        private final Node parent;
+        private final int cell;
+        /**
+         * The player who placed {@link #cell}; rewards are counted from this player's point of view.
+         */
+        private final PlayerSign mover;
+        private final List<Node> children = new ArrayList<>();
+        private int[] untried;
+        private int untriedCount;
+        private int visits;
+        private double wins;
+
+        private Node(Node parent, int cell, PlayerSign mover) {
+            this.parent = parent;
+            this.cell = cell;
+            this.mover = mover;
+        }
+
+        private void setUntried(int[] cells) {
+            untried = cells;
+            untriedCount = cells.length;
+        }
+
+        private Node select(double exploration) {
+            double logVisits = Math.log(visits);
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                double score = child.wins / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = child;
+                }
+            }
+            return best;
+        }
+    }
+}
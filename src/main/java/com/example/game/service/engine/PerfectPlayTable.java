@@ -0,0 +1,222 @@
+package com.example.game.service.engine;
+
+import com.example.game.util.BitBoard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Precomputed perfect-play table for the 3x3 board.
+ * Every reachable non-terminal position is reduced to its canonical form under the 8 rotations and reflections
+ * of the board and mapped to the set of optimal moves for the player to move. Moves are scored like the minimax
+ * search in {@link com.example.game.service.GameLogicService}: wins as early as possible, losses as late as possible.
+ */
+@Slf4j
+@Component
+public class PerfectPlayTable {
+
+    private static final int SYMMETRIES = 8;
+    private static final int MASKS = 1 << BitBoard.CELLS;
+    private static final int WIN_SCORE = BitBoard.CELLS + 1;
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    /**
+     * Mask permutations: {@code transforms[t][mask]} is {@code mask} under symmetry {@code t}.
+     */
+    private final int[][] transforms = new int[SYMMETRIES][MASKS];
+    private final int[] inverse = new int[SYMMETRIES];
+    private final int[] keys;
+    private final short[] optimalMoves;
+
+    public PerfectPlayTable() {
+        initTransforms();
+        Map<Integer, Short> table = build();
+        keys = new int[table.size()];
+        optimalMoves = new short[table.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Short> entry : table.entrySet()) {
+            keys[i] = entry.getKey();
+            optimalMoves[i] = entry.getValue();
+            i++;
+        }
+        log.info("Built perfect-play table with {} canonical positions", keys.length);
+    }
+
+    /**
+     * Looks up the optimal moves for the player to move.
+     *
+     * @param own      the cells occupied by the player to move
+     * @param opponent the cells occupied by the opponent
+     * @return the mask of optimal moves, or 0 if the position is terminal or not reachable in a regular game
+     */
+    public int findOptimalMoves(int own, int opponent) {
+        int symmetry = 0;
+        int key = Integer.MAX_VALUE;
+        for (int t = 0; t < SYMMETRIES; t++) {
+            int candidate = key(transforms[t][own], transforms[t][opponent]);
+            if (candidate < key) {
+                key = candidate;
+                symmetry = t;
+            }
+        }
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return 0;
+        }
+        return transforms[inverse[symmetry]][optimalMoves[index]];
+    }
+
+    /**
+     * Gets the number of canonical positions stored in the table.
+     *
+     * @return the table size
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    private Map<Integer, Short> build() {
+        int[] values = new int[MASKS * MASKS];
+        Arrays.fill(values, UNKNOWN);
+        Map<Integer, Short> table = new TreeMap<>();
+        for (int own = 0; own < MASKS; own++) {
+            int free = ~own & (MASKS - 1);
+            for (int opponent = free; ; opponent = (opponent - 1) & free) {
+                if (isReachable(own, opponent)) {
+                    int key = canonicalKey(own, opponent);
+                    if (!table.containsKey(key)) {
+                        table.put(key, (short) optimalMoves(key >>> BitBoard.CELLS, key & (MASKS - 1), values));
+                    }
+                }
+                if (opponent == 0) {
+                    break;
+                }
+            }
+        }
+        return table;
+    }
+
+    private int optimalMoves(int own, int opponent, int[] values) {
+        int best = Integer.MIN_VALUE;
+        int bestMoves = 0;
+        for (int empty = emptyMask(own, opponent); empty != 0; empty &= empty - 1) {
+            int bit = empty & -empty;
+            int score = scoreMove(own, opponent, bit, values);
+            if (score > best) {
+                best = score;
+                bestMoves = bit;
+            } else if (score == best) {
+                bestMoves |= bit;
+            }
+        }
+        return bestMoves;
+    }
+
+    /**
+     * Scores a position for the player to move: {@code WIN_SCORE - plies} for a win, the negated
+     * value for a loss and 0 for a draw.
+     */
+    private int value(int own, int opponent, int[] values) {
+        int key = key(own, opponent);
+        if (values[key] != UNKNOWN) {
+            return values[key];
+        }
+        int best = Integer.MIN_VALUE;
+        for (int empty = emptyMask(own, opponent); empty != 0; empty &= empty - 1) {
+            best = Math.max(best, scoreMove(own, opponent, empty & -empty, values));
+        }
+        values[key] = best;
+        return best;
+    }
+
+    private int scoreMove(int own, int opponent, int bit, int[] values) {
+        int next = own | bit;
+        if (BitBoard.isWin(next)) {
+            return WIN_SCORE;
+        }
+        if ((next | opponent) == BitBoard.FULL_MASK) {
+            return 0;
+        }
+        int reply = value(opponent, next, values);
+        return -reply + Integer.signum(reply);
+    }
+
+    private boolean isReachable(int own, int opponent) {
+        int ownCount = Integer.bitCount(own);
+        int opponentCount = Integer.bitCount(opponent);
+        return (ownCount == opponentCount || ownCount + 1 == opponentCount)
+                && (own | opponent) != BitBoard.FULL_MASK
+                && !BitBoard.isWin(own) && !BitBoard.isWin(opponent);
+    }
+
+    private int canonicalKey(int own, int opponent) {
+        int key = Integer.MAX_VALUE;
+        for (int t = 0; t < SYMMETRIES; t++) {
+            key = Math.min(key, key(transforms[t][own], transforms[t][opponent]));
+        }
+        return key;
+    }
+
+    private void initTransforms() {
+        int[][] cellMaps = new int[SYMMETRIES][BitBoard.CELLS];
+        for (int t = 0; t < SYMMETRIES; t++) {
+            for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+                cellMaps[t][cell] = transformCell(t, BitBoard.row(cell), BitBoard.column(cell));
+            }
+        }
+        for (int t = 0; t < SYMMETRIES; t++) {
+            for (int mask = 0; mask < MASKS; mask++) {
+                int transformed = 0;
+                for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+                    if ((mask & (1 << cell)) != 0) {
+                        transformed |= 1 << cellMaps[t][cell];
+                    }
+                }
+                transforms[t][mask] = transformed;
+            }
+        }
+        for (int t = 0; t < SYMMETRIES; t++) {
+            for (int candidate = 0; candidate < SYMMETRIES; candidate++) {
+                if (composesToIdentity(cellMaps[t], cellMaps[candidate])) {
+                    inverse[t] = candidate;
+                }
+            }
+        }
+    }
+
+    /**
+     * Symmetries 0-3 rotate the board by 0, 90, 180 and 270 degrees, 4-7 additionally mirror it.
+     */
+    private static int transformCell(int symmetry, int row, int column) {
+        int last = BitBoard.SIZE - 1;
+        if (symmetry >= SYMMETRIES / 2) {
+            column = last - column;
+        }
+        for (int i = 0; i < symmetry % (SYMMETRIES / 2); i++) {
+            int rotated = column;
+            column = last - row;
+            row = rotated;
+        }
+        return BitBoard.index(row, column);
+    }
+
+    private static boolean composesToIdentity(int[] first, int[] second) {
+        for (int cell = 0; cell < BitBoard.CELLS; cell++) {
+            if (second[first[cell]] != cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int emptyMask(int own, int opponent) {
+        return ~(own | opponent) & BitBoard.FULL_MASK;
+    }
+
+    private static int key(int own, int opponent) {
+        return (own << BitBoard.CELLS) | opponent;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedicated fork/join pool that minimax searches split their root moves across.
+ * The pool is bounded to the configured number of workers and never spawns compensation threads beyond it.
+ * With a single configured thread no pool is created and tasks run in order on the calling thread.
+ */
+@Slf4j
+@Component
+public class SearchPool {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final ForkJoinPool pool;
+
+    public SearchPool(EngineProperties engineProperties) {
+        int configured = engineProperties.getSearchThreads();
+        int threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        this.pool = threads > 1 ? createPool(threads) : null;
+        log.info("Search pool uses {} thread(s)", threads);
+    }
+
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Runs all tasks and waits for them to finish: forked on the pool in parallel mode, in list order otherwise.
+     *
+     * @param tasks the tasks to run
+     */
+    public void invokeAll(List<Runnable> tasks) {
+        if (pool == null) {
+            tasks.forEach(Runnable::run);
+            return;
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks.stream()
+                .map(ForkJoinTask::adapt)
+                .toList())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool createPool(int threads) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("search-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ForkJoinPool(threads, factory, null, false, threads, threads, 1, pool -> true,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    }
+}
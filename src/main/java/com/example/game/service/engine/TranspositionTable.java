@@ -0,0 +1,136 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size transposition table shared by all searches in the process.
+ * Entries live in one preallocated {@link AtomicLongArray} as (key ^ data, data) pairs, so readers and writers never
+ * lock: a torn pair written by two threads at once fails the key check on read and is treated as a miss.
+ * A slot holds one entry; a different position hashing to the same slot replaces it and counts as an eviction.
+ */
+@Slf4j
+@Component
+public class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+    /**
+     * Returned by {@link #probe(long)} when the table has no entry for the key.
+     */
+    public static final long NO_ENTRY = 0L;
+
+    private static final int ENTRY_BYTES = 2 * Long.BYTES;
+    private static final int BYTES_IN_MEGABYTE = 1 << 20;
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final long VALID_BIT = 1L << 42;
+    private static final int DEPTH_MASK = 0xFF;
+    private static final int BOUND_MASK = 0x3;
+
+    private final AtomicLongArray slots;
+    private final int indexMask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TranspositionTable(EngineProperties engineProperties) {
+        long budget = (long) engineProperties.getTranspositionTableMegabytes() * BYTES_IN_MEGABYTE;
+        int entries = (int) Long.highestOneBit(Math.min(budget / ENTRY_BYTES, 1 << 30));
+        slots = new AtomicLongArray(2 * entries);
+        indexMask = entries - 1;
+        log.info("Allocated transposition table with {} entries", entries);
+    }
+
+    /**
+     * Looks up an entry.
+     *
+     * @param key the Zobrist hash of the position
+     * @return the packed entry, or {@link #NO_ENTRY} if the table has no entry for the key
+     */
+    public long probe(long key) {
+        if (indexMask < 0) {
+            return NO_ENTRY;
+        }
+        int slot = slot(key);
+        long data = slots.getOpaque(slot + 1);
+        if (data != NO_ENTRY && (slots.getOpaque(slot) ^ data) == key) {
+            hits.increment();
+            return data;
+        }
+        misses.increment();
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores an entry, replacing whatever occupies its slot unless it is the same position searched deeper.
+     *
+     * @param key   the Zobrist hash of the position
+     * @param value the score of the position
+     * @param bound {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     * @param depth the remaining search depth the score was computed with
+     */
+    public void store(long key, int value, int bound, int depth) {
+        if (indexMask < 0) {
+            return;
+        }
+        int slot = slot(key);
+        long existing = slots.getOpaque(slot + 1);
+        if (existing != NO_ENTRY) {
+            if ((slots.getOpaque(slot) ^ existing) != key) {
+                evictions.increment();
+            } else if (depth(existing) > depth) {
+                return;
+            }
+        }
+        long data = (value & 0xFFFFFFFFL)
+                | ((long) (depth & DEPTH_MASK) << DEPTH_SHIFT)
+                | ((long) (bound & BOUND_MASK) << BOUND_SHIFT)
+                | VALID_BIT;
+        slots.setOpaque(slot, key ^ data);
+        slots.setOpaque(slot + 1, data);
+        stores.increment();
+    }
+
+    public static int value(long entry) {
+        return (int) entry;
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    public static int bound(long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & BOUND_MASK;
+    }
+
+    public int capacity() {
+        return indexMask + 1;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStores() {
+        return stores.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private int slot(long key) {
+        return (int) (key & indexMask) << 1;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.game.service.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for boards stored as two cell masks: one random 64-bit key per cell and sign plus one for the side
+ * to move. A board hash is the XOR of the keys of its occupied cells, so it can be updated with a single XOR per move.
+ * Keys are generated from a fixed seed and are the same in every JVM.
+ */
+public final class ZobristKeys {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final long[] ownKeys;
+    private final long[] opponentKeys;
+    private final long ownToMoveKey;
+
+    public ZobristKeys(int cells) {
+        var random = new SplittableRandom(SEED);
+        ownKeys = new long[cells];
+        opponentKeys = new long[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            ownKeys[cell] = random.nextLong();
+            opponentKeys[cell] = random.nextLong();
+        }
+        ownToMoveKey = random.nextLong();
+    }
+
+    /**
+     * Hashes a position.
+     *
+     * @param own       the cells occupied by the searching player
+     * @param opponent  the cells occupied by the opponent
+     * @param ownToMove whether the searching player is to move
+     * @return the position hash
+     */
+    public long hash(int own, int opponent, boolean ownToMove) {
+        long hash = ownToMove ? ownToMoveKey : 0L;
+        for (; own != 0; own &= own - 1) {
+            hash ^= ownKeys[Integer.numberOfTrailingZeros(own)];
+        }
+        for (; opponent != 0; opponent &= opponent - 1) {
+            hash ^= opponentKeys[Integer.numberOfTrailingZeros(opponent)];
+        }
+        return hash;
+    }
+
+    /**
+     * Gets the hash delta of the searching player placing a sign on the cell; also flips the side to move.
+     */
+    public long ownMove(int cell) {
+        return ownKeys[cell] ^ ownToMoveKey;
+    }
+
+    /**
+     * Gets the hash delta of the opponent placing a sign on the cell; also flips the side to move.
+     */
+    public long opponentMove(int cell) {
+        return opponentKeys[cell] ^ ownToMoveKey;
+    }
+}
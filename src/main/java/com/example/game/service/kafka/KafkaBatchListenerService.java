@@ -0,0 +1,144 @@
+package com.example.game.service.kafka;
+
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.service.MessageDeduplicator;
+import com.example.game.service.MoveApplierService;
+import com.example.game.service.MoveMakerService;
+import com.example.game.service.PlayerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Batch variant of {@link KafkaListenerService}, enabled with {@code game.topic.batch-listener}. Each poll is
+ * grouped by game and the records of a game are handled in order, so the moves of a game in one poll take one lock,
+ * one load and one save. Records of a game share a partition, so per-game ordering across polls is unchanged.
+ * Messages this instance already handled are dropped before any lock or database access.
+ * A failing game is retried in place with the {@code retry.*} settings and skipped with an error once they are
+ * exhausted, so the batch always completes: failing it would redeliver the later records of games already applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "game.topic", name = "batch-listener", havingValue = "true")
+public class KafkaBatchListenerService {
+
+    private final PlayerService playerService;
+    private final MoveApplierService moveApplierService;
+    private final MoveMakerService moveMakerService;
+    private final PartitionOwnershipService partitionOwnershipService;
+    private final MessageDeduplicator messageDeduplicator;
+    private final RetryTemplate retryTemplate;
+
+    /**
+     * Batch listener for game topic. A message repeated for the same game within the poll is handled once.
+     *
+     * @param records the records of one poll
+     */
+    @KafkaListener(topics = "${game.topic.game.name}", groupId = "${game.topic.game.group-id}",
+            containerFactory = "multiTypeBatchKafkaListenerContainerFactory")
+    public void listenGameTopic(List<ConsumerRecord<String, Object>> records) {
+        for (List<ConsumerRecord<String, Object>> gameRecords : groupByGame(records, GameDto.class,
+                GameDto::getId).values()) {
+            GameDto previous = null;
+            for (ConsumerRecord<String, Object> gameRecord : gameRecords) {
+                GameDto gameDto = (GameDto) gameRecord.value();
+                if (gameDto.equals(previous) || messageDeduplicator.isDuplicate(gameDto)) {
+                    continue;
+                }
+                previous = gameDto;
+                log.info("Received gameDto: {}", gameDto);
+                boolean handled = handleWithRetry(gameRecord, "gameDto " + gameDto, () -> {
+                    switch (gameDto.getStatus()) {
+                        case NEW -> playerService.joinGame(gameDto);
+                        case IN_PROGRESS -> moveMakerService.makeMove(gameDto);
+                        default -> log.warn("Dont have any logic for messages with this game status: {}",
+                                gameDto.getStatus());
+                    }
+                });
+                if (handled) {
+                    messageDeduplicator.recordGame(gameDto);
+                }
+            }
+        }
+    }
+
+    /**
+     * Batch listener for game moves topic. Moves on partitions this instance exclusively owns are applied without
+     * the distributed lock.
+     *
+     * @param records the records of one poll
+     */
+    @KafkaListener(topics = "${game.topic.movies.name}", groupId = "${game.topic.movies.group-id}",
+            containerFactory = "multiTypeBatchKafkaListenerContainerFactory")
+    public void listenGameMoviesTopic(List<ConsumerRecord<String, Object>> records) {
+        for (List<ConsumerRecord<String, Object>> gameRecords : groupByGame(records, GameMove.class,
+                GameMove::getGameId).values()) {
+            ConsumerRecord<String, Object> first = gameRecords.get(0);
+            List<GameMove> moves = gameRecords.stream().map(gameRecord -> (GameMove) gameRecord.value())
+                    .filter(move -> !messageDeduplicator.isDuplicate(move))
+                    .toList();
+            if (moves.isEmpty()) {
+                log.debug("Dropping {} already applied gameMove(s) on partition {}-{}", gameRecords.size(),
+                        first.topic(), first.partition());
+                continue;
+            }
+            log.info("Received {} gameMove(s) for game {} on partition {}-{}", moves.size(),
+                    moves.get(0).getGameId(), first.topic(), first.partition());
+            handleWithRetry(first, moves.size() + " gameMove(s) of game " + moves.get(0).getGameId(), () -> {
+                if (partitionOwnershipService.isExclusiveOwner(first.topic(), first.partition())) {
+                    moveApplierService.applyMovesAsPartitionOwner(moves);
+                } else {
+                    moveApplierService.applyMoves(moves);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the handler of one game, retrying it in place.
+     *
+     * @return false when the attempts are exhausted and the messages were skipped
+     */
+    private boolean handleWithRetry(ConsumerRecord<String, Object> consumerRecord, String description,
+                                    Runnable handler) {
+        try {
+            retryTemplate.execute(context -> {
+                handler.run();
+                return null;
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Skipping {} from {}-{}@{} after retries were exhausted", description, consumerRecord.topic(),
+                    consumerRecord.partition(), consumerRecord.offset(), e);
+            return false;
+        }
+    }
+
+    private static <T> Map<UUID, List<ConsumerRecord<String, Object>>> groupByGame(
+            List<ConsumerRecord<String, Object>> records, Class<T> type, Function<T, UUID> gameId) {
+        Map<UUID, List<ConsumerRecord<String, Object>>> byGame = new LinkedHashMap<>();
+        for (ConsumerRecord<String, Object> consumerRecord : records) {
+            if (!type.isInstance(consumerRecord.value())) {
+                log.warn("Skipping record {}-{}@{} without a {}", consumerRecord.topic(), consumerRecord.partition(),
+                        consumerRecord.offset(), type.getSimpleName());
+                continue;
+            }
+            UUID id = gameId.apply(type.cast(consumerRecord.value()));
+            byGame.computeIfAbsent(id, key -> new ArrayList<>()).add(consumerRecord);
+        }
+        return byGame;
+    }
+}
@@ -2,25 +2,32 @@ package com.example.game.service.kafka;
 
 import com.example.game.model.GameDto;
 import com.example.game.model.GameMove;
+import com.example.game.service.MessageDeduplicator;
 import com.example.game.service.MoveApplierService;
 import com.example.game.service.MoveMakerService;
 import com.example.game.service.PlayerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "game.topic", name = "batch-listener", havingValue = "false", matchIfMissing = true)
 public class KafkaListenerService {
 
     private final PlayerService playerService;
     private final MoveApplierService moveApplierService;
     private final MoveMakerService moveMakerService;
+    private final PartitionOwnershipService partitionOwnershipService;
+    private final MessageDeduplicator messageDeduplicator;
 
     /**
-     * Listener for game topic.
+     * Listener for game topic. A game message whose status this instance already handled is dropped.
      *
      * @param gameDto the game data transfer object
      */
@@ -30,6 +37,10 @@ public class KafkaListenerService {
             log.warn("Received null gameDto");
             return;
         }
+        if (messageDeduplicator.isDuplicate(gameDto)) {
+            log.debug("Dropping already handled gameDto: {}", gameDto);
+            return;
+        }
         log.info("Received gameDto: {}", gameDto);
 
         switch (gameDto.getStatus()) {
@@ -37,19 +48,47 @@ public class KafkaListenerService {
             case IN_PROGRESS -> moveMakerService.makeMove(gameDto);
             default -> log.warn("Dont have any logic for messages with this game status: {}", gameDto.getStatus());
         }
+        messageDeduplicator.recordGame(gameDto);
     }
 
     /**
-     * Listener for game moves topic.
+     * Listener for game moves topic. Moves on partitions this instance exclusively owns are applied without
+     * the distributed lock; moves this instance already applied are dropped first.
      *
-     * @param gameMove the game move
+     * @param gameMove  the game move
+     * @param topic     the topic the move was received on
+     * @param partition the partition the move was received on
      */
     @KafkaListener(topics = "${game.topic.movies.name}", groupId = "${game.topic.movies.group-id}")
+    public void listenGameMoviesTopic(GameMove gameMove,
+                                      @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                      @Header(KafkaHeaders.RECEIVED_PARTITION) int partition) {
+        if (gameMove != null && partitionOwnershipService.isExclusiveOwner(topic, partition)) {
+            if (messageDeduplicator.isDuplicate(gameMove)) {
+                log.debug("Dropping already applied gameMove: {}", gameMove);
+                return;
+            }
+            log.info("Received gameMove on owned partition {}-{}: {}", topic, partition, gameMove);
+            moveApplierService.applyMoveAsPartitionOwner(gameMove);
+            return;
+        }
+        listenGameMoviesTopic(gameMove);
+    }
+
+    /**
+     * Applies a game move under the distributed lock, unless this instance already applied it.
+     *
+     * @param gameMove the game move
+     */
     public void listenGameMoviesTopic(GameMove gameMove) {
         if (gameMove == null) {
             log.warn("Received null gameMove");
             return;
         }
+        if (messageDeduplicator.isDuplicate(gameMove)) {
+            log.debug("Dropping already applied gameMove: {}", gameMove);
+            return;
+        }
         log.info("Received gameMove: {}", gameMove);
 
         moveApplierService.applyMove(gameMove);
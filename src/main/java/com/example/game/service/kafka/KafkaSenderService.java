@@ -1,67 +1,218 @@
 package com.example.game.service.kafka;
 
+import com.example.game.config.KafkaSenderProperties;
+import com.example.game.config.RetryProperties;
 import com.example.game.model.GameDto;
 import com.example.game.model.GameMove;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.RetriableException;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.kafka.KafkaException;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
-import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.function.BiConsumer;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Service publishing game messages asynchronously. At most {@code game.sender.max-in-flight-messages} messages are
+ * unacknowledged at a time; a send waits for a free slot, which slows callers down while the broker lags behind.
+ * A send that still fails with a retriable error after the producer's own retries is sent again from its
+ * completion callback with the {@code retry.*} backoff; other failures are logged once with the message summary.
+ * Publishes the {@code game.kafka.send} latency timer, tagged by topic and outcome, the
+ * {@code game.kafka.send.retries} counter and the {@code game.kafka.send.in.flight} gauge.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaSenderService {
 
-    @Value(value = "${game.topic.game.name}")
-    private String gameTopicName;
-
-    @Value(value = "${game.topic.movies.name}")
-    private String gameMoveTopicName;
-
     private final KafkaTemplate<String, Object> gameMoveKafkaTemplate;
     private final KafkaTemplate<String, Object> gameDtoKafkaTemplate;
-    private final RetryTemplate retryTemplate;
+    private final String gameTopicName;
+    private final String gameMoveTopicName;
+    private final KafkaSenderProperties kafkaSenderProperties;
+    private final RetryProperties retryProperties;
+    private final TaskScheduler moveScheduler;
+    private final Semaphore inFlight;
+    private final Counter retries;
+    private final SendTimers gameTimers;
+    private final SendTimers gameMoveTimers;
+
+    public KafkaSenderService(KafkaTemplate<String, Object> gameMoveKafkaTemplate,
+                              KafkaTemplate<String, Object> gameDtoKafkaTemplate,
+                              @Value("${game.topic.game.name}") String gameTopicName,
+                              @Value("${game.topic.movies.name}") String gameMoveTopicName,
+                              KafkaSenderProperties kafkaSenderProperties, RetryProperties retryProperties,
+                              TaskScheduler moveScheduler, MeterRegistry meterRegistry) {
+        this.gameMoveKafkaTemplate = gameMoveKafkaTemplate;
+        this.gameDtoKafkaTemplate = gameDtoKafkaTemplate;
+        this.gameTopicName = gameTopicName;
+        this.gameMoveTopicName = gameMoveTopicName;
+        this.kafkaSenderProperties = kafkaSenderProperties;
+        this.retryProperties = retryProperties;
+        this.moveScheduler = moveScheduler;
+        this.gameTimers = new SendTimers(sendTimer(meterRegistry, gameTopicName, "success"),
+                sendTimer(meterRegistry, gameTopicName, "failure"));
+        this.gameMoveTimers = new SendTimers(sendTimer(meterRegistry, gameMoveTopicName, "success"),
+                sendTimer(meterRegistry, gameMoveTopicName, "failure"));
+        this.inFlight = new Semaphore(kafkaSenderProperties.getMaxInFlightMessages());
+        this.retries = Counter.builder("game.kafka.send.retries")
+                .description("Sends repeated after a retriable failure")
+                .register(meterRegistry);
+        Gauge.builder("game.kafka.send.in.flight", this, KafkaSenderService::getInFlightMessages)
+                .description("Messages sent but not yet acknowledged or given up")
+                .register(meterRegistry);
+    }
 
     /**
-     * Send a GameDto to the game topic.
+     * Send a GameDto to the game topic, keyed by game id.
      *
      * @param gameDto the game data transfer object
+     * @return completes once the broker acknowledged the message, or exceptionally once the send is given up
+     * @throws KafkaException if no send slot freed up in time
      */
-    public void sendGame(GameDto gameDto) {
-        retryTemplate.execute(context -> {
-            CompletableFuture<SendResult<String, Object>> future = gameDtoKafkaTemplate.send(gameTopicName, gameDto);
-            future.whenComplete(handleSendResult(gameDto));
-            return null;
-        });
+    public CompletableFuture<Void> sendGame(GameDto gameDto) {
+        return send(gameDtoKafkaTemplate, gameTopicName, gameTimers, gameDto.getId(), gameDto);
     }
 
     /**
-     * Send a GameMove to the game moves topic.
+     * Send a GameMove to the game moves topic, keyed by game id.
      *
      * @param gameMove the game move
+     * @return completes once the broker acknowledged the message, or exceptionally once the send is given up
+     * @throws KafkaException if no send slot freed up in time
      */
-    public void sendGameMove(GameMove gameMove) {
-        retryTemplate.execute(context -> {
-            CompletableFuture<SendResult<String, Object>> future = gameMoveKafkaTemplate.send(gameMoveTopicName, gameMove);
-            future.whenComplete(handleSendResult(gameMove));
-            return null;
-        });
+    public CompletableFuture<Void> sendGameMove(GameMove gameMove) {
+        return send(gameMoveKafkaTemplate, gameMoveTopicName, gameMoveTimers, gameMove.getGameId(), gameMove);
     }
 
-    private <T> BiConsumer<SendResult<String, Object>, Throwable> handleSendResult(T message) {
-        return (result, ex) -> {
+    /**
+     * Gets the number of messages sent but not yet acknowledged or given up.
+     *
+     * @return the messages in flight
+     */
+    public int getInFlightMessages() {
+        return kafkaSenderProperties.getMaxInFlightMessages() - inFlight.availablePermits();
+    }
+
+    private CompletableFuture<Void> send(KafkaTemplate<String, Object> template, String topic, SendTimers timers,
+                                         UUID gameId, Object message) {
+        acquireSlot(message);
+        Outgoing outgoing = new Outgoing(template, topic, timers, gameId == null ? null : gameId.toString(),
+                message, System.nanoTime(), new CompletableFuture<>());
+        attempt(outgoing, 1);
+        return outgoing.result();
+    }
+
+    private void acquireSlot(Object message) {
+        try {
+            if (inFlight.tryAcquire(kafkaSenderProperties.getMaxBlockMillis(), TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new KafkaException("Too many messages in flight to send " + describe(message));
+    }
+
+    private void attempt(Outgoing outgoing, int attempt) {
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = outgoing.template().send(outgoing.topic(), outgoing.key(), outgoing.message());
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, ex) -> {
             if (ex == null) {
-                log.info("Sent [{}] with offset=[{}]", message, result.getRecordMetadata().offset());
+                log.debug("Sent {} to {}-{}@{}", describe(outgoing.message()), outgoing.topic(),
+                        result.getRecordMetadata().partition(), result.getRecordMetadata().offset());
+                complete(outgoing, null);
+            } else if (attempt < retryProperties.getMaxAttempts() && isRetriable(ex)) {
+                retry(outgoing, attempt, ex);
             } else {
-                log.error("Unable to send [{}] due to: {}", message, ex.getMessage());
-                throw new RuntimeException(ex);
+                log.error("Unable to send {} after {} attempt(s)", describe(outgoing.message()), attempt, ex);
+                complete(outgoing, ex);
+            }
+        });
+    }
+
+    private void retry(Outgoing outgoing, int attempt, Throwable cause) {
+        long backoff = backoffMillis(attempt);
+        log.warn("Sending {} failed, attempt {} in {} ms: {}", describe(outgoing.message()), attempt + 1, backoff,
+                cause.getMessage());
+        retries.increment();
+        try {
+            moveScheduler.schedule(() -> attempt(outgoing, attempt + 1), Instant.now().plusMillis(backoff));
+        } catch (TaskRejectedException e) {
+            log.error("Unable to send {}, retry rejected", describe(outgoing.message()), e);
+            complete(outgoing, cause);
+        }
+    }
+
+    private void complete(Outgoing outgoing, Throwable failure) {
+        inFlight.release();
+        Timer timer = failure == null ? outgoing.timers().success() : outgoing.timers().failure();
+        timer.record(System.nanoTime() - outgoing.startNanos(), TimeUnit.NANOSECONDS);
+        if (failure == null) {
+            outgoing.result().complete(null);
+        } else {
+            outgoing.result().completeExceptionally(failure);
+        }
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String topic, String outcome) {
+        return Timer.builder("game.kafka.send")
+                .description("Time from the first send attempt to acknowledgement or giving up")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private long backoffMillis(int attempt) {
+        double backoff = retryProperties.getInitialInterval() * Math.pow(retryProperties.getMultiplier(), attempt - 1);
+        return (long) Math.min(backoff, retryProperties.getMaxInterval());
+    }
+
+    private static boolean isRetriable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
             }
-        };
+        }
+        return false;
+    }
+
+    /**
+     * Describes a message for logging without its boards.
+     */
+    private static String describe(Object message) {
+        if (message instanceof GameMove move) {
+            return String.format("move %s of game %s", move.getSequence(), move.getGameId());
+        }
+        if (message instanceof GameDto gameDto) {
+            return String.format("game %s %s", gameDto.getId(), gameDto.getStatus());
+        }
+        return String.valueOf(message);
+    }
+
+    private record Outgoing(KafkaTemplate<String, Object> template, String topic, SendTimers timers, String key,
+                            Object message, long startNanos, CompletableFuture<Void> result) {
+    }
+
+    /**
+     * The send timers of one topic, registered once.
+     */
+    private record SendTimers(Timer success, Timer failure) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+package com.example.game.service.kafka;
+
+import com.example.game.config.LockProperties;
+import com.example.game.model.enums.LockMode;
+import com.example.game.service.ActiveGameCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks the partitions assigned to this instance's consumers. Records are keyed by game id, so within a consumer
+ * group the consumer that owns a partition is the only one receiving moves of its games and can apply them without
+ * a distributed lock. Every player consumes in its own group, so the other player's instance still writes the same
+ * games; owned moves are therefore applied under optimistic version checks with retries.
+ * A partition counts as exclusively owned once the configured handover time has passed since its assignment.
+ * Games held in memory are flushed and dropped whenever partitions are taken away.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartitionOwnershipService implements ConsumerAwareRebalanceListener {
+
+    private final LockProperties lockProperties;
+    private final ActiveGameCache activeGameCache;
+    private final Map<TopicPartition, Long> assignedAt = new ConcurrentHashMap<>();
+    private LongSupplier clock = System::nanoTime;
+
+    /**
+     * Checks if moves received on the partition can be applied without the distributed lock.
+     *
+     * @param topic     the topic the record was received on
+     * @param partition the partition the record was received on
+     * @return true in partition-ownership mode when the partition is assigned here and past its handover time
+     */
+    public boolean isExclusiveOwner(String topic, int partition) {
+        if (lockProperties.getMode() != LockMode.PARTITION_OWNERSHIP) {
+            return false;
+        }
+        Long assigned = assignedAt.get(new TopicPartition(topic, partition));
+        return assigned != null
+                && clock.getAsLong() - assigned >= TimeUnit.MILLISECONDS.toNanos(lockProperties.getHandoverMillis());
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        long now = clock.getAsLong();
+        partitions.forEach(partition -> assignedAt.put(partition, now));
+        log.info("Partitions assigned: {}", partitions);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(assignedAt::remove);
+        activeGameCache.flushAndEvictAll();
+        log.info("Partitions revoked: {}", partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        partitions.forEach(assignedAt::remove);
+        activeGameCache.flushAndEvictAll();
+        log.warn("Partitions lost: {}", partitions);
+    }
+
+    void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+}
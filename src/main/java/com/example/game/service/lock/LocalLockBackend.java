@@ -0,0 +1,49 @@
+package com.example.game.service.lock;
+
+import com.example.game.config.LockProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process locks for single-instance deployments and benchmarks: paths are hashed onto a fixed array of
+ * ReentrantLock stripes. Unrelated paths may share a stripe, so nested locks on different paths can time out
+ * against each other; more stripes make that less likely.
+ */
+@Component
+@ConditionalOnProperty(prefix = "game.lock", name = "backend", havingValue = "LOCAL")
+public class LocalLockBackend implements LockBackend {
+
+    private final ReentrantLock[] stripes;
+
+    public LocalLockBackend(LockProperties lockProperties) {
+        int configured = lockProperties.getLocalStripes();
+        int count = configured <= 1 ? 1 : Integer.highestOneBit(configured - 1) << 1;
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "local";
+    }
+
+    @Override
+    public LockHandle tryAcquire(String lockPath, long time, TimeUnit unit) throws InterruptedException {
+        ReentrantLock lock = stripe(lockPath);
+        return lock.tryLock(time, unit) ? lock::unlock : null;
+    }
+
+    int getStripeCount() {
+        return stripes.length;
+    }
+
+    ReentrantLock stripe(String lockPath) {
+        int hash = lockPath.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.game.service.lock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Source of the mutual-exclusion locks {@link com.example.game.service.LockService} runs critical sections under.
+ * Exactly one implementation is active, selected by {@code game.lock.backend}.
+ */
+public interface LockBackend {
+
+    /**
+     * Gets the name the lock metrics of this backend are tagged with.
+     *
+     * @return the backend name
+     */
+    String name();
+
+    /**
+     * Tries to acquire the lock for the given path.
+     *
+     * @param lockPath the path of the lock
+     * @param time     the maximum time to wait for the lock
+     * @param unit     the unit of the time argument
+     * @return a handle releasing the lock, or null if the lock was not acquired in time
+     * @throws Exception if the backend failed while acquiring the lock
+     */
+    LockHandle tryAcquire(String lockPath, long time, TimeUnit unit) throws Exception;
+
+    /**
+     * A held lock; it must be released by the thread that acquired it.
+     */
+    @FunctionalInterface
+    interface LockHandle {
+        void release() throws Exception;
+    }
+}
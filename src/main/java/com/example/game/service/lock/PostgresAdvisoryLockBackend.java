@@ -0,0 +1,79 @@
+package com.example.game.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide locks backed by PostgreSQL session-level advisory locks keyed by a hash of the path.
+ * Every held lock pins one pooled connection until it is released, so the pool must leave room for them
+ * next to the connections transactions use. Locks are not reentrant: each acquisition uses its own session.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "game.lock", name = "backend", havingValue = "POSTGRES")
+public class PostgresAdvisoryLockBackend implements LockBackend {
+
+    static final String LOCK_SQL = "SELECT pg_advisory_lock(hashtextextended(?, 0))";
+    static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(hashtextextended(?, 0))";
+    private static final String LOCK_NOT_AVAILABLE = "55P03";
+
+    private final DataSource dataSource;
+
+    @Override
+    public String name() {
+        return "postgres";
+    }
+
+    @Override
+    public LockHandle tryAcquire(String lockPath, long time, TimeUnit unit) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(true);
+            if (!lock(connection, lockPath, Math.max(1, unit.toMillis(time)))) {
+                connection.close();
+                return null;
+            }
+            return () -> unlock(connection, lockPath);
+        } catch (SQLException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private boolean lock(Connection connection, String lockPath, long timeoutMillis) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET lock_timeout = " + timeoutMillis);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(LOCK_SQL)) {
+            statement.setString(1, lockPath);
+            statement.execute();
+            return true;
+        } catch (SQLException e) {
+            if (LOCK_NOT_AVAILABLE.equals(e.getSQLState())) {
+                return false;
+            }
+            throw e;
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RESET lock_timeout");
+            }
+        }
+    }
+
+    private void unlock(Connection connection, String lockPath) throws SQLException {
+        try (connection; PreparedStatement statement = connection.prepareStatement(UNLOCK_SQL)) {
+            statement.setString(1, lockPath);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.game.service.lock;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.curator.framework.CuratorFramework;
+import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cluster-wide locks backed by Curator's InterProcessMutex. Mutexes are cached per path and shared by all threads
+ * of this instance; the cache is dropped once it grows past {@link #MAX_CACHED_MUTEXES}, which is safe because
+ * holders release through their own reference and ZooKeeper still excludes two mutexes for the same path.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "game.lock", name = "backend", havingValue = "ZOOKEEPER", matchIfMissing = true)
+public class ZookeeperLockBackend implements LockBackend {
+
+    static final int MAX_CACHED_MUTEXES = 10_000;
+
+    private final CuratorFramework curatorFramework;
+    private final ConcurrentMap<String, InterProcessMutex> mutexes = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "zookeeper";
+    }
+
+    @Override
+    public LockHandle tryAcquire(String lockPath, long time, TimeUnit unit) throws Exception {
+        InterProcessMutex mutex = mutex(lockPath);
+        return mutex.acquire(time, unit) ? mutex::release : null;
+    }
+
+    InterProcessMutex mutex(String lockPath) {
+        if (mutexes.size() >= MAX_CACHED_MUTEXES) {
+            mutexes.clear();
+        }
+        return mutexes.computeIfAbsent(lockPath, path -> new InterProcessMutex(curatorFramework, path));
+    }
+}
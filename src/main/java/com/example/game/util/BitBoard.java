@@ -0,0 +1,220 @@
+package com.example.game.util;
+
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Packed representation of a Tic-Tac-Toe board.
+ * Each sign is stored as a bit mask where bit {@code row * SIZE + column} is set when the cell is occupied.
+ * Boards are immutable; {@link String}-based boards are converted only at the Kafka/REST/JPA edges.
+ */
+@Getter
+@EqualsAndHashCode
+public final class BitBoard {
+
+    public static final int SIZE = 3;
+    public static final int CELLS = SIZE * SIZE;
+    public static final int FULL_MASK = (1 << CELLS) - 1;
+    public static final String EMPTY_CELL = "";
+
+    /**
+     * All winning lines: three rows, three columns and both diagonals.
+     */
+    private static final int[] WIN_MASKS = {
+            0b000_000_111, 0b000_111_000, 0b111_000_000,
+            0b001_001_001, 0b010_010_010, 0b100_100_100,
+            0b100_010_001, 0b001_010_100
+    };
+
+    public static final BitBoard EMPTY = new BitBoard(0, 0);
+
+    private final int xMask;
+    private final int oMask;
+
+    private BitBoard(int xMask, int oMask) {
+        this.xMask = xMask;
+        this.oMask = oMask;
+    }
+
+    /**
+     * Creates a board from raw masks.
+     *
+     * @param xMask the cells occupied by X
+     * @param oMask the cells occupied by O
+     * @return the board
+     * @throws IllegalArgumentException if the masks overlap or exceed the board
+     */
+    public static BitBoard of(int xMask, int oMask) {
+        if ((xMask & oMask) != 0 || ((xMask | oMask) & ~FULL_MASK) != 0) {
+            throw new IllegalArgumentException("Invalid board masks: x=" + xMask + ", o=" + oMask);
+        }
+        return new BitBoard(xMask, oMask);
+    }
+
+    /**
+     * Converts a {@code String[][]} board into its packed form.
+     *
+     * @param board the board with "X", "O" or empty cells
+     * @return the packed board
+     * @throws IllegalArgumentException if the board has wrong dimensions or unknown cell values
+     */
+    public static BitBoard fromArray(String[][] board) {
+        if (board == null || board.length != SIZE) {
+            throw new IllegalArgumentException("Board must have " + SIZE + " rows");
+        }
+        int x = 0;
+        int o = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (board[i] == null || board[i].length != SIZE) {
+                throw new IllegalArgumentException("Board row " + i + " must have " + SIZE + " cells");
+            }
+            for (int j = 0; j < SIZE; j++) {
+                String cell = board[i][j];
+                if (cell == null || cell.isEmpty()) {
+                    continue;
+                }
+                int bit = 1 << index(i, j);
+                if (PlayerSign.X.name().equals(cell)) {
+                    x |= bit;
+                } else if (PlayerSign.O.name().equals(cell)) {
+                    o |= bit;
+                } else {
+                    throw new IllegalArgumentException("Unknown cell value: " + cell);
+                }
+            }
+        }
+        return new BitBoard(x, o);
+    }
+
+    /**
+     * Converts the board back into its {@code String[][]} form.
+     *
+     * @return a new board array
+     */
+    public String[][] toArray() {
+        String[][] board = new String[SIZE][SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                board[i][j] = cellValue(index(i, j));
+            }
+        }
+        return board;
+    }
+
+    public static int index(int row, int column) {
+        return row * SIZE + column;
+    }
+
+    public static int row(int index) {
+        return index / SIZE;
+    }
+
+    public static int column(int index) {
+        return index % SIZE;
+    }
+
+    /**
+     * Checks if the given mask contains a complete line.
+     *
+     * @param mask the cells occupied by one sign
+     * @return true if the mask covers any winning line
+     */
+    public static boolean isWin(int mask) {
+        for (int winMask : WIN_MASKS) {
+            if ((mask & winMask) == winMask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int[] winMasks() {
+        return WIN_MASKS.clone();
+    }
+
+    public int mask(PlayerSign sign) {
+        return sign == PlayerSign.X ? xMask : oMask;
+    }
+
+    public int occupiedMask() {
+        return xMask | oMask;
+    }
+
+    public int emptyMask() {
+        return ~occupiedMask() & FULL_MASK;
+    }
+
+    public boolean isEmpty(int index) {
+        return (occupiedMask() & (1 << index)) == 0;
+    }
+
+    public boolean isFull() {
+        return occupiedMask() == FULL_MASK;
+    }
+
+    public boolean hasWon(PlayerSign sign) {
+        return isWin(mask(sign));
+    }
+
+    /**
+     * Returns the sign on the given cell.
+     *
+     * @param index the cell index
+     * @return the sign, or null if the cell is empty
+     */
+    public PlayerSign signAt(int index) {
+        int bit = 1 << index;
+        if ((xMask & bit) != 0) {
+            return PlayerSign.X;
+        }
+        return (oMask & bit) != 0 ? PlayerSign.O : null;
+    }
+
+    /**
+     * Returns a copy of the board with the given cell occupied.
+     *
+     * @param index the cell index
+     * @param sign  the sign to place
+     * @return the new board
+     * @throws IllegalArgumentException if the cell is already occupied
+     */
+    public BitBoard withMove(int index, PlayerSign sign) {
+        int bit = 1 << index;
+        if ((occupiedMask() & bit) != 0) {
+            throw new IllegalArgumentException("Cell " + index + " is already occupied");
+        }
+        return sign == PlayerSign.X ? new BitBoard(xMask | bit, oMask) : new BitBoard(xMask, oMask | bit);
+    }
+
+    /**
+     * Gets the game status of this board.
+     *
+     * @return FINISHED if any sign has a line, DRAW if the board is full, IN_PROGRESS otherwise
+     */
+    public GameStatus status() {
+        if (isWin(xMask) || isWin(oMask)) {
+            return GameStatus.FINISHED;
+        }
+        return isFull() ? GameStatus.DRAW : GameStatus.IN_PROGRESS;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(CELLS + SIZE);
+        for (int i = 0; i < CELLS; i++) {
+            PlayerSign sign = signAt(i);
+            sb.append(sign == null ? '.' : sign.name().charAt(0));
+            if (column(i) == SIZE - 1 && i != CELLS - 1) {
+                sb.append('/');
+            }
+        }
+        return sb.toString();
+    }
+
+    private String cellValue(int index) {
+        PlayerSign sign = signAt(index);
+        return sign == null ? EMPTY_CELL : sign.name();
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.game.util;
 
 import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
 import lombok.experimental.UtilityClass;
 
 import java.util.Arrays;
+import java.util.zip.CRC32C;
 
 /**
  * Utility class for game-related operations.
@@ -11,6 +13,8 @@ import java.util.Arrays;
 @UtilityClass
 public class GameUtil {
 
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
     /**
      * Checks if the board has changed.
      *
@@ -54,62 +58,142 @@ public class GameUtil {
      * @return the current game status
      */
     public GameStatus getCurrentGameStatus(String[][] currentGame) {
-        if (isGameOver(currentGame, "X") || isGameOver(currentGame, "O")) {
-            return GameStatus.FINISHED;
-        }
-
-        if (!isMovesLeft(currentGame)) {
-            return GameStatus.DRAW;
-        }
+        return getCurrentGameStatus(BitBoard.fromArray(currentGame));
+    }
 
+    /**
+     * Gets the current game status based on the packed board state.
+     *
+     * @param currentGame the current state of the game board
+     * @return the current game status
+     */
+    public GameStatus getCurrentGameStatus(BitBoard currentGame) {
+        return currentGame.status();
+    }
 
-        return GameStatus.IN_PROGRESS;
+    /**
+     * Gets the current game status of an m,n,k board by scanning all of it.
+     *
+     * @param currentGame the current state of the game board
+     * @param winLength   the number of signs in a line needed to win
+     * @return the current game status
+     */
+    public GameStatus getCurrentGameStatus(String[][] currentGame, int winLength) {
+        if (isStandardBoard(currentGame, winLength)) {
+            return getCurrentGameStatus(currentGame);
+        }
+        return MnkBoard.fromArray(currentGame, winLength).status();
     }
 
     /**
-     * Checks if the game is over for the given playerSign.
+     * Gets the game status of an m,n,k board right after a move.
+     * Only the four lines through the move are inspected, and the draw check relies on the move count,
+     * so the cost is O(k) regardless of the board size.
      *
-     * @param board  the current state of the game board
-     * @param playerSign the playerSign's sign
-     * @return true if the game is over, false otherwise
+     * @param board     the board including the move
+     * @param winLength the number of signs in a line needed to win
+     * @param row       the row of the last move
+     * @param column    the column of the last move
+     * @param moveCount the number of signs on the board including the move
+     * @return the game status after the move
      */
-    private boolean isGameOver(String[][] board, String playerSign) {
-        // Check lines
-        for (int i = 0; i < 3; i++) {
-            if (board[i][0].equals(playerSign) && board[i][1].equals(playerSign) && board[i][2].equals(playerSign)) {
-                return true;
+    public GameStatus getStatusAfterMove(String[][] board, int winLength, int row, int column, int moveCount) {
+        String sign = board[row][column];
+        for (int[] direction : DIRECTIONS) {
+            int inLine = 1
+                    + countInDirection(board, sign, row, column, direction[0], direction[1], winLength)
+                    + countInDirection(board, sign, row, column, -direction[0], -direction[1], winLength);
+            if (inLine >= winLength) {
+                return GameStatus.FINISHED;
             }
         }
+        return moveCount >= board.length * board[0].length ? GameStatus.DRAW : GameStatus.IN_PROGRESS;
+    }
 
-        // Check columns
-        for (int j = 0; j < 3; j++) {
-            if (board[0][j].equals(playerSign) && board[1][j].equals(playerSign) && board[2][j].equals(playerSign)) {
-                return true;
+    /**
+     * Counts the signs on the board.
+     *
+     * @param board the board
+     * @return the number of non-empty cells
+     */
+    public int countSigns(String[][] board) {
+        int count = 0;
+        for (String[] row : board) {
+            for (String cell : row) {
+                if (cell != null && !cell.isEmpty()) {
+                    count++;
+                }
             }
         }
+        return count;
+    }
 
-        // Check diagonals
-        if (board[0][0].equals(playerSign) && board[1][1].equals(playerSign) && board[2][2].equals(playerSign)) {
-            return true;
+    /**
+     * Checks if the board holds every sign of the other board at the same cell, i.e. is the same game at the same
+     * or a later move.
+     *
+     * @param board the board
+     * @param other the board whose signs are looked for
+     * @return true if both boards have the same shape and no sign of the other board is missing or different
+     */
+    public boolean containsSigns(String[][] board, String[][] other) {
+        if (board.length != other.length) {
+            return false;
+        }
+        for (int i = 0; i < other.length; i++) {
+            if (board[i].length != other[i].length) {
+                return false;
+            }
+            for (int j = 0; j < other[i].length; j++) {
+                String sign = other[i][j];
+                if (sign != null && !sign.isEmpty() && !sign.equals(board[i][j])) {
+                    return false;
+                }
+            }
         }
+        return true;
+    }
 
-        return board[0][2].equals(playerSign) && board[1][1].equals(playerSign) && board[2][0].equals(playerSign);
+    /**
+     * Checks if the board is the classic 3x3 board with three in a row to win.
+     *
+     * @param board     the board
+     * @param winLength the number of signs in a line needed to win
+     * @return true if the board can be handled as a {@link BitBoard}
+     */
+    public boolean isStandardBoard(String[][] board, int winLength) {
+        return winLength == BitBoard.SIZE && board.length == BitBoard.SIZE && board[0].length == BitBoard.SIZE;
     }
 
     /**
-     * Checks if there are moves left on the board.
+     * Computes a CRC-32C of the board's cells and shape, so two instances can check they hold the same board
+     * without exchanging it. Null and blank cells hash alike.
      *
-     * @param board the current state of the game board
-     * @return true if there are moves left, false otherwise
+     * @param board the board
+     * @return the hash of the board
      */
-    private boolean isMovesLeft(String[][] board) {
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                if (board[i][j].isEmpty()) {
-                    return true;
-                }
+    public int boardHash(String[][] board) {
+        CRC32C crc = new CRC32C();
+        for (String[] row : board) {
+            for (String cell : row) {
+                crc.update(PlayerSign.X.name().equals(cell) ? 'X' : PlayerSign.O.name().equals(cell) ? 'O' : '.');
             }
+            crc.update('/');
         }
-        return false;
+        return (int) crc.getValue();
+    }
+
+    private int countInDirection(String[][] board, String sign, int row, int column, int rowStep, int columnStep,
+                                 int limit) {
+        int count = 0;
+        int i = row + rowStep;
+        int j = column + columnStep;
+        while (count < limit - 1 && i >= 0 && i < board.length && j >= 0 && j < board[i].length
+                && sign.equals(board[i][j])) {
+            count++;
+            i += rowStep;
+            j += columnStep;
+        }
+        return count;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,387 @@
+package com.example.game.util;
+
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mutable m,n,k board: {@code rows x columns} cells where {@code winLength} signs in a row, column or diagonal win.
+ * Every window of {@code winLength} consecutive cells keeps a counter per sign that is updated when a sign is placed
+ * or removed, so a move only touches the windows through its cell: O(k) per move instead of a board rescan.
+ * The counters also give an open-line score used by the engine to evaluate positions.
+ */
+public final class MnkBoard {
+
+    public static final byte EMPTY = 0;
+    public static final byte X = 1;
+    public static final byte O = 2;
+
+    private static final Map<Long, Geometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+    private final Geometry geometry;
+    private final byte[] cells;
+    private final int[] xCounts;
+    private final int[] oCounts;
+    /**
+     * Number of occupied cells among the eight neighbours of each cell.
+     */
+    private final byte[] neighbours;
+    private int moveCount;
+    private int xCompleted;
+    private int oCompleted;
+    private long xScore;
+    private long oScore;
+
+    private MnkBoard(Geometry geometry) {
+        this.geometry = geometry;
+        this.cells = new byte[geometry.rows * geometry.columns];
+        this.xCounts = new int[geometry.windowCells.length];
+        this.oCounts = new int[geometry.windowCells.length];
+        this.neighbours = new byte[cells.length];
+    }
+
+    private MnkBoard(MnkBoard source) {
+        this.geometry = source.geometry;
+        this.cells = source.cells.clone();
+        this.xCounts = source.xCounts.clone();
+        this.oCounts = source.oCounts.clone();
+        this.neighbours = source.neighbours.clone();
+        this.moveCount = source.moveCount;
+        this.xCompleted = source.xCompleted;
+        this.oCompleted = source.oCompleted;
+        this.xScore = source.xScore;
+        this.oScore = source.oScore;
+    }
+
+    /**
+     * Creates an empty board.
+     *
+     * @param rows      the number of rows
+     * @param columns   the number of columns
+     * @param winLength the number of signs in a line needed to win
+     * @return the empty board
+     * @throws IllegalArgumentException if the dimensions are not positive or the win length does not fit the board
+     */
+    public static MnkBoard empty(int rows, int columns, int winLength) {
+        return new MnkBoard(geometry(rows, columns, winLength));
+    }
+
+    /**
+     * Creates a board from its {@code String[][]} form.
+     *
+     * @param board     the board with "X", "O" or empty cells
+     * @param winLength the number of signs in a line needed to win
+     * @return the board
+     * @throws IllegalArgumentException if the board is not rectangular or has unknown cell values
+     */
+    public static MnkBoard fromArray(String[][] board, int winLength) {
+        byte[] encoded = encode(board);
+        var result = empty(board.length, board[0].length, winLength);
+        for (int cell = 0; cell < encoded.length; cell++) {
+            if (encoded[cell] != EMPTY) {
+                result.place(cell, encoded[cell]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Encodes a rectangular {@code String[][]} board as one byte per cell in row-major order.
+     *
+     * @param board the board with "X", "O" or empty cells
+     * @return the encoded cells
+     * @throws IllegalArgumentException if the board is not rectangular or has unknown cell values
+     */
+    public static byte[] encode(String[][] board) {
+        if (board == null || board.length == 0 || board[0] == null || board[0].length == 0) {
+            throw new IllegalArgumentException("Board must not be empty");
+        }
+        int columns = board[0].length;
+        byte[] encoded = new byte[board.length * columns];
+        for (int i = 0; i < board.length; i++) {
+            if (board[i] == null || board[i].length != columns) {
+                throw new IllegalArgumentException("Board row " + i + " must have " + columns + " cells");
+            }
+            for (int j = 0; j < columns; j++) {
+                encoded[i * columns + j] = encode(board[i][j]);
+            }
+        }
+        return encoded;
+    }
+
+    public static byte encode(PlayerSign sign) {
+        return sign == PlayerSign.X ? X : O;
+    }
+
+    private static byte encode(String cell) {
+        if (cell == null || cell.isEmpty()) {
+            return EMPTY;
+        }
+        if (PlayerSign.X.name().equals(cell)) {
+            return X;
+        }
+        if (PlayerSign.O.name().equals(cell)) {
+            return O;
+        }
+        throw new IllegalArgumentException("Unknown cell value: " + cell);
+    }
+
+    /**
+     * Creates an independent copy of the board, e.g. for a search running on another thread.
+     *
+     * @return the copy
+     */
+    public MnkBoard copy() {
+        return new MnkBoard(this);
+    }
+
+    /**
+     * Converts the board back into its {@code String[][]} form.
+     *
+     * @return a new board array
+     */
+    public String[][] toArray() {
+        String[][] board = new String[geometry.rows][geometry.columns];
+        for (int cell = 0; cell < cells.length; cell++) {
+            byte value = cells[cell];
+            board[cell / geometry.columns][cell % geometry.columns] =
+                    value == EMPTY ? BitBoard.EMPTY_CELL : (value == X ? PlayerSign.X : PlayerSign.O).name();
+        }
+        return board;
+    }
+
+    /**
+     * Places a sign and updates the counters of every window through the cell.
+     *
+     * @param cell the row-major cell index
+     * @param sign the sign to place
+     * @return the game status after the move
+     * @throws IllegalArgumentException if the cell is already occupied
+     */
+    public GameStatus place(int cell, PlayerSign sign) {
+        return place(cell, encode(sign));
+    }
+
+    /**
+     * Removes the sign from a cell, reverting {@link #place(int, PlayerSign)}.
+     *
+     * @param cell the row-major cell index
+     */
+    public void undo(int cell) {
+        byte sign = cells[cell];
+        if (sign == EMPTY) {
+            return;
+        }
+        cells[cell] = EMPTY;
+        moveCount--;
+        int[] own = sign == X ? xCounts : oCounts;
+        int[] other = sign == X ? oCounts : xCounts;
+        long[] weights = geometry.weights;
+        for (int window : geometry.cellWindows[cell]) {
+            int before = own[window]--;
+            if (before == geometry.winLength) {
+                addCompleted(sign, -1);
+            }
+            if (other[window] == 0) {
+                addScore(sign, weights[before - 1] - weights[before]);
+            } else if (before == 1) {
+                addScore(sign == X ? O : X, weights[other[window]]);
+            }
+        }
+        updateNeighbours(cell, -1);
+    }
+
+    private GameStatus place(int cell, byte sign) {
+        if (cells[cell] != EMPTY) {
+            throw new IllegalArgumentException("Cell " + cell + " is already occupied");
+        }
+        cells[cell] = sign;
+        moveCount++;
+        int[] own = sign == X ? xCounts : oCounts;
+        int[] other = sign == X ? oCounts : xCounts;
+        long[] weights = geometry.weights;
+        for (int window : geometry.cellWindows[cell]) {
+            int after = ++own[window];
+            if (after == geometry.winLength) {
+                addCompleted(sign, 1);
+            }
+            if (other[window] == 0) {
+                addScore(sign, weights[after] - weights[after - 1]);
+            } else if (after == 1) {
+                addScore(sign == X ? O : X, -weights[other[window]]);
+            }
+        }
+        updateNeighbours(cell, 1);
+        return status();
+    }
+
+    /**
+     * Gets the game status.
+     *
+     * @return FINISHED if any sign completed a line, DRAW if the board is full, IN_PROGRESS otherwise
+     */
+    public GameStatus status() {
+        if (xCompleted > 0 || oCompleted > 0) {
+            return GameStatus.FINISHED;
+        }
+        return moveCount == cells.length ? GameStatus.DRAW : GameStatus.IN_PROGRESS;
+    }
+
+    public boolean hasWon(PlayerSign sign) {
+        return (sign == PlayerSign.X ? xCompleted : oCompleted) > 0;
+    }
+
+    /**
+     * Scores the position for the given sign by the windows each side can still complete.
+     * Longer partial lines weigh exponentially more.
+     *
+     * @param sign the sign to score for
+     * @return the own open-line score minus the opponent's
+     */
+    public long evaluate(PlayerSign sign) {
+        return sign == PlayerSign.X ? xScore - oScore : oScore - xScore;
+    }
+
+    public boolean isEmpty(int cell) {
+        return cells[cell] == EMPTY;
+    }
+
+    /**
+     * Checks if an empty cell is next to an occupied one; the engine only considers such cells.
+     *
+     * @param cell the row-major cell index
+     * @return true if the cell is empty and has an occupied neighbour
+     */
+    public boolean isCandidate(int cell) {
+        return cells[cell] == EMPTY && neighbours[cell] > 0;
+    }
+
+    public int getRows() {
+        return geometry.rows;
+    }
+
+    public int getColumns() {
+        return geometry.columns;
+    }
+
+    public int getWinLength() {
+        return geometry.winLength;
+    }
+
+    public int getCellCount() {
+        return cells.length;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    private void addCompleted(byte sign, int delta) {
+        if (sign == X) {
+            xCompleted += delta;
+        } else {
+            oCompleted += delta;
+        }
+    }
+
+    private void addScore(byte sign, long delta) {
+        if (sign == X) {
+            xScore += delta;
+        } else {
+            oScore += delta;
+        }
+    }
+
+    private void updateNeighbours(int cell, int delta) {
+        int row = cell / geometry.columns;
+        int column = cell % geometry.columns;
+        for (int i = Math.max(0, row - 1); i <= Math.min(geometry.rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, column - 1); j <= Math.min(geometry.columns - 1, column + 1); j++) {
+                if (i != row || j != column) {
+                    neighbours[i * geometry.columns + j] += (byte) delta;
+                }
+            }
+        }
+    }
+
+    private static Geometry geometry(int rows, int columns, int winLength) {
+        if (rows <= 0 || columns <= 0 || winLength <= 0 || winLength > Math.max(rows, columns)) {
+            throw new IllegalArgumentException(
+                    String.format("Invalid board geometry: %dx%d with win length %d", rows, columns, winLength));
+        }
+        long key = ((long) rows << 40) | ((long) columns << 20) | winLength;
+        return GEOMETRIES.computeIfAbsent(key, k -> new Geometry(rows, columns, winLength));
+    }
+
+    /**
+     * Windows of a board size, shared by all boards of that size.
+     */
+    private static final class Geometry {
+        private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        private static final long WEIGHT_BASE = 8;
+
+        private final int rows;
+        private final int columns;
+        private final int winLength;
+        private final int[][] windowCells;
+        private final int[][] cellWindows;
+        private final long[] weights;
+
+        private Geometry(int rows, int columns, int winLength) {
+            this.rows = rows;
+            this.columns = columns;
+            this.winLength = winLength;
+            this.windowCells = buildWindows();
+            this.cellWindows = indexWindowsByCell();
+            this.weights = new long[winLength + 1];
+            for (int count = 1; count <= winLength; count++) {
+                weights[count] = count == 1 ? 1 : weights[count - 1] * WEIGHT_BASE;
+            }
+        }
+
+        private int[][] buildWindows() {
+            List<int[]> windows = new ArrayList<>();
+            for (int[] direction : DIRECTIONS) {
+                for (int row = 0; row < rows; row++) {
+                    for (int column = 0; column < columns; column++) {
+                        int endRow = row + direction[0] * (winLength - 1);
+                        int endColumn = column + direction[1] * (winLength - 1);
+                        if (endRow < 0 || endRow >= rows || endColumn < 0 || endColumn >= columns) {
+                            continue;
+                        }
+                        int[] window = new int[winLength];
+                        for (int i = 0; i < winLength; i++) {
+                            window[i] = (row + direction[0] * i) * columns + column + direction[1] * i;
+                        }
+                        windows.add(window);
+                    }
+                }
+            }
+            return windows.toArray(new int[0][]);
+        }
+
+        private int[][] indexWindowsByCell() {
+            int[] sizes = new int[rows * columns];
+            for (int[] window : windowCells) {
+                for (int cell : window) {
+                    sizes[cell]++;
+                }
+            }
+            int[][] index = new int[sizes.length][];
+            for (int cell = 0; cell < sizes.length; cell++) {
+                index[cell] = new int[sizes[cell]];
+                sizes[cell] = 0;
+            }
+            for (int window = 0; window < windowCells.length; window++) {
+                for (int cell : windowCells[window]) {
+                    index[cell][sizes[cell]++] = window;
+                }
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.game.util;
+
+import lombok.experimental.UtilityClass;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for tying side effects to the outcome of the current transaction.
+ */
+@UtilityClass
+public class TransactionUtil {
+
+    /**
+     * Runs the action once the current transaction commits, or right away when no transaction is active.
+     * The action never runs for a transaction that rolls back, e.g. after losing an optimistic version check.
+     *
+     * @param action the action to run
+     */
+    public void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
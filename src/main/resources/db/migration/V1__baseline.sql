@@ -0,0 +1,29 @@
+-- Schema as previously created by ddl-auto: update. Existing databases are baselined at this version.
+CREATE TABLE IF NOT EXISTS game
+(
+    id                    uuid NOT NULL PRIMARY KEY,
+    created_at            timestamp(6),
+    last_played_player_id uuid,
+    winner_player_id      uuid,
+    board                 text,
+    status                varchar(255)
+);
+
+CREATE TABLE IF NOT EXISTS player
+(
+    id              uuid NOT NULL PRIMARY KEY,
+    name            varchar(255),
+    player_sign     varchar(255),
+    current_game_id uuid REFERENCES game (id)
+);
+
+ALTER TABLE game
+    ADD CONSTRAINT fk_game_last_played_player FOREIGN KEY (last_played_player_id) REFERENCES player (id);
+ALTER TABLE game
+    ADD CONSTRAINT fk_game_winner_player FOREIGN KEY (winner_player_id) REFERENCES player (id);
+
+CREATE TABLE IF NOT EXISTS game_players
+(
+    game_id   uuid NOT NULL REFERENCES game (id),
+    player_id uuid NOT NULL REFERENCES player (id)
+);
@@ -0,0 +1,21 @@
+-- Columns and tables added to the entities after the baseline; the defaults fill the rows of existing databases.
+ALTER TABLE game
+    ADD COLUMN IF NOT EXISTS board_rows    integer NOT NULL DEFAULT 3,
+    ADD COLUMN IF NOT EXISTS board_columns integer NOT NULL DEFAULT 3,
+    ADD COLUMN IF NOT EXISTS win_length    integer NOT NULL DEFAULT 3,
+    ADD COLUMN IF NOT EXISTS move_count    integer NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS last_movex    integer,
+    ADD COLUMN IF NOT EXISTS last_movey    integer,
+    ADD COLUMN IF NOT EXISTS version       bigint           DEFAULT 0;
+
+-- MoveLogService: best-effort analytics log of applied moves, never read back to rebuild a game
+CREATE TABLE IF NOT EXISTS game_move
+(
+    game_id    uuid         NOT NULL,
+    sequence   integer      NOT NULL,
+    player_id  uuid         NOT NULL,
+    move_x     integer      NOT NULL,
+    move_y     integer      NOT NULL,
+    created_at timestamp(6) NOT NULL,
+    PRIMARY KEY (game_id, sequence)
+);
@@ -0,0 +1,5 @@
+-- GameRepository.findLastCreatedGame: ORDER BY created_at DESC LIMIT 1 on every GET /game
+CREATE INDEX IF NOT EXISTS idx_game_created_at ON game (created_at DESC);
+
+-- GameRepository.existsInProgressGame: only unfinished games are ever looked up by status, so finished ones stay out
+CREATE INDEX IF NOT EXISTS idx_game_active_status ON game (status) WHERE status IN ('NEW', 'IN_PROGRESS');
@@ -0,0 +1,50 @@
+-- Finished games older than game.archive.min-age-hours are moved here by GameArchiveService.
+-- Monthly partitions on the game's created_at are created by the archiver; the default one only catches NULLs.
+CREATE TABLE IF NOT EXISTS game_archive
+(
+    id                    uuid         NOT NULL,
+    created_at            timestamp(6),
+    last_played_player_id uuid,
+    winner_player_id      uuid,
+    board                 text,
+    board_rows            integer      NOT NULL,
+    board_columns         integer      NOT NULL,
+    win_length            integer      NOT NULL,
+    move_count            integer      NOT NULL,
+    last_movex            integer,
+    last_movey            integer,
+    status                varchar(255),
+    version               bigint,
+    archived_at           timestamp(6) NOT NULL DEFAULT now()
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE IF NOT EXISTS game_players_archive
+(
+    game_id         uuid NOT NULL,
+    player_id       uuid NOT NULL,
+    game_created_at timestamp(6)
+) PARTITION BY RANGE (game_created_at);
+
+CREATE TABLE IF NOT EXISTS game_move_archive
+(
+    game_id         uuid         NOT NULL,
+    sequence        integer      NOT NULL,
+    player_id       uuid         NOT NULL,
+    move_x          integer      NOT NULL,
+    move_y          integer      NOT NULL,
+    created_at      timestamp(6) NOT NULL,
+    game_created_at timestamp(6)
+) PARTITION BY RANGE (game_created_at);
+
+CREATE TABLE IF NOT EXISTS game_archive_default PARTITION OF game_archive DEFAULT;
+CREATE TABLE IF NOT EXISTS game_players_archive_default PARTITION OF game_players_archive DEFAULT;
+CREATE TABLE IF NOT EXISTS game_move_archive_default PARTITION OF game_move_archive DEFAULT;
+
+CREATE INDEX IF NOT EXISTS idx_game_archive_id ON game_archive (id);
+CREATE INDEX IF NOT EXISTS idx_game_players_archive_game_id ON game_players_archive (game_id);
+CREATE INDEX IF NOT EXISTS idx_game_move_archive_game_id ON game_move_archive (game_id, sequence);
+
+-- The archiver scans finished games oldest first; unfinished ones are covered by idx_game_active_status.
+CREATE INDEX IF NOT EXISTS idx_game_finished_created_at ON game (created_at) WHERE status IN ('FINISHED', 'DRAW');
+CREATE INDEX IF NOT EXISTS idx_game_players_game_id ON game_players (game_id);
+CREATE INDEX IF NOT EXISTS idx_player_current_game_id ON player (current_game_id);
@@ -0,0 +1,21 @@
+-- Game and move events written in the transaction that produced them and relayed to Kafka by OutboxRelayService.
+-- available_at delays a move by its think time; sent_at marks rows the broker acknowledged, purged after retention.
+-- Rows failing game.outbox.max-attempts times get parked_at and are skipped until it is reset.
+CREATE TABLE IF NOT EXISTS event_outbox
+(
+    id           bigserial PRIMARY KEY,
+    event_type   varchar(32)  NOT NULL,
+    message_key  varchar(64),
+    payload      text         NOT NULL,
+    created_at   timestamp(6) NOT NULL,
+    available_at timestamp(6) NOT NULL,
+    attempts     integer      NOT NULL DEFAULT 0,
+    sent_at      timestamp(6),
+    parked_at    timestamp(6)
+);
+
+-- OutboxRelayService.SELECT_BATCH_SQL: pending rows in insertion order, sent and parked ones stay out of the index
+CREATE INDEX IF NOT EXISTS idx_event_outbox_pending ON event_outbox (id) WHERE sent_at IS NULL AND parked_at IS NULL;
+
+-- OutboxRelayService.PURGE_SQL: sent rows past the retention
+CREATE INDEX IF NOT EXISTS idx_event_outbox_sent_at ON event_outbox (sent_at) WHERE sent_at IS NOT NULL;
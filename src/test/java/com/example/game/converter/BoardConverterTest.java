@@ -0,0 +1,60 @@
+package com.example.game.converter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoardConverterTest {
+
+    private final BoardConverter boardConverter = new BoardConverter();
+
+    @Test
+    void convertToDatabaseColumn_whenStandardBoard_thenCompactRows() {
+        String[][] board = {{"X", "", ""}, {"", "O", ""}, {"", "", "X"}};
+
+        assertEquals("X../.O./..X", boardConverter.convertToDatabaseColumn(board));
+    }
+
+    @Test
+    void convertToDatabaseColumn_whenCellsMissing_thenWritesEmptyCells() {
+        assertEquals(".../.../...", boardConverter.convertToDatabaseColumn(new String[3][3]));
+    }
+
+    @Test
+    void convertToDatabaseColumn_whenUnknownSign_thenThrowsException() {
+        String[][] board = {{"Z"}};
+
+        assertThrows(IllegalArgumentException.class, () -> boardConverter.convertToDatabaseColumn(board));
+    }
+
+    @Test
+    void convertToEntityAttribute_whenCompactColumn_thenRoundTripsRectangularBoard() {
+        String[][] board = {{"X", "", "", "O"}, {"", "O", "X", ""}};
+
+        String[][] result = boardConverter.convertToEntityAttribute(boardConverter.convertToDatabaseColumn(board));
+
+        assertArrayEquals(board, result);
+    }
+
+    @Test
+    void convertToEntityAttribute_whenLegacyJson_thenReadsBoard() {
+        String[][] result = boardConverter.convertToEntityAttribute("[[\"X\",\"\",\"\"],[\"\",\"O\",\"\"],[\"\",\"\",\"\"]]");
+
+        assertArrayEquals(new String[][]{{"X", "", ""}, {"", "O", ""}, {"", "", ""}}, result);
+    }
+
+    @Test
+    void convertToEntityAttribute_whenNullOrEmpty_thenNullOrEmptyBoard() {
+        assertNull(boardConverter.convertToEntityAttribute(null));
+        assertNull(boardConverter.convertToDatabaseColumn(null));
+        assertEquals(0, boardConverter.convertToEntityAttribute("").length);
+    }
+
+    @Test
+    void convertToEntityAttribute_whenUnknownCell_thenThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> boardConverter.convertToEntityAttribute("X?."));
+    }
+}
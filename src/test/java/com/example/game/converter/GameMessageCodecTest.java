@@ -0,0 +1,80 @@
+package com.example.game.converter;
+
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameMessageCodecTest {
+
+    @Test
+    void encode_whenGameMove_thenRoundTripsWithoutBoards() {
+        GameMove move = GameMove.builder()
+                .gameId(UUID.randomUUID())
+                .playerId(UUID.randomUUID())
+                .sign(PlayerSign.O)
+                .moveX(1)
+                .moveY(2)
+                .sequence(4)
+                .boardHash(-123456789)
+                .previousBoard(new String[3][3])
+                .newBoard(new String[3][3])
+                .build();
+
+        byte[] data = GameMessageCodec.encode(move);
+        GameMove decoded = (GameMove) GameMessageCodec.decode(data);
+
+        assertEquals(52, data.length);
+        assertThat(decoded).usingRecursiveComparison().ignoringFields("previousBoard", "newBoard").isEqualTo(move);
+        assertNull(decoded.getPreviousBoard());
+        assertNull(decoded.getNewBoard());
+    }
+
+    @Test
+    void encode_whenFieldsMissing_thenOmitsThem() {
+        GameMove move = GameMove.builder().gameId(UUID.randomUUID()).moveX(0).moveY(0).build();
+
+        byte[] data = GameMessageCodec.encode(move);
+
+        assertEquals(3 + 16 + 4 + 4, data.length);
+        assertEquals(move, GameMessageCodec.decode(data));
+    }
+
+    @Test
+    void encode_whenGameDto_thenRoundTrips() {
+        GameDto gameDto = new GameDto(UUID.randomUUID(), GameStatus.IN_PROGRESS, UUID.randomUUID());
+
+        assertEquals(gameDto, GameMessageCodec.decode(GameMessageCodec.encode(gameDto)));
+        assertEquals(new GameDto(null, GameStatus.NEW, null),
+                GameMessageCodec.decode(GameMessageCodec.encode(new GameDto(null, GameStatus.NEW, null))));
+    }
+
+    @Test
+    void supports_whenOtherMessage_thenFalse() {
+        assertTrue(GameMessageCodec.supports(new GameMove()));
+        assertFalse(GameMessageCodec.supports("game"));
+        assertThrows(IllegalArgumentException.class, () -> GameMessageCodec.encode("game"));
+    }
+
+    @Test
+    void decode_whenMalformed_thenThrowsException() {
+        byte[] data = GameMessageCodec.encode(new GameDto(UUID.randomUUID(), GameStatus.NEW, null));
+        byte[] unknownVersion = data.clone();
+        unknownVersion[0] = 9;
+
+        assertThrows(IllegalArgumentException.class,
+                () -> GameMessageCodec.decode(Arrays.copyOf(data, data.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> GameMessageCodec.decode(unknownVersion));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.game.converter;
+
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.model.enums.WireFormat;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class GameMessageSerializerTest {
+
+    private static final String TOPIC = "game-moves";
+
+    private GameMove move;
+    private GameMessageDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        move = GameMove.builder()
+                .gameId(UUID.randomUUID())
+                .playerId(UUID.randomUUID())
+                .sign(PlayerSign.X)
+                .moveX(0)
+                .moveY(1)
+                .sequence(1)
+                .boardHash(42)
+                .build();
+        deserializer = new GameMessageDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TYPE_MAPPINGS, "gameMove:com.example.game.model.GameMove",
+                JsonDeserializer.TRUSTED_PACKAGES, "com.example.game.model"), false);
+    }
+
+    @Test
+    void serialize_whenBinary_thenMarksContentTypeAndDeserializerDecodesIt() {
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer(WireFormat.BINARY).serialize(TOPIC, headers, move);
+
+        assertNotNull(headers.lastHeader(GameMessageCodec.CONTENT_TYPE_HEADER));
+        assertEquals(move, deserializer.deserialize(TOPIC, headers, data));
+    }
+
+    @Test
+    void serialize_whenJson_thenDeserializerReadsJson() {
+        Headers headers = new RecordHeaders();
+
+        byte[] data = serializer(WireFormat.JSON).serialize(TOPIC, headers, move);
+
+        assertNull(headers.lastHeader(GameMessageCodec.CONTENT_TYPE_HEADER));
+        assertEquals(move, deserializer.deserialize(TOPIC, headers, data));
+    }
+
+    private static GameMessageSerializer serializer(WireFormat wireFormat) {
+        GameMessageSerializer serializer = new GameMessageSerializer();
+        serializer.configure(Map.of(GameMessageSerializer.WIRE_FORMAT_CONFIG, wireFormat.name(),
+                JsonSerializer.TYPE_MAPPINGS, "gameMove:com.example.game.model.GameMove"), false);
+        return serializer;
+    }
+}
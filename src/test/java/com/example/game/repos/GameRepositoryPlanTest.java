@@ -0,0 +1,160 @@
+package com.example.game.repos;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the plans and statement counts of the game lookups on a table of a million finished games. The plans are
+ * those of the statements Hibernate actually issues, captured by a statement inspector.
+ * Needs Docker and is skipped without it.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.game.repos.GameRepositoryPlanTest$CapturingStatementInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class GameRepositoryPlanTest {
+
+    private static final int FINISHED_GAMES = 1_000_000;
+    /**
+     * Executions after which pgjdbc switches a statement to a server-side prepared statement.
+     */
+    private static final int PGJDBC_PREPARE_THRESHOLD = 5;
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID lastGameId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("INSERT INTO game (id, created_at, board, status, version)"
+                + " SELECT gen_random_uuid(), now() - make_interval(secs => n), '.../.../...', 'FINISHED', 0"
+                + " FROM generate_series(1, ?) AS n", FINISHED_GAMES);
+        lastGameId = UUID.randomUUID();
+        UUID playerId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO game (id, created_at, board, status, version)"
+                + " VALUES (?, now(), 'X../.../...', 'IN_PROGRESS', 0)", lastGameId);
+        jdbcTemplate.update("INSERT INTO player (id, name, player_sign, current_game_id) VALUES (?, 'x', 'X', ?)",
+                playerId, lastGameId);
+        jdbcTemplate.update("UPDATE game SET last_played_player_id = ? WHERE id = ?", playerId, lastGameId);
+        jdbcTemplate.execute("ANALYZE game");
+    }
+
+    @Test
+    void findLastCreatedGame_whenMillionsOfFinishedGames_thenOneIndexScan() {
+        Statistics statistics = statistics();
+        assertThat(gameRepository.findLastCreatedGame()).hasValueSatisfying(game -> {
+            assertThat(game.getId()).isEqualTo(lastGameId);
+            assertThat(game.getLastPlayedPlayer().getName()).isEqualTo("x");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(plan(CapturingStatementInspector.last()))
+                .contains("idx_game_created_at")
+                .doesNotContainPattern("Seq Scan on game\\b");
+    }
+
+    @Test
+    void existsInProgressGame_whenMillionsOfFinishedGames_thenGenericPlanUsesPartialIndex() {
+        Statistics statistics = statistics();
+        for (int i = 0; i <= PGJDBC_PREPARE_THRESHOLD; i++) {
+            assertThat(gameRepository.existsInProgressGame()).isTrue();
+        }
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(PGJDBC_PREPARE_THRESHOLD + 1);
+
+        String sql = CapturingStatementInspector.last();
+        assertThat(sql).doesNotContain("?");
+        assertThat(genericPlan(sql))
+                .contains("idx_game_active_status")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Explains a captured statement, binding the given values to its first parameters and 1 to the remaining
+     * ones, which are the row limits Hibernate binds as parameters.
+     */
+    private String plan(String sql, Object... parameters) {
+        Object[] values = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        Arrays.fill(values, 1);
+        System.arraycopy(parameters, 0, values, 0, parameters.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, values));
+    }
+
+    /**
+     * Explains a statement without parameters as a server-side prepared statement planned generically, as Postgres
+     * may plan it once pgjdbc switched to a prepared statement.
+     */
+    private String genericPlan(String sql) {
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+        jdbcTemplate.execute("PREPARE generic_plan AS " + sql);
+        try {
+            return String.join("\n", jdbcTemplate.queryForList("EXPLAIN EXECUTE generic_plan", String.class));
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE generic_plan");
+        }
+    }
+
+    private Statistics statistics() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        CapturingStatementInspector.STATEMENTS.clear();
+        return statistics;
+    }
+
+    /**
+     * Records the SQL of every statement Hibernate prepares.
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        static String last() {
+            assertThat(STATEMENTS).isNotEmpty();
+            return STATEMENTS.get(STATEMENTS.size() - 1);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
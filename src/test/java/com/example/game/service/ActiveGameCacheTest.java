@@ -0,0 +1,232 @@
+package com.example.game.service;
+
+import com.example.game.config.WriteBehindProperties;
+import com.example.game.exception.EntityNotFoundException;
+import com.example.game.model.entity.Game;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.repos.GameRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ActiveGameCacheTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ActiveGameCache activeGameCache;
+    private UUID gameId;
+    private Game stored;
+
+    @BeforeEach
+    void setUp() {
+        activeGameCache = new ActiveGameCache(gameRepository, new WriteBehindProperties(), transactionManager);
+        gameId = UUID.randomUUID();
+        stored = newGame();
+    }
+
+    @Test
+    void getGame_whenCalledTwice_thenLoadsOnce() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+
+        Game game = activeGameCache.getGame(gameId);
+
+        assertSame(game, activeGameCache.getGame(gameId));
+        verify(gameRepository, times(1)).findById(gameId);
+    }
+
+    @Test
+    void getGame_whenMissing_thenThrowsException() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> activeGameCache.getGame(gameId));
+    }
+
+    @Test
+    void update_whenInProgress_thenWritesLatestStateOnFlushOnly() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.setMoveCount(1);
+        activeGameCache.update(game);
+        game.getBoard()[1][1] = "O";
+        game.setMoveCount(2);
+        activeGameCache.update(game);
+        verify(gameRepository, never()).findAllById(any());
+
+        activeGameCache.flush();
+
+        assertThat(stored.getBoard()[0][0]).isEqualTo("X");
+        assertThat(stored.getBoard()[1][1]).isEqualTo("O");
+        assertThat(stored.getMoveCount()).isEqualTo(2);
+        verify(transactionManager).commit(any());
+
+        activeGameCache.flush();
+        verify(gameRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void update_whenGameFinished_thenWritesImmediatelyAndEvicts() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()), Optional.of(newGame()));
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.setStatus(GameStatus.FINISHED);
+        activeGameCache.update(game);
+
+        assertThat(stored.getStatus()).isEqualTo(GameStatus.FINISHED);
+        activeGameCache.getGame(gameId);
+        verify(gameRepository, times(2)).findById(gameId);
+    }
+
+    @Test
+    void update_whenFinishedGameDivergedFromStored_thenThrowsAndEvicts() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()), Optional.of(newGame()));
+        stored.setVersion(1L);
+        stored.getBoard()[0][0] = "O";
+        stored.setMoveCount(1);
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.setMoveCount(1);
+        game.setStatus(GameStatus.FINISHED);
+        assertThrows(OptimisticLockingFailureException.class, () -> activeGameCache.update(game));
+
+        assertThat(stored.getStatus()).isEqualTo(GameStatus.IN_PROGRESS);
+        activeGameCache.getGame(gameId);
+        verify(gameRepository, times(2)).findById(gameId);
+    }
+
+    @Test
+    void flush_whenUpdatedElsewhereWithEarlierMove_thenWritesMovesAppliedHereOnTop() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+        stored.setVersion(1L);
+        stored.getBoard()[0][0] = "X";
+        stored.setMoveCount(1);
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.getBoard()[1][1] = "O";
+        game.setMoveCount(2);
+        activeGameCache.update(game);
+        activeGameCache.flush();
+
+        assertThat(stored.getBoard()[1][1]).isEqualTo("O");
+        assertThat(stored.getMoveCount()).isEqualTo(2);
+        assertSame(game, activeGameCache.getGame(gameId));
+        verify(gameRepository, times(1)).findById(gameId);
+    }
+
+    @Test
+    void flush_whenUpdatedElsewhereWithLaterMove_thenTakesOverStoredGame() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+        stored.setVersion(2L);
+        stored.getBoard()[0][0] = "X";
+        stored.getBoard()[1][1] = "O";
+        stored.setMoveCount(2);
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.setMoveCount(1);
+        activeGameCache.update(game);
+        activeGameCache.flush();
+
+        assertThat(stored.getMoveCount()).isEqualTo(2);
+        assertSame(stored, activeGameCache.getGame(gameId));
+        verify(gameRepository, times(1)).findById(gameId);
+        activeGameCache.update(game);
+        activeGameCache.flush();
+        verify(gameRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void flush_whenBoardsDiverged_thenSkipsWriteAndEvicts() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()), Optional.of(newGame()));
+        stored.setVersion(1L);
+        stored.getBoard()[0][0] = "O";
+        stored.setMoveCount(1);
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.setMoveCount(1);
+        activeGameCache.update(game);
+        activeGameCache.flush();
+
+        assertThat(stored.getBoard()[0][0]).isEqualTo("O");
+        activeGameCache.getGame(gameId);
+        verify(gameRepository, times(2)).findById(gameId);
+    }
+
+    @Test
+    void flush_whenVersionCheckFailsOnCommit_thenMergesOnNextFlush() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(stored));
+        doThrow(new OptimisticLockingFailureException("version changed")).doNothing()
+                .when(transactionManager).commit(any());
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        game.setMoveCount(1);
+        activeGameCache.update(game);
+        activeGameCache.flush();
+        activeGameCache.flush();
+
+        verify(gameRepository, times(2)).findAllById(any());
+        assertSame(game, activeGameCache.getGame(gameId));
+    }
+
+    @Test
+    void flush_whenWriteFails_thenRetriesOnNextFlush() {
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(newGame()));
+        when(gameRepository.findAllById(Set.of(gameId)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(List.of(stored));
+        Game game = activeGameCache.getGame(gameId);
+
+        game.getBoard()[0][0] = "X";
+        activeGameCache.update(game);
+        activeGameCache.flush();
+        activeGameCache.flush();
+
+        assertThat(stored.getBoard()[0][0]).isEqualTo("X");
+    }
+
+    private Game newGame() {
+        Game game = new Game();
+        game.setId(gameId);
+        game.setVersion(0L);
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setBoard(new String[][]{{"", "", ""}, {"", "", ""}, {"", "", ""}});
+        return game;
+    }
+}
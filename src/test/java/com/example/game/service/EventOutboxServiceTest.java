@@ -0,0 +1,92 @@
+package com.example.game.service;
+
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.kafka.KafkaSenderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class EventOutboxServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private KafkaSenderService kafkaSenderService;
+
+    private OutboxProperties outboxProperties;
+    private EventOutboxService eventOutboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        eventOutboxService = new EventOutboxService(jdbcTemplate, outboxProperties, kafkaSenderService);
+    }
+
+    @Test
+    void publishGame_whenEnabled_thenStoresEventInsteadOfSending() throws Exception {
+        GameDto gameDto = new GameDto(UUID.randomUUID(), GameStatus.IN_PROGRESS, UUID.randomUUID());
+
+        eventOutboxService.publishGame(gameDto);
+
+        MapSqlParameterSource parameters = captureInsert();
+        assertThat(parameters.getValue("eventType")).isEqualTo("GAME");
+        assertThat(parameters.getValue("messageKey")).isEqualTo(gameDto.getId().toString());
+        assertThat(new ObjectMapper().readValue((String) parameters.getValue("payload"), GameDto.class))
+                .isEqualTo(gameDto);
+        assertThat(parameters.getValue("availableAt")).isEqualTo(parameters.getValue("createdAt"));
+        verifyNoInteractions(kafkaSenderService);
+    }
+
+    @Test
+    void publishGame_whenDisabled_thenSendsDirectly() {
+        outboxProperties.setEnabled(false);
+        GameDto gameDto = new GameDto(UUID.randomUUID(), GameStatus.NEW, null);
+
+        eventOutboxService.publishGame(gameDto);
+
+        verify(kafkaSenderService).sendGame(gameDto);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void publishGameMove_whenCalled_thenMakesMoveAvailableAfterDelay() throws Exception {
+        GameMove gameMove = GameMove.builder().gameId(UUID.randomUUID()).playerId(UUID.randomUUID())
+                .sign(PlayerSign.X).moveX(1).moveY(2).sequence(3).build();
+
+        eventOutboxService.publishGameMove(gameMove, 1500);
+
+        MapSqlParameterSource parameters = captureInsert();
+        assertThat(parameters.getValue("eventType")).isEqualTo("GAME_MOVE");
+        assertThat(new ObjectMapper().readValue((String) parameters.getValue("payload"), GameMove.class))
+                .isEqualTo(gameMove);
+        assertThat(Duration.between((LocalDateTime) parameters.getValue("createdAt"),
+                (LocalDateTime) parameters.getValue("availableAt"))).isEqualTo(Duration.ofMillis(1500));
+    }
+
+    private MapSqlParameterSource captureInsert() {
+        ArgumentCaptor<MapSqlParameterSource> parameters = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).update(eq(EventOutboxService.INSERT_SQL), parameters.capture());
+        return parameters.getValue();
+    }
+}
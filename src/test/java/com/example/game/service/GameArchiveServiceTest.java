@@ -0,0 +1,193 @@
+package com.example.game.service;
+
+import com.example.game.config.ArchiveProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameArchiveServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcOperations jdbcOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArchiveProperties archiveProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private GameArchiveService gameArchiveService;
+    private List<List<UUID>> selectedBatches;
+
+    @BeforeEach
+    void setUp() {
+        archiveProperties = new ArchiveProperties();
+        archiveProperties.setBatchSize(2);
+        archiveProperties.setMaxBatchesPerRun(3);
+        archiveProperties.setBatchPauseMillis(0);
+        meterRegistry = new SimpleMeterRegistry();
+        gameArchiveService = new GameArchiveService(jdbcTemplate, archiveProperties, transactionManager,
+                meterRegistry);
+        selectedBatches = new ArrayList<>();
+        lenient().when(jdbcTemplate.getJdbcOperations()).thenReturn(jdbcOperations);
+    }
+
+    @Test
+    void archive_whenDisabled_thenDoesNothing() {
+        archiveProperties.setEnabled(false);
+
+        assertThat(gameArchiveService.archive()).isZero();
+
+        verifyNoInteractions(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void archive_whenBacklogExceedsRun_thenStopsAfterMaxBatches() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 9, 15, 12, 0);
+        stubBatches(List.of(createdAt, createdAt), List.of(createdAt, createdAt), List.of(createdAt, createdAt),
+                List.of(createdAt, createdAt));
+
+        assertThat(gameArchiveService.archive()).isEqualTo(6);
+
+        assertThat(selectedBatches).hasSize(3);
+        verify(jdbcTemplate, times(3)).update(eq(GameArchiveService.DELETE_GAMES_SQL), anyMap());
+        assertThat(meterRegistry.get("game.archive.games").counter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get("game.archive.batch").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void archive_whenPartialBatch_thenMovesGameRowsAndStops() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 9, 15, 12, 0);
+        stubBatches(List.of(createdAt));
+
+        assertThat(gameArchiveService.archive()).isEqualTo(1);
+
+        Map<String, List<UUID>> ids = Map.of("ids", selectedBatches.get(0));
+        for (String sql : List.of(GameArchiveService.ARCHIVE_GAMES_SQL, GameArchiveService.ARCHIVE_PLAYERS_SQL,
+                GameArchiveService.ARCHIVE_MOVES_SQL, GameArchiveService.RELEASE_PLAYERS_SQL,
+                GameArchiveService.DELETE_PLAYERS_SQL, GameArchiveService.DELETE_MOVES_SQL,
+                GameArchiveService.DELETE_GAMES_SQL)) {
+            verify(jdbcTemplate).update(sql, ids);
+        }
+        verify(jdbcOperations).execute("CREATE TABLE IF NOT EXISTS game_archive_p202609 PARTITION OF game_archive"
+                + " FOR VALUES FROM ('2026-09-01') TO ('2026-10-01')");
+        verify(jdbcOperations, times(3)).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+
+    @Test
+    void archive_whenPartitionCreatedBefore_thenDoesNotCreateItAgain() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 9, 15, 12, 0);
+        stubBatches(List.of(createdAt), List.of(createdAt));
+
+        gameArchiveService.archive();
+        gameArchiveService.archive();
+
+        verify(jdbcOperations, times(3)).execute(startsWith("CREATE TABLE IF NOT EXISTS"));
+    }
+
+    @Test
+    void archive_whenBatchFails_thenStopsRunWithoutCounting() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 9, 15, 12, 0);
+        stubBatches(List.of(createdAt, createdAt));
+        when(jdbcTemplate.update(eq(GameArchiveService.DELETE_GAMES_SQL), anyMap()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        assertThat(gameArchiveService.archive()).isZero();
+
+        assertThat(selectedBatches).hasSize(1);
+        assertThat(meterRegistry.get("game.archive.games").counter().count()).isZero();
+    }
+
+    @Test
+    void archive_whenDetachConfigured_thenDetachesOnlyExpiredPartitions() {
+        archiveProperties.setDetachAfterMonths(3);
+        stubBatches();
+        YearMonth expired = YearMonth.now().minusMonths(5);
+        YearMonth retained = YearMonth.now().minusMonths(2);
+        for (String table : GameArchiveService.ARCHIVE_TABLES) {
+            when(jdbcTemplate.queryForList(GameArchiveService.PARTITIONS_SQL, Map.of("table", table), String.class))
+                    .thenReturn(List.of(table + "_default", partition(table, expired), partition(table, retained)));
+        }
+
+        gameArchiveService.archive();
+
+        for (String table : GameArchiveService.ARCHIVE_TABLES) {
+            verify(jdbcOperations).execute("ALTER TABLE " + table + " DETACH PARTITION " + partition(table, expired));
+            verify(jdbcOperations, never()).execute(
+                    "ALTER TABLE " + table + " DETACH PARTITION " + partition(table, retained));
+        }
+        assertThat(meterRegistry.get("game.archive.partitions.detached").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void archive_whenGamesRemain_thenPublishesLag() {
+        stubBatches();
+        when(jdbcTemplate.queryForObject(eq(GameArchiveService.OLDEST_SQL), anyMap(), eq(LocalDateTime.class)))
+                .thenReturn(LocalDateTime.now().minusHours(30));
+
+        gameArchiveService.archive();
+
+        assertThat(meterRegistry.get("game.archive.lag").gauge().value()).isBetween(30 * 3600.0, 30 * 3600.0 + 60);
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubBatches(List<LocalDateTime>... batches) {
+        var answer = when(jdbcTemplate.query(eq(GameArchiveService.SELECT_BATCH_SQL), anyMap(), any(RowMapper.class)));
+        for (List<LocalDateTime> batch : batches) {
+            answer = answer.thenAnswer(invocation -> mapRows(invocation.getArgument(2), batch));
+        }
+        answer.thenReturn(List.of());
+    }
+
+    private List<Object> mapRows(RowMapper<?> rowMapper, List<LocalDateTime> createdAts) throws Exception {
+        List<Object> rows = new ArrayList<>();
+        List<UUID> ids = new ArrayList<>();
+        for (LocalDateTime createdAt : createdAts) {
+            UUID id = UUID.randomUUID();
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.getObject("id", UUID.class)).thenReturn(id);
+            when(resultSet.getObject("created_at", LocalDateTime.class)).thenReturn(createdAt);
+            rows.add(rowMapper.mapRow(resultSet, rows.size()));
+            ids.add(id);
+        }
+        selectedBatches.add(ids);
+        return rows;
+    }
+
+    private static String partition(String table, YearMonth month) {
+        return String.format("%s_p%d%02d", table, month.getYear(), month.getMonthValue());
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.game.service;
 
 
+import com.example.game.config.EngineProperties;
+import com.example.game.model.SearchResult;
 import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.engine.PerfectPlayTable;
+import com.example.game.service.engine.SearchPool;
+import com.example.game.service.engine.TranspositionTable;
+import com.example.game.util.BitBoard;
+import com.example.game.util.MnkBoard;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -12,11 +22,16 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GameLogicServiceTest {
+    private static final long FULL_TREE_NODES = 549_945;
+    private static final PerfectPlayTable PERFECT_PLAY_TABLE = new PerfectPlayTable();
+    private EngineProperties engineProperties;
     private GameLogicService gameLogicService;
 
     @BeforeEach
     void setUp() {
-        gameLogicService = new GameLogicService();
+        engineProperties = new EngineProperties();
+        gameLogicService = new GameLogicService(engineProperties, PERFECT_PLAY_TABLE,
+                new TranspositionTable(engineProperties), new SearchPool(engineProperties));
     }
 
     @Test
@@ -90,4 +105,137 @@ class GameLogicServiceTest {
             gameLogicService.findBestMove(board, PlayerSign.X);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void search_whenBoardIsEmpty_thenKeepsAllDrawingMovesWithPrunedTree() {
+        SearchResult result = gameLogicService.search(BitBoard.EMPTY, PlayerSign.X);
+
+        assertEquals(9, result.getBestMoves().size());
+        assertEquals(0, result.getScore());
+        assertTrue(result.getNodes() < FULL_TREE_NODES / 10, "Visited " + result.getNodes() + " nodes");
+        assertEquals(result.getNodes(), gameLogicService.getSearchedNodes());
+    }
+
+    @Test
+    void findBestMove_whenSearchDepthIsLimited_thenStillTakesWinningMove() {
+        engineProperties.setMaxSearchDepth(1);
+        engineProperties.setPerfectPlayTable(false);
+        String[][] board = {
+                {"X", "O", "X"},
+                {"", "O", ""},
+                {"X", "", ""}
+        };
+        int[] bestMove = gameLogicService.findBestMove(board, PlayerSign.O);
+        assertArrayEquals(new int[]{2, 1}, bestMove);
+    }
+
+    @Test
+    void findBestMove_whenLargeBoardHasOpenFour_thenCompletesFive() {
+        String[][] board = emptyBoard(15);
+        for (int j = 5; j < 9; j++) {
+            board[7][j] = "X";
+        }
+        board[6][6] = "O";
+        board[8][8] = "O";
+        board[6][8] = "O";
+
+        int[] bestMove = gameLogicService.findBestMove(board, 5, PlayerSign.X);
+
+        assertTrue(bestMove[0] == 7 && (bestMove[1] == 4 || bestMove[1] == 9));
+    }
+
+    @Test
+    void findBestMove_whenLargeBoardOpponentHasFour_thenBlocks() {
+        String[][] board = emptyBoard(15);
+        for (int i = 3; i < 7; i++) {
+            board[i][10] = "X";
+        }
+        board[2][10] = "O";
+        board[7][7] = "O";
+        board[8][8] = "O";
+
+        int[] bestMove = gameLogicService.findBestMove(board, 5, PlayerSign.O);
+
+        assertArrayEquals(new int[]{7, 10}, bestMove);
+    }
+
+    @Test
+    void findRandomMove_whenLargeBoard_thenReturnsEmptyCell() {
+        String[][] board = emptyBoard(4);
+        for (String[] row : board) {
+            Arrays.fill(row, "X");
+        }
+        board[3][1] = "";
+
+        assertArrayEquals(new int[]{3, 1}, gameLogicService.findRandomMove(board));
+    }
+
+    @Test
+    void search_whenParallel_thenFindsSameBestMovesAsSequentialSearch() {
+        var parallelProperties = new EngineProperties();
+        parallelProperties.setSearchThreads(4);
+        var searchPool = new SearchPool(parallelProperties);
+        var parallelService = new GameLogicService(parallelProperties, PERFECT_PLAY_TABLE,
+                new TranspositionTable(parallelProperties), searchPool);
+        BitBoard[] boards = {
+                BitBoard.EMPTY,
+                BitBoard.of(1 << 4, 0),
+                BitBoard.of(1 << 4, 1),
+                BitBoard.of(1 | 1 << 8, 1 << 4),
+                BitBoard.of(1 << 1 | 1 << 3, 1 << 4 | 1 << 6)
+        };
+        try {
+            for (BitBoard board : boards) {
+                PlayerSign sign = Integer.bitCount(board.getXMask()) > Integer.bitCount(board.getOMask())
+                        ? PlayerSign.O : PlayerSign.X;
+                SearchResult sequential = gameLogicService.search(board, sign);
+                SearchResult parallel = parallelService.search(board, sign);
+
+                assertEquals(sequential.getScore(), parallel.getScore(), board.toString());
+                assertEquals(toCells(sequential), toCells(parallel), board.toString());
+            }
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+
+    @Test
+    void search_whenParallelOnLargeBoard_thenFindsSameBestMovesAsSequentialSearch() {
+        engineProperties.setLargeBoardSearchDepth(3);
+        var parallelProperties = new EngineProperties();
+        parallelProperties.setLargeBoardSearchDepth(3);
+        parallelProperties.setSearchThreads(4);
+        var searchPool = new SearchPool(parallelProperties);
+        var parallelService = new GameLogicService(parallelProperties, PERFECT_PLAY_TABLE,
+                new TranspositionTable(parallelProperties), searchPool);
+        var board = MnkBoard.empty(9, 9, 4);
+        board.place(40, PlayerSign.X);
+        board.place(41, PlayerSign.O);
+        board.place(31, PlayerSign.X);
+
+        try {
+            SearchResult sequential = gameLogicService.search(board, PlayerSign.O);
+            SearchResult parallel = parallelService.search(board, PlayerSign.O);
+
+            assertEquals(sequential.getScore(), parallel.getScore());
+            assertEquals(toCells(sequential), toCells(parallel));
+            assertEquals(3, board.getMoveCount());
+        } finally {
+            searchPool.shutdown();
+        }
+    }
+
+    private static List<List<Integer>> toCells(SearchResult result) {
+        return result.getBestMoves().stream()
+                .map(move -> List.of(move[0], move[1]))
+                .toList();
+    }
+
+    private static String[][] emptyBoard(int size) {
+        String[][] board = new String[size][size];
+        for (String[] row : board) {
+            Arrays.fill(row, "");
+        }
+        return board;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.game.service;
 
+import com.example.game.config.BoardProperties;
 import com.example.game.exception.EntityNotFoundException;
 import com.example.game.exception.GameAlreadyExistsException;
 import com.example.game.model.GameDto;
@@ -8,12 +9,13 @@ import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
 import com.example.game.model.enums.GameStatus;
 import com.example.game.repos.GameRepository;
-import com.example.game.service.kafka.KafkaSenderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -27,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +39,14 @@ class GameServiceTest {
     private GameRepository gameRepository;
 
     @Mock
-    private KafkaSenderService kafkaSenderService;
+    private EventOutboxService eventOutboxService;
 
     @Mock
     private LockService lockService;
 
+    @Spy
+    private BoardProperties boardProperties = new BoardProperties();
+
     @InjectMocks
     private GameService gameService;
 
@@ -92,20 +98,38 @@ class GameServiceTest {
 
     @Test
     void createNewGame_createsAndSendsGame() {
-        when(gameRepository.findByStatus(GameStatus.IN_PROGRESS)).thenReturn(Optional.empty());
+        when(gameRepository.existsInProgressGame()).thenReturn(false);
         when(gameRepository.save(any(Game.class))).thenReturn(game);
 
         GameDto createdGameDto = gameService.createNewGame();
 
         verify(gameRepository).save(any(Game.class));
-        verify(kafkaSenderService).sendGame(any(GameDto.class));
+        verify(eventOutboxService).publishGame(any(GameDto.class));
         assertNotNull(createdGameDto);
         assertEquals(GameStatus.NEW, createdGameDto.getStatus());
     }
 
+    @Test
+    void createNewGame_usesConfiguredBoardSize() {
+        boardProperties.setRows(15);
+        boardProperties.setColumns(15);
+        boardProperties.setWinLength(5);
+        when(gameRepository.existsInProgressGame()).thenReturn(false);
+        ArgumentCaptor<Game> gameCaptor = ArgumentCaptor.forClass(Game.class);
+
+        gameService.createNewGame();
+
+        verify(gameRepository).save(gameCaptor.capture());
+        Game created = gameCaptor.getValue();
+        assertEquals(15, created.getBoard().length);
+        assertEquals(15, created.getBoard()[0].length);
+        assertEquals("", created.getBoard()[14][14]);
+        assertEquals(5, created.getWinLength());
+    }
+
     @Test
     void createNewGame_throwsGameAlreadyExistsException_whenInProgressGameExists() {
-        when(gameRepository.findByStatus(GameStatus.IN_PROGRESS)).thenReturn(Optional.of(game));
+        when(gameRepository.existsInProgressGame()).thenReturn(true);
         GameAlreadyExistsException exception = assertThrows(GameAlreadyExistsException.class, () -> gameService.createNewGame());
         assertEquals("Game already exists", exception.getMessage());
     }
@@ -129,4 +153,30 @@ class GameServiceTest {
         Boolean result = gameService.isGameOver(game, player);
         assertFalse(result);
     }
+
+    @Test
+    void isGameOverWithoutLock_whenLineCompleted_thenFinishesGameWithoutLocking() {
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setBoard(new String[][]{{"X", "X", "X"}, {"O", "O", ""}, {"", "", ""}});
+
+        Boolean result = gameService.isGameOverWithoutLock(game, player);
+
+        assertTrue(result);
+        assertEquals(GameStatus.FINISHED, game.getStatus());
+        assertEquals(player, game.getWinner());
+        verify(gameRepository).save(game);
+        verifyNoInteractions(lockService);
+    }
+
+    @Test
+    void updateGameStatus_whenBoardFull_thenDrawWithoutSaving() {
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setBoard(new String[][]{{"X", "O", "X"}, {"X", "O", "O"}, {"O", "X", "X"}});
+
+        boolean result = gameService.updateGameStatus(game, player);
+
+        assertTrue(result);
+        assertEquals(GameStatus.DRAW, game.getStatus());
+        verifyNoInteractions(gameRepository);
+    }
 }
@@ -6,6 +6,8 @@ import com.example.game.model.enums.PlayerSign;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -121,6 +123,43 @@ class GameValidatorServiceTest {
         assertEquals("The rest of the board positions must be identical.", exception.getMessage());
     }
 
+    @Test
+    void validateMove_whenLargeBoardMoveIsValid_thenNoExceptionThrown() {
+        String[][] previousBoard = emptyBoard(15);
+        String[][] newBoard = emptyBoard(15);
+        newBoard[10][12] = "X";
+        GameMove move = createGameMove(previousBoard, newBoard);
+        move.setMoveX(10);
+        move.setMoveY(12);
+
+        assertDoesNotThrow(() -> gameValidatorService.validateMove(move));
+    }
+
+    @Test
+    void validateMove_whenLargeBoardNotConsistent_thenThrowsException() {
+        String[][] previousBoard = emptyBoard(15);
+        String[][] newBoard = emptyBoard(15);
+        newBoard[10][12] = "X";
+        newBoard[0][0] = "O";
+        GameMove move = createGameMove(previousBoard, newBoard);
+        move.setMoveX(10);
+        move.setMoveY(12);
+
+        MoveValidationException exception = assertThrows(MoveValidationException.class, () -> {
+            gameValidatorService.validateMove(move);
+        });
+
+        assertEquals("The rest of the board positions must be identical.", exception.getMessage());
+    }
+
+    private static String[][] emptyBoard(int size) {
+        String[][] board = new String[size][size];
+        for (String[] row : board) {
+            Arrays.fill(row, "");
+        }
+        return board;
+    }
+
     private GameMove createGameMove(String[][] previousBoard, String[][] newBoard) {
         return GameMove.builder()
                 .sign(PlayerSign.X)
@@ -0,0 +1,102 @@
+package com.example.game.service;
+
+import com.example.game.exception.PlayerLimitExceededException;
+import com.example.game.service.lock.LockBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LockServiceTest {
+
+    private static final String LOCK_PATH = "/test";
+
+    @Mock
+    private LockBackend lockBackend;
+
+    @Mock
+    private LockBackend.LockHandle lockHandle;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LockService lockService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(lockBackend.name()).thenReturn("mock");
+        meterRegistry = new SimpleMeterRegistry();
+        lockService = new LockService(lockBackend, meterRegistry);
+    }
+
+    @Test
+    void executeWithLockSupplier_whenLockAcquired_thenReturnsResultAndReleases() throws Exception {
+        when(lockBackend.tryAcquire(eq(LOCK_PATH), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(lockHandle);
+
+        assertEquals("result", lockService.executeWithLockSupplier(LOCK_PATH, () -> "result"));
+
+        verify(lockHandle).release();
+        assertEquals(1, meterRegistry.get("game.lock.acquire").tag("outcome", "acquired").timer().count());
+        assertEquals(1, meterRegistry.get("game.lock.contention").summary().count());
+    }
+
+    @Test
+    void executeWithLock_whenLockNotAcquired_thenThrowsWithoutRunning() throws Exception {
+        when(lockBackend.tryAcquire(eq(LOCK_PATH), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(null);
+        Runnable runnable = () -> {
+            throw new AssertionError("must not run");
+        };
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> lockService.executeWithLock(LOCK_PATH, runnable));
+
+        assertEquals("Unable to acquire lock for path: " + LOCK_PATH, exception.getMessage());
+        assertEquals(1, meterRegistry.get("game.lock.acquire").tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void executeWithLock_whenRunnableThrows_thenPropagatesExceptionAndReleases() throws Exception {
+        when(lockBackend.tryAcquire(eq(LOCK_PATH), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(lockHandle);
+
+        assertThrows(PlayerLimitExceededException.class, () -> lockService.executeWithLock(LOCK_PATH, () -> {
+            throw new PlayerLimitExceededException("limit");
+        }));
+
+        verify(lockHandle).release();
+    }
+
+    @Test
+    void executeWithLock_whenBackendFails_thenWrapsException() throws Exception {
+        var failure = new IllegalStateException("connection lost");
+        when(lockBackend.tryAcquire(eq(LOCK_PATH), anyLong(), eq(TimeUnit.SECONDS))).thenThrow(failure);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> lockService.executeWithLock(LOCK_PATH, () -> { }));
+
+        assertEquals(failure, exception.getCause());
+        verify(lockHandle, never()).release();
+    }
+
+    @Test
+    void executeWithLock_whenNested_thenRecordsContention() throws Exception {
+        when(lockBackend.tryAcquire(eq(LOCK_PATH), anyLong(), eq(TimeUnit.SECONDS))).thenReturn(lockHandle);
+
+        lockService.executeWithLock(LOCK_PATH, () -> lockService.executeWithLock(LOCK_PATH, () -> { }));
+
+        var contention = meterRegistry.get("game.lock.contention").summary();
+        assertEquals(2, contention.count());
+        assertEquals(1, contention.max());
+    }
+}
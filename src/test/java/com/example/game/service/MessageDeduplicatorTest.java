@@ -0,0 +1,118 @@
+package com.example.game.service;
+
+import com.example.game.config.DedupProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageDeduplicatorTest {
+
+    private DedupProperties dedupProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private MessageDeduplicator messageDeduplicator;
+    private UUID gameId;
+
+    @BeforeEach
+    void setUp() {
+        dedupProperties = new DedupProperties();
+        dedupProperties.setMaxGames(2);
+        meterRegistry = new SimpleMeterRegistry();
+        messageDeduplicator = new MessageDeduplicator(dedupProperties, meterRegistry);
+        gameId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void isDuplicate_whenSequenceNotAboveRecordedMoveCount_thenDropsMove() {
+        messageDeduplicator.recordMoves(gameId, 4);
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 3))).isTrue();
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 4))).isTrue();
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 5))).isFalse();
+        assertThat(meterRegistry.get("game.kafka.dedup.dropped").tag("type", "move").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void isDuplicate_whenMoveWithoutSequenceOrUnknownGame_thenKeepsMove() {
+        messageDeduplicator.recordMoves(gameId, 4);
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, null))).isFalse();
+        assertThat(messageDeduplicator.isDuplicate(move(UUID.randomUUID(), 1))).isFalse();
+    }
+
+    @Test
+    void recordMoves_whenLowerCountRecordedLater_thenKeepsHighest() {
+        messageDeduplicator.recordMoves(gameId, 4);
+        messageDeduplicator.recordMoves(gameId, 2);
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 4))).isTrue();
+    }
+
+    @Test
+    void recordMoves_whenTransactionRollsBack_thenForgetsMoves() {
+        TransactionSynchronizationManager.initSynchronization();
+        messageDeduplicator.recordMoves(gameId, 4);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(
+                        TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 4))).isFalse();
+    }
+
+    @Test
+    void recordMoves_whenMoreGamesThanLimit_thenForgetsLeastRecentlySeen() {
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        messageDeduplicator.recordMoves(gameId, 1);
+        messageDeduplicator.recordMoves(second, 1);
+        messageDeduplicator.isDuplicate(move(gameId, 2));
+        messageDeduplicator.recordMoves(third, 1);
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 1))).isTrue();
+        assertThat(messageDeduplicator.isDuplicate(move(second, 1))).isFalse();
+        assertThat(messageDeduplicator.isDuplicate(move(third, 1))).isTrue();
+    }
+
+    @Test
+    void isDuplicate_whenGameReachedStatus_thenDropsSameOrEarlierStatus() {
+        messageDeduplicator.recordGame(new GameDto(gameId, GameStatus.IN_PROGRESS, UUID.randomUUID()));
+
+        assertThat(messageDeduplicator.isDuplicate(new GameDto(gameId, GameStatus.NEW, null))).isTrue();
+        assertThat(messageDeduplicator.isDuplicate(new GameDto(gameId, GameStatus.IN_PROGRESS, null))).isTrue();
+        assertThat(messageDeduplicator.isDuplicate(new GameDto(gameId, GameStatus.FINISHED, null))).isFalse();
+        assertThat(meterRegistry.get("game.kafka.dedup.dropped").tag("type", "game").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void isDuplicate_whenDisabled_thenKeepsEverything() {
+        dedupProperties.setEnabled(false);
+        messageDeduplicator.recordMoves(gameId, 4);
+        messageDeduplicator.recordGame(new GameDto(gameId, GameStatus.IN_PROGRESS, null));
+
+        assertThat(messageDeduplicator.isDuplicate(move(gameId, 1))).isFalse();
+        assertThat(messageDeduplicator.isDuplicate(new GameDto(gameId, GameStatus.NEW, null))).isFalse();
+    }
+
+    private static GameMove move(UUID gameId, Integer sequence) {
+        return GameMove.builder().gameId(gameId).sequence(sequence).build();
+    }
+}
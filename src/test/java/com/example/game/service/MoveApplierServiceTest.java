@@ -1,30 +1,44 @@
 package com.example.game.service;
 
+import com.example.game.config.DedupProperties;
+import com.example.game.config.LockProperties;
+import com.example.game.config.WriteBehindProperties;
+import com.example.game.exception.MoveValidationException;
 import com.example.game.model.GameMove;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
 import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.LockMode;
 import com.example.game.model.enums.PlayerSign;
-import org.apache.curator.framework.CuratorFramework;
-import org.apache.curator.framework.recipes.locks.InterProcessMutex;
+import com.example.game.repos.GameRepository;
+import com.example.game.service.lock.LocalLockBackend;
+import com.example.game.util.GameUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -37,15 +51,21 @@ class MoveApplierServiceTest {
     @Mock
     private PlayerService playerService;
 
-    @Mock
-    private CuratorFramework curatorFramework;
-
     @Mock
     private GameValidatorService validatorService;
 
     @Mock
     private MoveMakerService moveMakerService;
 
+    @Mock
+    private OptimisticRetryService optimisticRetryService;
+
+    @Mock
+    private ActiveGameCache activeGameCache;
+
+    @Mock
+    private MoveLogService moveLogService;
+
     @InjectMocks
     private MoveApplierService moveApplierService;
 
@@ -53,9 +73,12 @@ class MoveApplierServiceTest {
     private Game game;
     private Player currentPlayer;
     private Player moveMaker;
+    private LockService lockService;
+    private LockProperties lockProperties;
+    private MessageDeduplicator messageDeduplicator;
 
     @BeforeEach
-    void setUp() throws Exception {
+    void setUp() {
         gameId = UUID.randomUUID();
         game = new Game();
         game.setId(gameId);
@@ -74,13 +97,12 @@ class MoveApplierServiceTest {
         moveMaker.setId(UUID.randomUUID());
         moveMaker.setPlayerSign(PlayerSign.O);
 
-        InterProcessMutex lock = mock(InterProcessMutex.class);
-        when(lock.acquire(anyLong(), any())).thenReturn(true);
-        doNothing().when(lock).release();
-
-        LockService lockService = spy(new LockService(curatorFramework));
-        doReturn(lock).when(lockService).createLock(anyString());
-        moveApplierService = new MoveApplierService(gameService, playerService, lockService, validatorService, moveMakerService);
+        lockProperties = new LockProperties();
+        lockService = spy(new LockService(new LocalLockBackend(lockProperties), new SimpleMeterRegistry()));
+        messageDeduplicator = new MessageDeduplicator(new DedupProperties(), new SimpleMeterRegistry());
+        moveApplierService = new MoveApplierService(gameService, playerService, lockService, validatorService,
+                moveMakerService, lockProperties, optimisticRetryService, activeGameCache,
+                moveLogService, messageDeduplicator);
     }
 
     @Test
@@ -100,9 +122,30 @@ class MoveApplierServiceTest {
         assertThat(game.getBoard()).isEqualTo(newBoard);
 
         verify(gameService).isGameOver(any(Game.class), any(Player.class));
+        verify(moveLogService).append(game, move);
         verify(moveMakerService).makeMove(game, currentPlayer);
     }
 
+    @Test
+    void applyMove_whenApplied_thenRedeliveryIsRecognisedAsDuplicate() {
+        String[][] newBoard = {
+                {"X", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        };
+        GameMove move = createGameMove(moveMaker.getId(), newBoard);
+        move.setSequence(1);
+
+        mockCommonDependencies();
+        doNothing().when(validatorService).validateMove(any(GameMove.class));
+
+        assertThat(messageDeduplicator.isDuplicate(move)).isFalse();
+        moveApplierService.applyMove(move);
+
+        assertThat(game.getMoveCount()).isEqualTo(1);
+        assertThat(messageDeduplicator.isDuplicate(move)).isTrue();
+    }
+
     @Test
     void applyMove_whenBoardNotChangedAndYourTurn_thenMakesMove() {
         String[][] newBoard = {
@@ -117,6 +160,7 @@ class MoveApplierServiceTest {
 
         moveApplierService.applyMove(move);
         verify(gameService, never()).isGameOver(any(Game.class), any(Player.class));
+        verify(moveLogService, never()).append(any(Game.class), any(GameMove.class));
         verify(moveMakerService).makeMove(game, currentPlayer);
     }
 
@@ -139,6 +183,275 @@ class MoveApplierServiceTest {
         verify(moveMakerService, never()).makeMove(any(Game.class), any(Player.class));
     }
 
+    @Test
+    void applyMoveAsPartitionOwner_whenBoardChanged_thenUpdatesBoardWithoutLocks() {
+        String[][] newBoard = {
+                {"X", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        };
+        GameMove move = createGameMove(moveMaker.getId(), newBoard);
+
+        mockCommonDependencies();
+        runRetriedUpdatesInline();
+
+        moveApplierService.applyMoveAsPartitionOwner(move);
+
+        assertThat(game.getBoard()).isEqualTo(newBoard);
+        verify(optimisticRetryService).executeWithRetry(anyString(), any(Runnable.class));
+        verify(validatorService).validateMove(move);
+        verify(gameService).isGameOverWithoutLock(game, moveMaker);
+        verify(gameService, never()).isGameOver(any(Game.class), any(Player.class));
+        verify(lockService, never()).executeWithLock(anyString(), any(Runnable.class));
+        verify(moveMakerService).makeMove(game, currentPlayer);
+    }
+
+    @Test
+    void applyMove_whenOptimisticMode_thenAppliesMoveWithRetryInsteadOfLocks() {
+        lockProperties.setMode(LockMode.OPTIMISTIC);
+        String[][] newBoard = {
+                {"X", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        };
+        GameMove move = createGameMove(moveMaker.getId(), newBoard);
+
+        mockCommonDependencies();
+        runRetriedUpdatesInline();
+
+        moveApplierService.applyMove(move);
+
+        assertThat(game.getBoard()).isEqualTo(newBoard);
+        verify(gameService).isGameOverWithoutLock(game, moveMaker);
+        verify(gameService, never()).isGameOver(any(Game.class), any(Player.class));
+        verify(lockService, never()).executeWithLock(anyString(), any(Runnable.class));
+        verify(moveMakerService).makeMove(game, currentPlayer);
+    }
+
+    @Test
+    void applyMoveAsPartitionOwner_whenWriteBehindEnabled_thenUpdatesInMemoryGame() {
+        String[][] newBoard = {
+                {"X", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        };
+        GameMove move = createGameMove(moveMaker.getId(), newBoard);
+
+        when(activeGameCache.isEnabled()).thenReturn(true);
+        when(activeGameCache.getGame(gameId)).thenReturn(game);
+        when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
+        when(playerService.findPlayerById(any(UUID.class))).thenReturn(moveMaker);
+
+        moveApplierService.applyMoveAsPartitionOwner(move);
+
+        assertThat(game.getBoard()).isEqualTo(newBoard);
+        verify(gameService).updateGameStatus(game, moveMaker);
+        verify(activeGameCache).update(game);
+        verify(gameService, never()).getGameById(any(UUID.class));
+        verify(gameService, never()).isGameOverWithoutLock(any(Game.class), any(Player.class));
+        verify(moveMakerService).makeMove(game, currentPlayer);
+    }
+
+    @Test
+    void applyMove_whenMoveHasNoBoards_thenRebuildsThemFromStoredBoard() {
+        GameMove move = createDeltaMove(GameUtil.boardHash(game.getBoard()));
+        mockCommonDependencies();
+        ArgumentCaptor<GameMove> validated = ArgumentCaptor.forClass(GameMove.class);
+
+        moveApplierService.applyMove(move);
+
+        verify(validatorService).validateMove(validated.capture());
+        assertThat(validated.getValue().getPreviousBoard()).isEqualTo(new String[][]{
+                {"", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        assertThat(game.getBoard()).isEqualTo(new String[][]{
+                {"", "", ""},
+                {"", "", "O"},
+                {"", "", ""}
+        });
+        verify(moveLogService).append(game, validated.getValue());
+    }
+
+    @Test
+    void applyMove_whenMoveWithoutBoardsAlreadyApplied_thenLeavesBoardUnchanged() {
+        GameMove move = createDeltaMove(GameUtil.boardHash(game.getBoard()));
+        game.getBoard()[1][2] = "O";
+        mockCommonDependencies();
+
+        moveApplierService.applyMove(move);
+
+        verify(gameService, never()).isGameOver(any(Game.class), any(Player.class));
+        verify(moveLogService, never()).append(any(Game.class), any(GameMove.class));
+        verify(moveMakerService).makeMove(game, currentPlayer);
+    }
+
+    @Test
+    void applyMove_whenMoveWithoutBoardsMadeOnOtherBoard_thenThrowsException() {
+        GameMove move = createDeltaMove(GameUtil.boardHash(game.getBoard()));
+        game.getBoard()[0][0] = "X";
+        when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
+        when(gameService.getGameById(gameId)).thenReturn(game);
+
+        assertThrows(MoveValidationException.class, () -> moveApplierService.applyMove(move));
+
+        verify(validatorService, never()).validateMove(any(GameMove.class));
+        verify(moveLogService, never()).append(any(Game.class), any(GameMove.class));
+    }
+
+    @Test
+    void applyMoves_whenSeveralMovesOfGame_thenLoadsAndSavesOnceUnderOneLock() {
+        GameMove opponentMove = createGameMove(moveMaker.getId(), new String[][]{
+                {"O", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        GameMove ownMove = GameMove.builder()
+                .gameId(gameId)
+                .playerId(currentPlayer.getId())
+                .previousBoard(opponentMove.getNewBoard())
+                .newBoard(new String[][]{
+                        {"O", "X", ""},
+                        {"", "", ""},
+                        {"", "", ""}
+                })
+                .build();
+        when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
+        when(gameService.getGameById(gameId)).thenReturn(game);
+        when(playerService.findPlayerById(moveMaker.getId())).thenReturn(moveMaker);
+        when(playerService.findPlayerById(currentPlayer.getId())).thenReturn(currentPlayer);
+
+        moveApplierService.applyMoves(List.of(opponentMove, ownMove));
+
+        assertThat(game.getBoard()).isEqualTo(ownMove.getNewBoard());
+        verify(lockService).executeWithLock(anyString(), any(Runnable.class));
+        verify(gameService).getGameById(gameId);
+        verify(gameService).saveGame(game);
+        verify(gameService, never()).isGameOver(any(Game.class), any(Player.class));
+        verify(moveLogService).append(game, opponentMove);
+        verify(moveLogService).append(game, ownMove);
+        verify(moveMakerService, never()).makeMove(any(Game.class), any(Player.class));
+    }
+
+    @Test
+    void applyMoves_whenMoveInvalid_thenSkipsItAndAppliesTheRest() {
+        GameMove invalidMove = createGameMove(moveMaker.getId(), new String[][]{
+                {"O", "O", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        GameMove validMove = createGameMove(moveMaker.getId(), new String[][]{
+                {"O", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        mockCommonDependencies();
+        doThrow(new MoveValidationException("invalid")).when(validatorService).validateMove(invalidMove);
+
+        moveApplierService.applyMoves(List.of(invalidMove, validMove));
+
+        assertThat(game.getBoard()).isEqualTo(validMove.getNewBoard());
+        verify(gameService).saveGame(game);
+        verify(moveMakerService).makeMove(game, currentPlayer);
+    }
+
+    @Test
+    void applyMovesAsPartitionOwner_whenWriteBehindDisabled_thenSavesInRetriedTransaction() {
+        GameMove move = createGameMove(moveMaker.getId(), new String[][]{
+                {"O", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        mockCommonDependencies();
+        runRetriedUpdatesInline();
+
+        moveApplierService.applyMovesAsPartitionOwner(List.of(move));
+
+        verify(optimisticRetryService).executeWithRetry(anyString(), any(Runnable.class));
+        verify(gameService).saveGame(game);
+        verify(lockService, never()).executeWithLock(anyString(), any(Runnable.class));
+    }
+
+    @Test
+    void applyMovesAsPartitionOwner_whenWriteBehindEnabled_thenUpdatesCacheOnce() {
+        GameMove move = createGameMove(moveMaker.getId(), new String[][]{
+                {"O", "", ""},
+                {"", "", ""},
+                {"", "", ""}
+        });
+        when(activeGameCache.isEnabled()).thenReturn(true);
+        when(activeGameCache.getGame(gameId)).thenReturn(game);
+        when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
+        when(playerService.findPlayerById(any(UUID.class))).thenReturn(moveMaker);
+
+        moveApplierService.applyMovesAsPartitionOwner(List.of(move));
+
+        verify(activeGameCache).update(game);
+        verify(gameService, never()).saveGame(any(Game.class));
+        verify(lockService, never()).executeWithLock(anyString(), any(Runnable.class));
+    }
+
+    @Test
+    void applyMoveAsPartitionOwner_whenFlushConflictsBeforeMoveWithoutBoards_thenAppliesMoveToMergedBoard() {
+        GameRepository gameRepository = mock(GameRepository.class);
+        WriteBehindProperties writeBehindProperties = new WriteBehindProperties();
+        writeBehindProperties.setEnabled(true);
+        ActiveGameCache cache = new ActiveGameCache(gameRepository, writeBehindProperties,
+                mock(PlatformTransactionManager.class));
+        moveApplierService = new MoveApplierService(gameService, playerService, lockService, validatorService,
+                moveMakerService, lockProperties, optimisticRetryService, cache, moveLogService, messageDeduplicator);
+        game.setVersion(0L);
+        Game storedElsewhere = new Game();
+        storedElsewhere.setId(gameId);
+        storedElsewhere.setVersion(1L);
+        storedElsewhere.setStatus(GameStatus.IN_PROGRESS);
+        storedElsewhere.setMoveCount(1);
+        storedElsewhere.setBoard(new String[][]{{"", "", ""}, {"", "", "O"}, {"", "", ""}});
+        when(gameRepository.findById(gameId)).thenReturn(Optional.of(game), Optional.of(storedElsewhere));
+        when(gameRepository.findAllById(Set.of(gameId))).thenReturn(List.of(storedElsewhere));
+        when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
+        when(playerService.findPlayerById(any(UUID.class))).thenAnswer(invocation ->
+                moveMaker.getId().equals(invocation.getArgument(0)) ? moveMaker : currentPlayer);
+
+        moveApplierService.applyMoveAsPartitionOwner(deltaMove(moveMaker, 1, 2, 1));
+        moveApplierService.applyMoveAsPartitionOwner(deltaMove(currentPlayer, 0, 0, 2));
+        cache.flush();
+        moveApplierService.applyMoveAsPartitionOwner(deltaMove(moveMaker, 2, 2, 3));
+
+        assertThat(storedElsewhere.getBoard()).isEqualTo(new String[][]{{"X", "", ""}, {"", "", "O"}, {"", "", ""}});
+        assertThat(game.getBoard()).isEqualTo(new String[][]{{"X", "", ""}, {"", "", "O"}, {"", "", "O"}});
+        assertThat(game.getMoveCount()).isEqualTo(3);
+        verify(moveLogService, times(3)).append(any(Game.class), any(GameMove.class));
+    }
+
+    /**
+     * A move without boards made on the board the test game currently holds.
+     */
+    private GameMove deltaMove(Player player, int x, int y, int sequence) {
+        return GameMove.builder()
+                .gameId(gameId)
+                .playerId(player.getId())
+                .sign(player.getPlayerSign())
+                .moveX(x)
+                .moveY(y)
+                .sequence(sequence)
+                .boardHash(GameUtil.boardHash(game.getBoard()))
+                .build();
+    }
+
+    private GameMove createDeltaMove(int boardHash) {
+        return GameMove.builder()
+                .gameId(gameId)
+                .playerId(moveMaker.getId())
+                .sign(PlayerSign.O)
+                .moveX(1)
+                .moveY(2)
+                .sequence(1)
+                .boardHash(boardHash)
+                .build();
+    }
+
     private GameMove createGameMove(UUID playerId, String[][] newBoard) {
         return GameMove.builder()
                 .gameId(gameId)
@@ -148,6 +461,14 @@ class MoveApplierServiceTest {
                 .build();
     }
 
+    private void runRetriedUpdatesInline() {
+        doAnswer(invocation -> {
+            Runnable runnable = invocation.getArgument(1);
+            runnable.run();
+            return null;
+        }).when(optimisticRetryService).executeWithRetry(anyString(), any(Runnable.class));
+    }
+
     private void mockCommonDependencies() {
         when(playerService.getCurrentPlayer()).thenReturn(currentPlayer);
         when(gameService.getGameById(gameId)).thenReturn(game);
@@ -0,0 +1,114 @@
+package com.example.game.service;
+
+import com.example.game.config.MoveLogProperties;
+import com.example.game.model.GameMove;
+import com.example.game.model.entity.Game;
+import com.example.game.model.entity.MoveLogEntry;
+import com.example.game.model.entity.Player;
+import com.example.game.model.enums.PlayerSign;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MoveLogServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private MoveLogProperties moveLogProperties;
+    private MoveLogService moveLogService;
+    private Game game;
+    private Player xPlayer;
+
+    @BeforeEach
+    void setUp() {
+        moveLogProperties = new MoveLogProperties();
+        moveLogProperties.setBatchSize(2);
+        moveLogService = new MoveLogService(jdbcTemplate, moveLogProperties);
+
+        xPlayer = Player.builder().id(UUID.randomUUID()).playerSign(PlayerSign.X).build();
+        game = new Game();
+        game.setId(UUID.randomUUID());
+    }
+
+    @Test
+    void flush_whenMovesAppended_thenInsertsThemInBatches() {
+        List<List<MoveLogEntry>> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(MoveLogService.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    batches.add(List.copyOf(invocation.<Collection<MoveLogEntry>>getArgument(1)));
+                    return new int[0][];
+                });
+        for (int sequence = 1; sequence <= 3; sequence++) {
+            game.setMoveCount(sequence);
+            moveLogService.append(game, move(xPlayer, 0, sequence - 1));
+        }
+
+        moveLogService.flush();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).extracting(MoveLogEntry::getSequence).containsExactly(1, 2);
+        assertThat(batches.get(1)).extracting(MoveLogEntry::getSequence).containsExactly(3);
+        assertThat(batches.get(1).get(0).getMoveY()).isEqualTo(2);
+    }
+
+    @Test
+    void flush_whenInsertFails_thenRetriesOnNextFlush() {
+        List<List<MoveLogEntry>> batches = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(MoveLogService.INSERT_SQL), anyCollection(), anyInt(), any()))
+                .thenAnswer(invocation -> {
+                    batches.add(List.copyOf(invocation.<Collection<MoveLogEntry>>getArgument(1)));
+                    if (batches.size() == 1) {
+                        throw new DataAccessResourceFailureException("database down");
+                    }
+                    return new int[0][];
+                });
+        game.setMoveCount(1);
+        moveLogService.append(game, move(xPlayer, 1, 1));
+
+        moveLogService.flush();
+        moveLogService.flush();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(1)).extracting(MoveLogEntry::getSequence).containsExactly(1);
+    }
+
+    @Test
+    void append_whenDisabled_thenNothingIsInserted() {
+        moveLogProperties.setEnabled(false);
+        game.setMoveCount(1);
+
+        moveLogService.append(game, move(xPlayer, 0, 0));
+        moveLogService.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private GameMove move(Player player, int x, int y) {
+        return GameMove.builder()
+                .gameId(game.getId())
+                .playerId(player.getId())
+                .sign(player.getPlayerSign())
+                .moveX(x)
+                .moveY(y)
+                .build();
+    }
+}
@@ -4,8 +4,9 @@ import com.example.game.model.GameDto;
 import com.example.game.model.GameMove;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
+import com.example.game.model.enums.EngineType;
 import com.example.game.model.enums.PlayerSign;
-import com.example.game.service.kafka.KafkaSenderService;
+import com.example.game.service.engine.MctsEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,6 +18,8 @@ import java.util.Random;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -30,7 +33,10 @@ class MoveMakerServiceTest {
     private GameLogicService gameLogicService;
 
     @Mock
-    private KafkaSenderService kafkaSenderService;
+    private MctsEngine mctsEngine;
+
+    @Mock
+    private MoveSchedulerService moveSchedulerService;
 
     @Mock
     private GameService gameService;
@@ -64,12 +70,12 @@ class MoveMakerServiceTest {
     void makeMove_whenCurrentPlayerTurn_thenMakesMove() {
         GameDto gameDto = createGameDto(UUID.randomUUID());
         mockCommonDependencies();
-        when(gameLogicService.findBestMove(any(String[][].class), eq(PlayerSign.X))).thenReturn(new int[]{0, 0});
+        when(gameLogicService.findBestMove(any(String[][].class), eq(3), eq(PlayerSign.X))).thenReturn(new int[]{0, 0});
         when(random.nextDouble()).thenReturn(0.2);
 
         moveMakerService.makeMove(gameDto);
 
-        verify(kafkaSenderService).sendGameMove(any(GameMove.class));
+        verify(moveSchedulerService).scheduleMove(any(GameMove.class));
     }
 
     @Test
@@ -82,7 +88,7 @@ class MoveMakerServiceTest {
 
         moveMakerService.makeMove(gameDto);
 
-        verify(kafkaSenderService, never()).sendGameMove(any(GameMove.class));
+        verify(moveSchedulerService, never()).scheduleMove(any(GameMove.class));
     }
 
     @Test
@@ -94,19 +100,33 @@ class MoveMakerServiceTest {
 
         moveMakerService.makeMove(gameDto);
 
-        verify(kafkaSenderService).sendGameMove(any(GameMove.class));
+        verify(moveSchedulerService).scheduleMove(any(GameMove.class));
     }
 
     @Test
     void makeMove_whenBestMove_thenMakesBestMove() {
         GameDto gameDto = createGameDto(UUID.randomUUID());
         mockCommonDependencies();
-        when(gameLogicService.findBestMove(any(String[][].class), eq(PlayerSign.X))).thenReturn(new int[]{0, 0});
+        when(gameLogicService.findBestMove(any(String[][].class), eq(3), eq(PlayerSign.X))).thenReturn(new int[]{0, 0});
+        when(random.nextDouble()).thenReturn(0.2);
+
+        moveMakerService.makeMove(gameDto);
+
+        verify(moveSchedulerService).scheduleMove(any(GameMove.class));
+    }
+
+    @Test
+    void makeMove_whenMctsEngineSelected_thenUsesMctsEngine() {
+        GameDto gameDto = createGameDto(UUID.randomUUID());
+        mockCommonDependencies();
+        when(playerService.getEngineType()).thenReturn(EngineType.MCTS);
+        when(mctsEngine.findBestMove(any(String[][].class), eq(3), eq(PlayerSign.X))).thenReturn(new int[]{1, 1});
         when(random.nextDouble()).thenReturn(0.2);
 
         moveMakerService.makeMove(gameDto);
 
-        verify(kafkaSenderService).sendGameMove(any(GameMove.class));
+        verify(gameLogicService, never()).findBestMove(any(String[][].class), anyInt(), any(PlayerSign.class));
+        verify(moveSchedulerService).scheduleMove(argThat(move -> move.getMoveX() == 1 && move.getMoveY() == 1));
     }
 
     private GameDto createGameDto(UUID lastPlayedPlayerId) {
@@ -0,0 +1,130 @@
+package com.example.game.service;
+
+import com.example.game.config.MoveDelayProperties;
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.DelayDistribution;
+import com.example.game.service.kafka.KafkaSenderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class MoveSchedulerServiceTest {
+
+    @Mock
+    private TaskScheduler moveScheduler;
+
+    @Mock
+    private KafkaSenderService kafkaSenderService;
+
+    @Mock
+    private EventOutboxService eventOutboxService;
+
+    private MoveDelayProperties moveDelayProperties;
+    private OutboxProperties outboxProperties;
+    private MoveSchedulerService moveSchedulerService;
+    private GameMove gameMove;
+
+    @BeforeEach
+    void setUp() {
+        moveDelayProperties = new MoveDelayProperties();
+        outboxProperties = new OutboxProperties();
+        outboxProperties.setMoves(false);
+        moveSchedulerService = new MoveSchedulerService(moveDelayProperties, moveScheduler, kafkaSenderService,
+                outboxProperties, eventOutboxService, new Random(42));
+        gameMove = GameMove.builder().gameId(UUID.randomUUID()).build();
+    }
+
+    @Test
+    void scheduleMove_whenCalled_thenSchedulesSendAfterDelayWithoutSending() {
+        Instant before = Instant.now();
+
+        moveSchedulerService.scheduleMove(gameMove);
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> startTime = ArgumentCaptor.forClass(Instant.class);
+        verify(moveScheduler).schedule(task.capture(), startTime.capture());
+        verifyNoInteractions(kafkaSenderService);
+        assertFalse(startTime.getValue().isBefore(before.plusMillis(moveDelayProperties.getMillis())));
+
+        task.getValue().run();
+
+        verify(kafkaSenderService).sendGameMove(gameMove);
+    }
+
+    @Test
+    void scheduleMove_whenSendFails_thenScheduledTaskDoesNotThrow() {
+        doThrow(new IllegalStateException("broker down")).when(kafkaSenderService).sendGameMove(any());
+
+        moveSchedulerService.scheduleMove(gameMove);
+
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(moveScheduler).schedule(task.capture(), any(Instant.class));
+        assertDoesNotThrow(() -> task.getValue().run());
+    }
+
+    @Test
+    void scheduleMove_whenMovesGoThroughOutbox_thenStoresMoveWithDelay() {
+        outboxProperties.setMoves(true);
+        moveDelayProperties.setMillis(250);
+
+        moveSchedulerService.scheduleMove(gameMove);
+
+        verify(eventOutboxService).publishGameMove(gameMove, 250);
+        verifyNoInteractions(moveScheduler, kafkaSenderService);
+    }
+
+    @Test
+    void nextDelayMillis_whenFixed_thenReturnsConfiguredDelay() {
+        moveDelayProperties.setMillis(250);
+
+        assertEquals(250, moveSchedulerService.nextDelayMillis());
+    }
+
+    @Test
+    void nextDelayMillis_whenUniform_thenStaysWithinBounds() {
+        moveDelayProperties.setDistribution(DelayDistribution.UNIFORM);
+        moveDelayProperties.setMinMillis(100);
+        moveDelayProperties.setMaxMillis(200);
+
+        for (int i = 0; i < 1000; i++) {
+            long delay = moveSchedulerService.nextDelayMillis();
+            assertTrue(delay >= 100 && delay <= 200, "Delay " + delay);
+        }
+    }
+
+    @Test
+    void nextDelayMillis_whenExponential_thenIsClampedAndAveragesNearMean() {
+        moveDelayProperties.setDistribution(DelayDistribution.EXPONENTIAL);
+        moveDelayProperties.setMillis(100);
+        moveDelayProperties.setMinMillis(0);
+        moveDelayProperties.setMaxMillis(10_000);
+
+        long total = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long delay = moveSchedulerService.nextDelayMillis();
+            assertTrue(delay >= 0 && delay <= 10_000, "Delay " + delay);
+            total += delay;
+        }
+
+        assertEquals(100, total / 10_000.0, 10);
+    }
+}
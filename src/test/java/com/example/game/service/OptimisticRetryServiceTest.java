@@ -0,0 +1,92 @@
+package com.example.game.service;
+
+import com.example.game.config.LockProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticRetryServiceTest {
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LockProperties lockProperties;
+
+    @BeforeEach
+    void setUp() {
+        lockProperties = new LockProperties();
+        lockProperties.setOptimisticMaxAttempts(3);
+        lockProperties.setOptimisticBackoffMillis(1);
+    }
+
+    @Test
+    void executeWithRetry_whenNoConflict_thenRunsOnceInNewTransaction() {
+        var service = new OptimisticRetryService(lockProperties, transactionManager);
+        var attempts = new AtomicInteger();
+
+        service.executeWithRetry("test", attempts::incrementAndGet);
+
+        assertEquals(1, attempts.get());
+        var definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void executeWithRetry_whenConflictResolves_thenRetriesUntilSuccess() {
+        var service = new OptimisticRetryService(lockProperties, transactionManager);
+        var attempts = new AtomicInteger();
+
+        service.executeWithRetry("test", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Game", "id");
+            }
+        });
+
+        assertEquals(3, attempts.get());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void executeWithRetry_whenEveryAttemptConflicts_thenRethrowsAfterMaxAttempts() {
+        var service = new OptimisticRetryService(lockProperties, transactionManager);
+        var attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> service.executeWithRetry("test", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Game", "id");
+        }));
+
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void executeWithRetry_whenOtherFailure_thenDoesNotRetry() {
+        var service = new OptimisticRetryService(lockProperties, transactionManager);
+        var attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> service.executeWithRetry("test", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.game.service;
+
+import com.example.game.config.OutboxProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.service.kafka.KafkaSenderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.kafka.KafkaException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private KafkaSenderService kafkaSenderService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OutboxProperties outboxProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelayService outboxRelayService;
+    private GameDto gameDto;
+    private GameMove gameMove;
+
+    @BeforeEach
+    void setUp() {
+        outboxProperties = new OutboxProperties();
+        outboxProperties.setBatchSize(2);
+        outboxProperties.setSendTimeoutMillis(50);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelayService = new OutboxRelayService(jdbcTemplate, outboxProperties, kafkaSenderService,
+                transactionManager, meterRegistry);
+        gameDto = new GameDto(UUID.randomUUID(), GameStatus.NEW, null);
+        gameMove = GameMove.builder().gameId(UUID.randomUUID()).sequence(1).build();
+        lenient().when(jdbcTemplate.queryForObject(eq(OutboxRelayService.LOCK_SQL), anyMap(), eq(Boolean.class)))
+                .thenReturn(true);
+    }
+
+    @Test
+    void relay_whenDisabled_thenDoesNothing() {
+        outboxProperties.setEnabled(false);
+
+        assertThat(outboxRelayService.relay()).isZero();
+
+        verifyNoInteractions(jdbcTemplate, kafkaSenderService, transactionManager);
+    }
+
+    @Test
+    void relay_whenAnotherInstanceRelays_thenSkipsRun() {
+        when(jdbcTemplate.queryForObject(eq(OutboxRelayService.LOCK_SQL), anyMap(), eq(Boolean.class)))
+                .thenReturn(false);
+
+        assertThat(outboxRelayService.relay()).isZero();
+
+        verify(jdbcTemplate, never()).query(eq(OutboxRelayService.SELECT_BATCH_SQL), anyMap(), any(RowMapper.class));
+        verifyNoInteractions(kafkaSenderService);
+    }
+
+    @Test
+    void relay_whenAllAcknowledged_thenMarksBatchSentAndReadsNextBatch() throws Exception {
+        stubBatches(List.of(row(1, "GAME", "a", gameDto), row(2, "GAME_MOVE", "b", gameMove)),
+                List.of(row(3, "GAME", "a", gameDto)));
+        when(kafkaSenderService.sendGame(gameDto)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaSenderService.sendGameMove(gameMove)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(outboxRelayService.relay()).isEqualTo(3);
+
+        assertThat(markedSent()).containsExactly(List.of(1L, 2L), List.of(3L));
+        assertThat(meterRegistry.get("game.outbox.relayed").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("game.outbox.latency").timer().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("game.outbox.batch").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void relay_whenSendFails_thenLeavesEventForNextRun() throws Exception {
+        stubBatches(List.of(row(1, "GAME", "a", gameDto), row(2, "GAME_MOVE", "b", gameMove)));
+        when(kafkaSenderService.sendGame(gameDto)).thenThrow(new KafkaException("Too many messages in flight"));
+        when(kafkaSenderService.sendGameMove(gameMove)).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(outboxRelayService.relay()).isEqualTo(1);
+
+        assertThat(markedSent()).containsExactly(List.of(2L));
+        assertThat(markedFailed()).containsExactly(List.of(1L));
+    }
+
+    @Test
+    void relay_whenEarlierEventOfKeyFails_thenLeavesLaterEventsOfKeyPending() throws Exception {
+        outboxProperties.setBatchSize(3);
+        GameDto otherGame = new GameDto(UUID.randomUUID(), GameStatus.IN_PROGRESS, null);
+        CompletableFuture<Void> failure = new CompletableFuture<>();
+        stubBatches(List.of(row(1, "GAME", "a", gameDto), row(2, "GAME_MOVE", "a", gameMove),
+                row(3, "GAME", "b", otherGame)));
+        when(kafkaSenderService.sendGame(gameDto)).thenReturn(failure);
+        when(kafkaSenderService.sendGameMove(gameMove)).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaSenderService.sendGame(otherGame)).thenAnswer(invocation -> {
+            failure.completeExceptionally(new KafkaException("Broker unavailable"));
+            return CompletableFuture.completedFuture(null);
+        });
+
+        assertThat(outboxRelayService.relay()).isEqualTo(1);
+
+        assertThat(markedSent()).containsExactly(List.of(3L));
+        assertThat(markedFailed()).containsExactly(List.of(1L));
+    }
+
+    @Test
+    void relay_whenEventOfKeyFailsRightAway_thenHoldsBackLaterEventsOfKey() throws Exception {
+        stubBatches(List.of(row(1, "GAME", "a", gameDto), row(2, "GAME_MOVE", "a", gameMove)));
+        when(kafkaSenderService.sendGame(gameDto)).thenThrow(new KafkaException("Too many messages in flight"));
+
+        assertThat(outboxRelayService.relay()).isZero();
+
+        verify(kafkaSenderService, never()).sendGameMove(any());
+        verify(jdbcTemplate, never()).update(eq(OutboxRelayService.MARK_SENT_SQL), anyMap());
+        assertThat(markedFailed()).containsExactly(List.of(1L));
+    }
+
+    @Test
+    void relay_whenEventFailsOnLastAttempt_thenParksIt() throws Exception {
+        outboxProperties.setMaxAttempts(3);
+        stubBatches(List.of(row(1, "GAME", "a", gameDto, 2)));
+        when(kafkaSenderService.sendGame(gameDto)).thenThrow(new KafkaException("Record too large"));
+
+        outboxRelayService.relay();
+
+        assertThat(markedFailed()).containsExactly(List.of(1L));
+        assertThat(meterRegistry.get("game.outbox.parked").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void relay_whenNotAcknowledgedInTime_thenDoesNotMarkSent() throws Exception {
+        stubBatches(List.of(row(1, "GAME", "a", gameDto)));
+        when(kafkaSenderService.sendGame(gameDto)).thenReturn(new CompletableFuture<>());
+
+        assertThat(outboxRelayService.relay()).isZero();
+
+        verify(jdbcTemplate, never()).update(eq(OutboxRelayService.MARK_SENT_SQL), anyMap());
+        assertThat(markedFailed()).containsExactly(List.of(1L));
+        assertThat(meterRegistry.get("game.outbox.relayed").counter().count()).isZero();
+        assertThat(meterRegistry.get("game.outbox.parked").counter().count()).isZero();
+    }
+
+    @Test
+    void relay_whenEventsWait_thenPublishesLag() throws Exception {
+        stubBatches();
+        when(jdbcTemplate.queryForObject(eq(OutboxRelayService.OLDEST_SQL), anyMap(), eq(LocalDateTime.class)))
+                .thenReturn(LocalDateTime.now().minusSeconds(90));
+
+        outboxRelayService.relay();
+
+        assertThat(meterRegistry.get("game.outbox.lag").gauge().value()).isBetween(90.0, 150.0);
+    }
+
+    @Test
+    void purge_whenCalled_thenDeletesSentEventsPastRetention() {
+        outboxProperties.setRetentionHours(2);
+        outboxProperties.setPurgeBatchSize(100);
+        when(jdbcTemplate.update(eq(OutboxRelayService.PURGE_SQL), anyMap())).thenReturn(7);
+
+        assertThat(outboxRelayService.purge()).isEqualTo(7);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> parameters = ArgumentCaptor.forClass(Map.class);
+        verify(jdbcTemplate).update(eq(OutboxRelayService.PURGE_SQL), parameters.capture());
+        assertThat(parameters.getValue()).containsEntry("limit", 100);
+        assertThat((LocalDateTime) parameters.getValue().get("cutoff"))
+                .isBetween(LocalDateTime.now().minusHours(2).minusMinutes(1), LocalDateTime.now().minusHours(2));
+    }
+
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    private void stubBatches(List<ResultSet>... batches) {
+        var answer = when(jdbcTemplate.query(eq(OutboxRelayService.SELECT_BATCH_SQL), anyMap(),
+                any(RowMapper.class)));
+        for (List<ResultSet> batch : batches) {
+            answer = answer.thenAnswer(invocation -> {
+                RowMapper<?> rowMapper = invocation.getArgument(2);
+                List<Object> rows = new ArrayList<>();
+                for (ResultSet resultSet : batch) {
+                    rows.add(rowMapper.mapRow(resultSet, rows.size()));
+                }
+                return rows;
+            });
+        }
+        answer.thenReturn(List.of());
+    }
+
+    private ResultSet row(long id, String eventType, String messageKey, Object message) throws Exception {
+        return row(id, eventType, messageKey, message, 0);
+    }
+
+    private ResultSet row(long id, String eventType, String messageKey, Object message, int attempts)
+            throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getString("event_type")).thenReturn(eventType);
+        when(resultSet.getString("message_key")).thenReturn(messageKey);
+        when(resultSet.getString("payload")).thenReturn(objectMapper.writeValueAsString(message));
+        when(resultSet.getObject("available_at", LocalDateTime.class)).thenReturn(LocalDateTime.now());
+        when(resultSet.getInt("attempts")).thenReturn(attempts);
+        return resultSet;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Long>> markedSent() {
+        ArgumentCaptor<Map<String, Object>> parameters = ArgumentCaptor.forClass(Map.class);
+        verify(jdbcTemplate, atLeastOnce())
+                .update(eq(OutboxRelayService.MARK_SENT_SQL), parameters.capture());
+        return parameters.getAllValues().stream().map(map -> (List<Long>) map.get("ids")).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Long>> markedFailed() {
+        ArgumentCaptor<Map<String, Object>> parameters = ArgumentCaptor.forClass(Map.class);
+        verify(jdbcTemplate, atLeastOnce())
+                .update(eq(OutboxRelayService.MARK_FAILED_SQL), parameters.capture());
+        return parameters.getAllValues().stream().map(map -> (List<Long>) map.get("ids")).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.game.service;
 
+import com.example.game.config.LockProperties;
 import com.example.game.exception.EntityNotFoundException;
 import com.example.game.exception.PlayerAlreadyJoinedException;
 import com.example.game.exception.PlayerLimitExceededException;
@@ -7,15 +8,17 @@ import com.example.game.model.GameDto;
 import com.example.game.model.entity.Game;
 import com.example.game.model.entity.Player;
 import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.LockMode;
 import com.example.game.model.enums.PlayerSign;
 import com.example.game.repos.PlayerRepository;
-import com.example.game.service.kafka.KafkaSenderService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -25,10 +28,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,11 +46,20 @@ class PlayerServiceTest {
     private PlayerRepository playerRepository;
 
     @Mock
-    private KafkaSenderService kafkaSenderService;
+    private EventOutboxService eventOutboxService;
 
     @Mock
     private LockService lockService;
 
+    @Mock
+    private OptimisticRetryService optimisticRetryService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private LockProperties lockProperties = new LockProperties();
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -122,7 +136,7 @@ class PlayerServiceTest {
             Runnable runnable = invocation.getArgument(1);
             runnable.run();
             return null;
-        }).when(lockService).executeWithLock(eq("/joingame"), any(Runnable.class));
+        }).when(lockService).executeWithLock(eq("/joingame/" + gameId), any(Runnable.class));
 
         playerService.joinGame(gameDto);
 
@@ -131,7 +145,7 @@ class PlayerServiceTest {
 
         verify(gameService).saveGame(game);
         verify(playerRepository).save(player);
-        verify(kafkaSenderService, never()).sendGame(any(GameDto.class));
+        verify(eventOutboxService, never()).publishGame(any(GameDto.class));
     }
 
     @Test
@@ -156,13 +170,14 @@ class PlayerServiceTest {
             Runnable runnable = invocation.getArgument(1);
             runnable.run();
             return null;
-        }).when(lockService).executeWithLock(eq("/joingame"), any(Runnable.class));
+        }).when(lockService).executeWithLock(eq("/joingame/" + gameId), any(Runnable.class));
 
         playerService.joinGame(gameDto);
 
         verify(gameService).saveGame(game);
         verify(playerRepository).save(player);
-        verify(kafkaSenderService).sendGame(any(GameDto.class));
+        verify(eventOutboxService).publishGame(any(GameDto.class));
+        verify(transactionManager).commit(any());
     }
 
     @Test
@@ -183,7 +198,7 @@ class PlayerServiceTest {
             Runnable runnable = invocation.getArgument(1);
             runnable.run();
             return null;
-        }).when(lockService).executeWithLock(eq("/joingame"), any(Runnable.class));
+        }).when(lockService).executeWithLock(eq("/joingame/" + gameId), any(Runnable.class));
 
         assertThrows(PlayerLimitExceededException.class, () -> {
             playerService.joinGame(gameDto);
@@ -210,7 +225,7 @@ class PlayerServiceTest {
             Runnable runnable = invocation.getArgument(1);
             runnable.run();
             return null;
-        }).when(lockService).executeWithLock(eq("/joingame"), any(Runnable.class));
+        }).when(lockService).executeWithLock(eq("/joingame/" + gameId), any(Runnable.class));
 
         assertThrows(PlayerAlreadyJoinedException.class, () -> {
             playerService.joinGame(gameDto);
@@ -237,13 +252,42 @@ class PlayerServiceTest {
             Runnable runnable = invocation.getArgument(1);
             runnable.run();
             return null;
-        }).when(lockService).executeWithLock(eq("/joingame"), any(Runnable.class));
+        }).when(lockService).executeWithLock(eq("/joingame/" + gameId), any(Runnable.class));
 
         assertThrows(PlayerAlreadyJoinedException.class, () -> {
             playerService.joinGame(gameDto);
         });
     }
 
+    @Test
+    void joinGame_whenOptimisticMode_thenJoinsWithRetryInsteadOfLock() {
+        lockProperties.setMode(LockMode.OPTIMISTIC);
+        UUID gameId = UUID.randomUUID();
+        GameDto gameDto = new GameDto(gameId, GameStatus.NEW, UUID.randomUUID());
+        Game game = new Game();
+        game.setId(gameId);
+        Player player = new Player();
+        player.setId(UUID.randomUUID());
+        player.setPlayerSign(PlayerSign.X);
+
+        initPlayer(player);
+
+        when(gameService.getGameById(gameId)).thenReturn(game);
+
+        doAnswer(invocation -> {
+            Runnable runnable = invocation.getArgument(1);
+            runnable.run();
+            return null;
+        }).when(optimisticRetryService).executeWithRetry(anyString(), any(Runnable.class));
+
+        playerService.joinGame(gameDto);
+
+        assertThat(game.getPlayers()).containsExactly(player);
+        verify(gameService).saveGame(game);
+        verify(playerRepository).save(player);
+        verifyNoInteractions(lockService, transactionManager);
+    }
+
     private void initPlayer(Player player) {
         when(playerRepository.findByName(playerName)).thenReturn(Optional.of(player));
         playerService.init();
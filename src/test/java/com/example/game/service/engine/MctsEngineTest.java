@@ -0,0 +1,87 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.util.MnkBoard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MctsEngineTest {
+
+    private MctsEngine mctsEngine;
+
+    @BeforeEach
+    void setUp() {
+        var engineProperties = new EngineProperties();
+        engineProperties.getMcts().setThreads(2);
+        engineProperties.getMcts().setMaxIterations(20_000);
+        engineProperties.getMcts().setTimeBudgetMillis(10_000);
+        mctsEngine = new MctsEngine(engineProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mctsEngine.shutdown();
+    }
+
+    @Test
+    void findBestMove_whenWinIsAvailable_thenTakesIt() {
+        String[][] board = {
+                {"X", "X", ""},
+                {"O", "O", ""},
+                {"", "", ""}
+        };
+
+        assertArrayEquals(new int[]{0, 2}, mctsEngine.findBestMove(board, 3, PlayerSign.X));
+    }
+
+    @Test
+    void findBestMove_whenOpponentThreatensToWin_thenBlocks() {
+        String[][] board = {
+                {"O", "O", ""},
+                {"X", "", ""},
+                {"X", "", ""}
+        };
+
+        int[] move = mctsEngine.findBestMove(board, 3, PlayerSign.X);
+
+        assertTrue(move[0] == 0 && move[1] == 2, "expected block at 0,2");
+    }
+
+    @Test
+    void findBestMove_whenFourInARowOnLargeBoard_thenCompletesFive() {
+        var board = MnkBoard.empty(15, 15, 5);
+        for (int column = 5; column < 9; column++) {
+            board.place(7 * 15 + column, PlayerSign.X);
+            board.place(9 * 15 + column + 1, PlayerSign.O);
+        }
+
+        int[] move = mctsEngine.findBestMove(board, PlayerSign.X);
+
+        assertEquals(7, move[0]);
+        assertTrue(move[1] == 4 || move[1] == 9);
+        assertTrue(mctsEngine.getSimulations() > 0);
+    }
+
+    @Test
+    void findBestMove_whenEmptyBoard_thenPlaysCenter() {
+        assertArrayEquals(new int[]{7, 7}, mctsEngine.findBestMove(MnkBoard.empty(15, 15, 5), PlayerSign.X));
+    }
+
+    @Test
+    void findBestMove_whenGameIsOver_thenThrowsException() {
+        String[][] board = {
+                {"X", "X", "X"},
+                {"O", "O", ""},
+                {"", "", ""}
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> mctsEngine.findBestMove(board, 3, PlayerSign.O));
+    }
+}
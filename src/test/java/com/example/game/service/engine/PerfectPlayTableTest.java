@@ -0,0 +1,74 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import com.example.game.service.GameLogicService;
+import com.example.game.util.BitBoard;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfectPlayTableTest {
+
+    private static PerfectPlayTable perfectPlayTable;
+
+    @BeforeAll
+    static void setUp() {
+        perfectPlayTable = new PerfectPlayTable();
+    }
+
+    @Test
+    void size_isReducedBySymmetries() {
+        assertTrue(perfectPlayTable.size() > 0);
+        assertTrue(perfectPlayTable.size() < 1500, "Table has " + perfectPlayTable.size() + " positions");
+    }
+
+    @Test
+    void findOptimalMoves_whenBoardIsEmpty_thenAllMovesAreOptimal() {
+        assertEquals(BitBoard.FULL_MASK, perfectPlayTable.findOptimalMoves(0, 0));
+    }
+
+    @Test
+    void findOptimalMoves_whenOpponentThreatens_thenReturnsBlockingMove() {
+        BitBoard board = BitBoard.fromArray(new String[][]{
+                {"X", "X", ""},
+                {"", "O", ""},
+                {"O", "", ""}
+        });
+
+        int moves = perfectPlayTable.findOptimalMoves(board.getOMask(), board.getXMask());
+
+        assertEquals(1 << BitBoard.index(0, 2), moves);
+    }
+
+    @Test
+    void findOptimalMoves_matchesFullSearchForEveryReachablePosition() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setPerfectPlayTable(false);
+        var gameLogicService = new GameLogicService(engineProperties, perfectPlayTable,
+                new TranspositionTable(engineProperties), new SearchPool(engineProperties));
+        int checked = 0;
+        for (int x = 0; x <= BitBoard.FULL_MASK; x++) {
+            for (int o = 0; o <= BitBoard.FULL_MASK; o++) {
+                int countDifference = Integer.bitCount(o) - Integer.bitCount(x);
+                if ((x & o) != 0 || countDifference < 0 || countDifference > 1) {
+                    continue;
+                }
+                BitBoard board = BitBoard.of(x, o);
+                if (board.status() != GameStatus.IN_PROGRESS) {
+                    continue;
+                }
+                int expected = 0;
+                for (int[] move : gameLogicService.search(board, PlayerSign.X).getBestMoves()) {
+                    expected |= 1 << BitBoard.index(move[0], move[1]);
+                }
+                assertEquals(expected, perfectPlayTable.findOptimalMoves(x, o), "Position " + board);
+                checked++;
+            }
+        }
+        assertTrue(checked > 0);
+    }
+}
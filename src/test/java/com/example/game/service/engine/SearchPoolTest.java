@@ -0,0 +1,64 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchPoolTest {
+
+    @Test
+    void invokeAll_whenSingleThread_thenRunsTasksInOrderOnCallingThread() {
+        var searchPool = new SearchPool(new EngineProperties());
+        List<Integer> order = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int task = i;
+            tasks.add(() -> {
+                assertFalse(Thread.currentThread().getName().startsWith("search-"));
+                order.add(task);
+            });
+        }
+
+        searchPool.invokeAll(tasks);
+
+        assertFalse(searchPool.isParallel());
+        assertEquals(List.of(0, 1, 2, 3, 4), order);
+    }
+
+    @Test
+    void invokeAll_whenParallel_thenRunsEveryTaskOnBoundedPool() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setSearchThreads(3);
+        var searchPool = new SearchPool(engineProperties);
+        List<Integer> completed = new CopyOnWriteArrayList<>();
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int task = i;
+            tasks.add(() -> {
+                threads.add(Thread.currentThread().getName());
+                completed.add(task);
+            });
+        }
+
+        try {
+            searchPool.invokeAll(tasks);
+        } finally {
+            searchPool.shutdown();
+        }
+
+        assertTrue(searchPool.isParallel());
+        assertEquals(50, completed.size());
+        assertTrue(threads.size() <= 3, "Used threads " + threads);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("search-")), "Used threads " + threads);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.game.service.engine;
+
+import com.example.game.config.EngineProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TranspositionTableTest {
+
+    private TranspositionTable transpositionTable;
+
+    @BeforeEach
+    void setUp() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setTranspositionTableMegabytes(1);
+        transpositionTable = new TranspositionTable(engineProperties);
+    }
+
+    @Test
+    void constructor_sizesTableToMemoryBudget() {
+        assertEquals((1 << 20) / 16, transpositionTable.capacity());
+    }
+
+    @Test
+    void probe_whenStored_thenReturnsValueBoundAndDepth() {
+        transpositionTable.store(42L, -995, TranspositionTable.UPPER_BOUND, 7);
+
+        long entry = transpositionTable.probe(42L);
+
+        assertEquals(-995, TranspositionTable.value(entry));
+        assertEquals(TranspositionTable.UPPER_BOUND, TranspositionTable.bound(entry));
+        assertEquals(7, TranspositionTable.depth(entry));
+        assertEquals(1, transpositionTable.getHits());
+    }
+
+    @Test
+    void probe_whenDifferentKeySharesSlot_thenMisses() {
+        transpositionTable.store(42L, 10, TranspositionTable.EXACT, 3);
+
+        long entry = transpositionTable.probe(42L + transpositionTable.capacity());
+
+        assertEquals(TranspositionTable.NO_ENTRY, entry);
+        assertEquals(1, transpositionTable.getMisses());
+    }
+
+    @Test
+    void store_whenDifferentKeySharesSlot_thenEvictsOldEntry() {
+        long otherKey = 42L + transpositionTable.capacity();
+        transpositionTable.store(42L, 10, TranspositionTable.EXACT, 3);
+        transpositionTable.store(otherKey, 20, TranspositionTable.EXACT, 1);
+
+        assertEquals(1, transpositionTable.getEvictions());
+        assertEquals(20, TranspositionTable.value(transpositionTable.probe(otherKey)));
+        assertEquals(TranspositionTable.NO_ENTRY, transpositionTable.probe(42L));
+    }
+
+    @Test
+    void store_whenSameKeyWasSearchedDeeper_thenKeepsDeeperEntry() {
+        transpositionTable.store(42L, 10, TranspositionTable.EXACT, 5);
+        transpositionTable.store(42L, 20, TranspositionTable.EXACT, 2);
+
+        assertEquals(10, TranspositionTable.value(transpositionTable.probe(42L)));
+    }
+
+    @Test
+    void probe_whenBudgetIsZero_thenTableIsDisabled() {
+        var engineProperties = new EngineProperties();
+        engineProperties.setTranspositionTableMegabytes(0);
+        var disabled = new TranspositionTable(engineProperties);
+
+        disabled.store(42L, 10, TranspositionTable.EXACT, 5);
+
+        assertEquals(TranspositionTable.NO_ENTRY, disabled.probe(42L));
+    }
+}
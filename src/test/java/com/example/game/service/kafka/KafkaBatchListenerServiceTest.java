@@ -0,0 +1,181 @@
+package com.example.game.service.kafka;
+
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import com.example.game.service.MessageDeduplicator;
+import com.example.game.service.MoveApplierService;
+import com.example.game.service.MoveMakerService;
+import com.example.game.service.PlayerService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.retry.support.RetryTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaBatchListenerServiceTest {
+
+    private static final String MOVES_TOPIC = "game-moves";
+
+    @Mock
+    private PlayerService playerService;
+
+    @Mock
+    private MoveApplierService moveApplierService;
+
+    @Mock
+    private MoveMakerService moveMakerService;
+
+    @Mock
+    private MessageDeduplicator messageDeduplicator;
+
+    @Mock
+    private PartitionOwnershipService partitionOwnershipService;
+
+    private KafkaBatchListenerService kafkaBatchListenerService;
+
+    private UUID firstGameId;
+    private UUID secondGameId;
+
+    @BeforeEach
+    void setUp() {
+        firstGameId = UUID.randomUUID();
+        secondGameId = UUID.randomUUID();
+        kafkaBatchListenerService = new KafkaBatchListenerService(playerService, moveApplierService,
+                moveMakerService, partitionOwnershipService, messageDeduplicator,
+                RetryTemplate.builder().maxAttempts(2).noBackoff().build());
+    }
+
+    @Test
+    void listenGameMoviesTopic_whenMovesOfSeveralGames_thenAppliesEachGameOnceInOrder() {
+        GameMove first = move(firstGameId, 1);
+        GameMove other = move(secondGameId, 1);
+        GameMove second = move(firstGameId, 2);
+
+        kafkaBatchListenerService.listenGameMoviesTopic(List.of(moveRecord(0, first), moveRecord(1, other),
+                moveRecord(2, second), new ConsumerRecord<>(MOVES_TOPIC, 0, 3, null, null)));
+
+        InOrder inOrder = inOrder(moveApplierService);
+        inOrder.verify(moveApplierService).applyMoves(List.of(first, second));
+        inOrder.verify(moveApplierService).applyMoves(List.of(other));
+    }
+
+    @Test
+    void listenGameMoviesTopic_whenPartitionOwned_thenAppliesAsOwner() {
+        GameMove move = move(firstGameId, 1);
+        when(partitionOwnershipService.isExclusiveOwner(MOVES_TOPIC, 0)).thenReturn(true);
+
+        kafkaBatchListenerService.listenGameMoviesTopic(List.of(moveRecord(0, move)));
+
+        verify(moveApplierService).applyMovesAsPartitionOwner(List.of(move));
+        verify(moveApplierService, never()).applyMoves(any());
+    }
+
+    @Test
+    void listenGameMoviesTopic_whenGameFailsOnce_thenRetriesItInPlace() {
+        GameMove failing = move(firstGameId, 1);
+        GameMove other = move(secondGameId, 1);
+        lenient().doThrow(new IllegalStateException("lock")).doNothing().when(moveApplierService)
+                .applyMoves(List.of(failing));
+
+        kafkaBatchListenerService.listenGameMoviesTopic(List.of(moveRecord(0, failing), moveRecord(1, other)));
+
+        verify(moveApplierService, times(2)).applyMoves(List.of(failing));
+        verify(moveApplierService).applyMoves(List.of(other));
+    }
+
+    @Test
+    void listenGameMoviesTopic_whenGameKeepsFailing_thenSkipsItAndCompletesBatch() {
+        GameMove applied = move(secondGameId, 1);
+        GameMove failing = move(firstGameId, 1);
+        GameMove appliedNext = move(secondGameId, 2);
+        lenient().doThrow(new IllegalStateException("lock")).when(moveApplierService).applyMoves(List.of(failing));
+
+        assertDoesNotThrow(() -> kafkaBatchListenerService.listenGameMoviesTopic(List.of(moveRecord(0, applied),
+                moveRecord(1, failing), moveRecord(2, appliedNext))));
+
+        verify(moveApplierService).applyMoves(List.of(applied, appliedNext));
+        verify(moveApplierService, times(2)).applyMoves(List.of(failing));
+    }
+
+    @Test
+    void listenGameMoviesTopic_whenMovesAlreadyApplied_thenDropsThemBeforeApplying() {
+        GameMove applied = move(firstGameId, 1);
+        GameMove next = move(firstGameId, 2);
+        GameMove redelivered = move(secondGameId, 4);
+        when(messageDeduplicator.isDuplicate(any(GameMove.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) != next);
+
+        kafkaBatchListenerService.listenGameMoviesTopic(List.of(moveRecord(0, applied), moveRecord(1, next),
+                moveRecord(2, redelivered)));
+
+        verify(moveApplierService).applyMoves(List.of(next));
+        verify(moveApplierService, never()).applyMoves(List.of(redelivered));
+        verify(partitionOwnershipService, times(1)).isExclusiveOwner(MOVES_TOPIC, 0);
+    }
+
+    @Test
+    void listenGameTopic_whenGameAlreadyHandled_thenDropsMessage() {
+        GameDto started = new GameDto(firstGameId, GameStatus.IN_PROGRESS, UUID.randomUUID());
+        when(messageDeduplicator.isDuplicate(started)).thenReturn(true);
+
+        kafkaBatchListenerService.listenGameTopic(List.of(gameRecord(0, started)));
+
+        verify(moveMakerService, never()).makeMove(any(GameDto.class));
+        verify(messageDeduplicator, never()).recordGame(any());
+    }
+
+    @Test
+    void listenGameTopic_whenGameKeepsFailing_thenSkipsItWithoutRecordingIt() {
+        GameDto failing = new GameDto(firstGameId, GameStatus.IN_PROGRESS, UUID.randomUUID());
+        GameDto other = new GameDto(secondGameId, GameStatus.IN_PROGRESS, UUID.randomUUID());
+        lenient().doThrow(new IllegalStateException("lock")).when(moveMakerService).makeMove(failing);
+
+        kafkaBatchListenerService.listenGameTopic(List.of(gameRecord(0, failing), gameRecord(1, other)));
+
+        verify(moveMakerService, times(2)).makeMove(failing);
+        verify(messageDeduplicator, never()).recordGame(failing);
+        verify(moveMakerService).makeMove(other);
+        verify(messageDeduplicator).recordGame(other);
+    }
+
+    @Test
+    void listenGameTopic_whenMessageRepeatedForGame_thenHandlesItOnce() {
+        GameDto newGame = new GameDto(firstGameId, GameStatus.NEW, null);
+        GameDto started = new GameDto(firstGameId, GameStatus.IN_PROGRESS, UUID.randomUUID());
+
+        kafkaBatchListenerService.listenGameTopic(List.of(gameRecord(0, newGame), gameRecord(1, newGame),
+                gameRecord(2, started)));
+
+        verify(playerService, times(1)).joinGame(newGame);
+        verify(moveMakerService).makeMove(started);
+    }
+
+    private static GameMove move(UUID gameId, int sequence) {
+        return GameMove.builder().gameId(gameId).sequence(sequence).build();
+    }
+
+    private static ConsumerRecord<String, Object> moveRecord(long offset, GameMove move) {
+        return new ConsumerRecord<>(MOVES_TOPIC, 0, offset, move.getGameId().toString(), move);
+    }
+
+    private static ConsumerRecord<String, Object> gameRecord(long offset, GameDto gameDto) {
+        return new ConsumerRecord<>("game", 0, offset, gameDto.getId().toString(), gameDto);
+    }
+}
@@ -3,6 +3,7 @@ package com.example.game.service.kafka;
 import com.example.game.model.GameDto;
 import com.example.game.model.GameMove;
 import com.example.game.model.enums.GameStatus;
+import com.example.game.service.MessageDeduplicator;
 import com.example.game.service.MoveApplierService;
 import com.example.game.service.MoveMakerService;
 import com.example.game.service.PlayerService;
@@ -34,6 +35,9 @@ class KafkaListenerServiceTest {
     @Mock
     private MoveMakerService moveMakerService;
 
+    @Mock
+    private MessageDeduplicator messageDeduplicator;
+
     @InjectMocks
     private KafkaListenerService kafkaListenerService;
 
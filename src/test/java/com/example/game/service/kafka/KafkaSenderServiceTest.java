@@ -0,0 +1,183 @@
+package com.example.game.service.kafka;
+
+import com.example.game.config.KafkaSenderProperties;
+import com.example.game.config.RetryProperties;
+import com.example.game.model.GameDto;
+import com.example.game.model.GameMove;
+import com.example.game.model.enums.GameStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaSenderServiceTest {
+
+    private static final String GAME_TOPIC = "game";
+    private static final String GAME_MOVES_TOPIC = "game-moves";
+
+    @Mock
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Mock
+    private TaskScheduler moveScheduler;
+
+    private KafkaSenderProperties kafkaSenderProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private KafkaSenderService kafkaSenderService;
+    private GameMove gameMove;
+
+    @BeforeEach
+    void setUp() {
+        kafkaSenderProperties = new KafkaSenderProperties();
+        createService();
+        gameMove = GameMove.builder().gameId(UUID.randomUUID()).sequence(1).build();
+    }
+
+    @Test
+    void sendGame_whenCalled_thenKeysRecordByGameId() {
+        UUID gameId = UUID.randomUUID();
+        GameDto gameDto = new GameDto(gameId, GameStatus.NEW, null);
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<SendResult<String, Object>>());
+
+        kafkaSenderService.sendGame(gameDto);
+
+        verify(kafkaTemplate).send(GAME_TOPIC, gameId.toString(), gameDto);
+    }
+
+    @Test
+    void sendGameMove_whenCalled_thenKeysRecordByGameId() {
+        UUID gameId = UUID.randomUUID();
+        GameMove gameMove = GameMove.builder().gameId(gameId).build();
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<SendResult<String, Object>>());
+
+        kafkaSenderService.sendGameMove(gameMove);
+
+        verify(kafkaTemplate).send(GAME_MOVES_TOPIC, gameId.toString(), gameMove);
+    }
+
+    @Test
+    void sendGameMove_whenGameIdMissing_thenSendsWithoutKey() {
+        GameMove gameMove = GameMove.builder().build();
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<SendResult<String, Object>>());
+
+        kafkaSenderService.sendGameMove(gameMove);
+
+        verify(kafkaTemplate).send(eq(GAME_MOVES_TOPIC), isNull(), eq(gameMove));
+    }
+
+    @Test
+    void create_thenRegistersSendTimerPerTopicAndOutcome() {
+        assertThat(meterRegistry.get("game.kafka.send").timers()).hasSize(4);
+        assertThat(meterRegistry.get("game.kafka.send").tags("topic", GAME_MOVES_TOPIC, "outcome", "failure")
+                .timer().count()).isZero();
+    }
+
+    @Test
+    void sendGameMove_whenAcknowledged_thenFreesSlotAndRecordsLatency() {
+        CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(future);
+
+        CompletableFuture<Void> ack = kafkaSenderService.sendGameMove(gameMove);
+        assertThat(kafkaSenderService.getInFlightMessages()).isEqualTo(1);
+        assertThat(ack).isNotDone();
+        future.complete(sendResult());
+
+        assertThat(ack).isCompleted();
+        assertThat(kafkaSenderService.getInFlightMessages()).isZero();
+        assertThat(meterRegistry.get("game.kafka.send").tags("topic", GAME_MOVES_TOPIC, "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendGameMove_whenRetriableFailure_thenSendsAgainFromCallback() {
+        when(kafkaTemplate.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(failure(new TimeoutException("expired"))))
+                .thenReturn(CompletableFuture.completedFuture(sendResult()));
+        ArgumentCaptor<Runnable> retry = ArgumentCaptor.forClass(Runnable.class);
+
+        kafkaSenderService.sendGameMove(gameMove);
+        verify(moveScheduler).schedule(retry.capture(), any(Instant.class));
+        retry.getValue().run();
+
+        verify(kafkaTemplate, times(2)).send(GAME_MOVES_TOPIC, gameMove.getGameId().toString(), gameMove);
+        assertThat(kafkaSenderService.getInFlightMessages()).isZero();
+        assertThat(meterRegistry.get("game.kafka.send.retries").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("game.kafka.send").tags("topic", GAME_MOVES_TOPIC, "outcome", "success")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendGameMove_whenNonRetriableFailure_thenGivesUpAtOnce() {
+        when(kafkaTemplate.send(any(), any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(failure(new RecordTooLargeException("too large"))));
+
+        CompletableFuture<Void> ack = kafkaSenderService.sendGameMove(gameMove);
+
+        assertThat(ack).isCompletedExceptionally();
+        verify(moveScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+        assertThat(kafkaSenderService.getInFlightMessages()).isZero();
+        assertThat(meterRegistry.get("game.kafka.send").tags("topic", GAME_MOVES_TOPIC, "outcome", "failure")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendGameMove_whenWindowFull_thenFailsAfterWaiting() {
+        kafkaSenderProperties.setMaxInFlightMessages(1);
+        kafkaSenderProperties.setMaxBlockMillis(10);
+        createService();
+        when(kafkaTemplate.send(any(), any(), any())).thenReturn(new CompletableFuture<SendResult<String, Object>>());
+        kafkaSenderService.sendGameMove(gameMove);
+
+        assertThrows(KafkaException.class, () -> kafkaSenderService.sendGameMove(gameMove));
+
+        verify(kafkaTemplate, times(1)).send(any(), any(), any());
+    }
+
+    private void createService() {
+        RetryProperties retryProperties = new RetryProperties();
+        retryProperties.setInitialInterval(100);
+        retryProperties.setMultiplier(2);
+        retryProperties.setMaxInterval(1000);
+        retryProperties.setMaxAttempts(3);
+        meterRegistry = new SimpleMeterRegistry();
+        kafkaSenderService = new KafkaSenderService(kafkaTemplate, kafkaTemplate, GAME_TOPIC, GAME_MOVES_TOPIC,
+                kafkaSenderProperties, retryProperties, moveScheduler, meterRegistry);
+    }
+
+    private KafkaProducerException failure(RuntimeException cause) {
+        return new KafkaProducerException(new ProducerRecord<>(GAME_MOVES_TOPIC, gameMove), "send failed", cause);
+    }
+
+    private SendResult<String, Object> sendResult() {
+        return new SendResult<>(new ProducerRecord<>(GAME_MOVES_TOPIC, gameMove),
+                new RecordMetadata(new TopicPartition(GAME_MOVES_TOPIC, 0), 0, 0, 0, 0, 0));
+    }
+}
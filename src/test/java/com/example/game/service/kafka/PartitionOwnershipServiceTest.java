@@ -0,0 +1,86 @@
+package com.example.game.service.kafka;
+
+import com.example.game.config.LockProperties;
+import com.example.game.model.enums.LockMode;
+import com.example.game.service.ActiveGameCache;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PartitionOwnershipServiceTest {
+
+    private static final String TOPIC = "game-moves";
+    private static final List<TopicPartition> PARTITIONS = List.of(new TopicPartition(TOPIC, 0),
+            new TopicPartition(TOPIC, 1));
+
+    private LockProperties lockProperties;
+    private ActiveGameCache activeGameCache;
+    private PartitionOwnershipService partitionOwnershipService;
+    private final AtomicLong now = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        lockProperties = new LockProperties();
+        lockProperties.setMode(LockMode.PARTITION_OWNERSHIP);
+        lockProperties.setHandoverMillis(1000);
+        activeGameCache = mock(ActiveGameCache.class);
+        partitionOwnershipService = new PartitionOwnershipService(lockProperties, activeGameCache);
+        partitionOwnershipService.setClock(now::get);
+    }
+
+    @Test
+    void isExclusiveOwner_whenPartitionNotAssigned_thenFalse() {
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 0));
+    }
+
+    @Test
+    void isExclusiveOwner_whenWithinHandover_thenFalse() {
+        partitionOwnershipService.onPartitionsAssigned(null, PARTITIONS);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(999));
+
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 0));
+    }
+
+    @Test
+    void isExclusiveOwner_whenHandoverPassed_thenTrueForAssignedPartitionsOnly() {
+        partitionOwnershipService.onPartitionsAssigned(null, PARTITIONS);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertTrue(partitionOwnershipService.isExclusiveOwner(TOPIC, 0));
+        assertTrue(partitionOwnershipService.isExclusiveOwner(TOPIC, 1));
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 2));
+        assertFalse(partitionOwnershipService.isExclusiveOwner("game", 0));
+    }
+
+    @Test
+    void isExclusiveOwner_whenRevokedOrLost_thenFalse() {
+        partitionOwnershipService.onPartitionsAssigned(null, PARTITIONS);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        partitionOwnershipService.onPartitionsRevokedBeforeCommit(null, List.of(PARTITIONS.get(0)));
+        partitionOwnershipService.onPartitionsLost(null, List.of(PARTITIONS.get(1)));
+
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 0));
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 1));
+        verify(activeGameCache, times(2)).flushAndEvictAll();
+    }
+
+    @Test
+    void isExclusiveOwner_whenDistributedMode_thenAlwaysFalse() {
+        lockProperties.setMode(LockMode.DISTRIBUTED);
+        partitionOwnershipService.onPartitionsAssigned(null, PARTITIONS);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertFalse(partitionOwnershipService.isExclusiveOwner(TOPIC, 0));
+    }
+}
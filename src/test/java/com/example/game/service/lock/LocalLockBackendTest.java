@@ -0,0 +1,55 @@
+package com.example.game.service.lock;
+
+import com.example.game.config.LockProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class LocalLockBackendTest {
+
+    @Test
+    void constructor_whenStripesNotPowerOfTwo_thenRoundsUp() {
+        var lockProperties = new LockProperties();
+        lockProperties.setLocalStripes(100);
+
+        assertEquals(128, new LocalLockBackend(lockProperties).getStripeCount());
+    }
+
+    @Test
+    void stripe_whenSamePath_thenSameLock() {
+        var backend = new LocalLockBackend(new LockProperties());
+
+        assertSame(backend.stripe("/applyMoveLock/1"), backend.stripe("/applyMoveLock/1"));
+    }
+
+    @Test
+    void tryAcquire_whenHeldByOtherThread_thenTimesOutUntilReleased() throws Exception {
+        var backend = new LocalLockBackend(new LockProperties());
+        LockBackend.LockHandle handle = backend.tryAcquire("/game", 1, TimeUnit.SECONDS);
+        assertNotNull(handle);
+
+        assertNull(CompletableFuture.supplyAsync(() -> tryAcquire(backend)).get());
+        handle.release();
+
+        LockBackend.LockHandle other = CompletableFuture.supplyAsync(() -> tryAcquire(backend)).get();
+        assertNotNull(other);
+    }
+
+    private static LockBackend.LockHandle tryAcquire(LocalLockBackend backend) {
+        try {
+            LockBackend.LockHandle handle = backend.tryAcquire("/game", 10, TimeUnit.MILLISECONDS);
+            if (handle != null) {
+                handle.release();
+            }
+            return handle;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.game.service.lock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresAdvisoryLockBackendTest {
+
+    private static final String LOCK_PATH = "/applyMoveLock/1";
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @InjectMocks
+    private PostgresAdvisoryLockBackend postgresAdvisoryLockBackend;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+    }
+
+    @Test
+    void tryAcquire_whenLocked_thenKeepsConnectionUntilRelease() throws Exception {
+        PreparedStatement lock = mock(PreparedStatement.class);
+        PreparedStatement unlock = mock(PreparedStatement.class);
+        when(connection.prepareStatement(PostgresAdvisoryLockBackend.LOCK_SQL)).thenReturn(lock);
+        when(connection.prepareStatement(PostgresAdvisoryLockBackend.UNLOCK_SQL)).thenReturn(unlock);
+
+        LockBackend.LockHandle handle = postgresAdvisoryLockBackend.tryAcquire(LOCK_PATH, 2, TimeUnit.SECONDS);
+
+        assertNotNull(handle);
+        verify(statement).execute("SET lock_timeout = 2000");
+        verify(lock).setString(1, LOCK_PATH);
+        verify(statement).execute("RESET lock_timeout");
+        verify(connection, never()).close();
+
+        handle.release();
+
+        verify(unlock).setString(1, LOCK_PATH);
+        verify(unlock).execute();
+        verify(connection).close();
+    }
+
+    @Test
+    void tryAcquire_whenLockTimeout_thenReturnsNullAndClosesConnection() throws Exception {
+        PreparedStatement lock = mock(PreparedStatement.class);
+        when(connection.prepareStatement(PostgresAdvisoryLockBackend.LOCK_SQL)).thenReturn(lock);
+        when(lock.execute()).thenThrow(new SQLException("canceling statement due to lock timeout", "55P03"));
+
+        assertNull(postgresAdvisoryLockBackend.tryAcquire(LOCK_PATH, 2, TimeUnit.SECONDS));
+
+        verify(connection).close();
+    }
+
+    @Test
+    void tryAcquire_whenOtherSqlError_thenThrowsAndClosesConnection() throws Exception {
+        PreparedStatement lock = mock(PreparedStatement.class);
+        when(connection.prepareStatement(PostgresAdvisoryLockBackend.LOCK_SQL)).thenReturn(lock);
+        when(lock.execute()).thenThrow(new SQLException("connection reset", "08006"));
+
+        assertThrows(SQLException.class, () -> postgresAdvisoryLockBackend.tryAcquire(LOCK_PATH, 2, TimeUnit.SECONDS));
+
+        verify(connection).close();
+    }
+}
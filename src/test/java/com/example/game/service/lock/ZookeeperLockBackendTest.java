@@ -0,0 +1,39 @@
+package com.example.game.service.lock;
+
+import org.apache.curator.framework.CuratorFramework;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(MockitoExtension.class)
+class ZookeeperLockBackendTest {
+
+    @Mock
+    private CuratorFramework curatorFramework;
+
+    @InjectMocks
+    private ZookeeperLockBackend zookeeperLockBackend;
+
+    @Test
+    void mutex_whenSamePath_thenReusesMutex() {
+        assertSame(zookeeperLockBackend.mutex("/joingame/1"), zookeeperLockBackend.mutex("/joingame/1"));
+        assertNotSame(zookeeperLockBackend.mutex("/joingame/1"), zookeeperLockBackend.mutex("/joingame/2"));
+    }
+
+    @Test
+    void mutex_whenCacheFull_thenStartsOver() {
+        var first = zookeeperLockBackend.mutex("/path/0");
+        for (int i = 1; i < ZookeeperLockBackend.MAX_CACHED_MUTEXES; i++) {
+            zookeeperLockBackend.mutex("/path/" + i);
+        }
+
+        zookeeperLockBackend.mutex("/path/overflow");
+
+        assertNotSame(first, zookeeperLockBackend.mutex("/path/0"));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.game.util;
+
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardTest {
+
+    @Test
+    void fromArray_toArray_roundTripsBoard() {
+        String[][] board = {
+                {"X", "", "O"},
+                {"", "X", ""},
+                {"O", "", ""}
+        };
+
+        BitBoard bitBoard = BitBoard.fromArray(board);
+
+        assertArrayEquals(board, bitBoard.toArray());
+        assertEquals(0b000_010_001, bitBoard.getXMask());
+        assertEquals(0b001_000_100, bitBoard.getOMask());
+    }
+
+    @Test
+    void fromArray_whenUnknownCellValue_throwsException() {
+        String[][] board = {
+                {"X", "", "Z"},
+                {"", "", ""},
+                {"", "", ""}
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> BitBoard.fromArray(board));
+    }
+
+    @Test
+    void fromArray_whenWrongDimensions_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> BitBoard.fromArray(new String[][]{{"", ""}, {"", ""}}));
+    }
+
+    @Test
+    void withMove_placesSignAndKeepsOriginalUnchanged() {
+        BitBoard board = BitBoard.EMPTY.withMove(BitBoard.index(1, 1), PlayerSign.O);
+
+        assertEquals(PlayerSign.O, board.signAt(4));
+        assertTrue(BitBoard.EMPTY.isEmpty(4));
+        assertThrows(IllegalArgumentException.class, () -> board.withMove(4, PlayerSign.X));
+    }
+
+    @Test
+    void status_detectsWinDrawAndInProgress() {
+        assertEquals(GameStatus.FINISHED, BitBoard.of(0b100_010_001, 0b000_001_110).status());
+        assertEquals(GameStatus.DRAW, BitBoard.of(0b010_011_101, 0b101_100_010).status());
+        assertEquals(GameStatus.IN_PROGRESS, BitBoard.EMPTY.status());
+    }
+
+    @Test
+    void of_whenMasksOverlap_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> BitBoard.of(0b1, 0b1));
+    }
+}
@@ -3,6 +3,8 @@ package com.example.game.util;
 import com.example.game.model.enums.GameStatus;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GameUtilTest {
@@ -117,4 +119,98 @@ class GameUtilTest {
 
         assertEquals(GameStatus.IN_PROGRESS, GameUtil.getCurrentGameStatus(board));
     }
+
+    @Test
+    void getStatusAfterMove_whenMoveCompletesLine_returnsFinished() {
+        String[][] board = emptyBoard(15);
+        for (int j = 4; j < 9; j++) {
+            board[6][j] = "O";
+        }
+
+        assertEquals(GameStatus.FINISHED, GameUtil.getStatusAfterMove(board, 5, 6, 6, 5));
+    }
+
+    @Test
+    void getStatusAfterMove_whenLineTooShort_returnsInProgress() {
+        String[][] board = emptyBoard(15);
+        for (int i = 0; i < 4; i++) {
+            board[i][i] = "X";
+        }
+
+        assertEquals(GameStatus.IN_PROGRESS, GameUtil.getStatusAfterMove(board, 5, 3, 3, 4));
+    }
+
+    @Test
+    void getStatusAfterMove_whenLastCellFilled_returnsDraw() {
+        String[][] board = {
+                {"X", "O", "X", "O"},
+                {"X", "O", "X", "O"},
+                {"O", "X", "O", "X"},
+                {"O", "X", "O", "X"}
+        };
+
+        assertEquals(GameStatus.DRAW, GameUtil.getStatusAfterMove(board, 3, 3, 3, 16));
+    }
+
+    @Test
+    void getCurrentGameStatus_whenLargeBoardHasWin_returnsFinished() {
+        String[][] board = emptyBoard(7);
+        for (int i = 0; i < 4; i++) {
+            board[i][6 - i] = "X";
+        }
+
+        assertEquals(GameStatus.FINISHED, GameUtil.getCurrentGameStatus(board, 4));
+        assertEquals(GameStatus.IN_PROGRESS, GameUtil.getCurrentGameStatus(board, 5));
+    }
+
+    @Test
+    void boardHash_whenEmptyCellsDifferOnlyInRepresentation_returnsSameHash() {
+        String[][] board = emptyBoard(3);
+        board[1][1] = "X";
+        String[][] legacyBoard = new String[3][3];
+        legacyBoard[1][1] = "X";
+
+        assertEquals(GameUtil.boardHash(board), GameUtil.boardHash(legacyBoard));
+    }
+
+    @Test
+    void boardHash_whenCellOrShapeDiffers_returnsDifferentHash() {
+        String[][] board = emptyBoard(3);
+        String[][] moved = emptyBoard(3);
+        moved[0][1] = "O";
+
+        assertNotEquals(GameUtil.boardHash(board), GameUtil.boardHash(moved));
+        assertNotEquals(GameUtil.boardHash(new String[1][9]), GameUtil.boardHash(new String[9][1]));
+    }
+
+    @Test
+    void containsSigns_whenBoardIsLaterMoveOfOther_returnsTrueOnlyThatWay() {
+        String[][] earlier = emptyBoard(3);
+        earlier[0][0] = "X";
+        String[][] later = GameUtil.deepCopyBoard(earlier);
+        later[1][1] = "O";
+
+        assertTrue(GameUtil.containsSigns(later, earlier));
+        assertTrue(GameUtil.containsSigns(later, later));
+        assertFalse(GameUtil.containsSigns(earlier, later));
+    }
+
+    @Test
+    void containsSigns_whenBoardsDiverged_returnsFalse() {
+        String[][] board = emptyBoard(3);
+        board[0][0] = "X";
+        String[][] other = emptyBoard(3);
+        other[0][0] = "O";
+
+        assertFalse(GameUtil.containsSigns(board, other));
+        assertFalse(GameUtil.containsSigns(emptyBoard(4), emptyBoard(3)));
+    }
+
+    private static String[][] emptyBoard(int size) {
+        String[][] board = new String[size][size];
+        for (String[] row : board) {
+            Arrays.fill(row, "");
+        }
+        return board;
+    }
 }
@@ -0,0 +1,85 @@
+package com.example.game.util;
+
+import com.example.game.model.enums.GameStatus;
+import com.example.game.model.enums.PlayerSign;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MnkBoardTest {
+
+    @Test
+    void place_whenFiveInDiagonal_returnsFinished() {
+        MnkBoard board = MnkBoard.empty(15, 15, 5);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(GameStatus.IN_PROGRESS, board.place(cell(3 + i, 3 + i), PlayerSign.X));
+            board.place(cell(0, i), PlayerSign.O);
+        }
+
+        assertEquals(GameStatus.FINISHED, board.place(cell(7, 7), PlayerSign.X));
+        assertTrue(board.hasWon(PlayerSign.X));
+        assertFalse(board.hasWon(PlayerSign.O));
+    }
+
+    @Test
+    void undo_restoresCountersAndScore() {
+        MnkBoard board = MnkBoard.empty(15, 15, 5);
+        board.place(cell(7, 7), PlayerSign.X);
+        long score = board.evaluate(PlayerSign.X);
+
+        board.place(cell(7, 8), PlayerSign.O);
+        board.undo(cell(7, 8));
+
+        assertEquals(score, board.evaluate(PlayerSign.X));
+        assertEquals(1, board.getMoveCount());
+        assertTrue(board.isEmpty(cell(7, 8)));
+        assertTrue(board.isCandidate(cell(7, 8)));
+        assertFalse(board.isCandidate(cell(0, 0)));
+    }
+
+    @Test
+    void evaluate_whenLineIsBlocked_thenScoresLower() {
+        MnkBoard open = MnkBoard.empty(15, 15, 5);
+        MnkBoard blocked = MnkBoard.empty(15, 15, 5);
+        for (int i = 0; i < 3; i++) {
+            open.place(cell(7, 5 + i), PlayerSign.X);
+            blocked.place(cell(7, 5 + i), PlayerSign.X);
+        }
+        open.place(cell(0, 0), PlayerSign.O);
+        blocked.place(cell(7, 8), PlayerSign.O);
+
+        assertTrue(open.evaluate(PlayerSign.X) > blocked.evaluate(PlayerSign.X));
+    }
+
+    @Test
+    void status_whenBoardIsFull_returnsDraw() {
+        MnkBoard board = MnkBoard.fromArray(new String[][]{
+                {"X", "O", "X", "O"},
+                {"X", "O", "X", "O"},
+                {"O", "X", "O", "X"},
+                {"O", "X", "O", "X"}
+        }, 3);
+
+        assertEquals(GameStatus.DRAW, board.status());
+    }
+
+    @Test
+    void fromArray_toArray_roundTripsBoard() {
+        String[][] board = {
+                {"X", "", "", ""},
+                {"", "O", "", ""},
+                {"", "", "", "X"}
+        };
+
+        assertArrayEquals(board, MnkBoard.fromArray(board, 3).toArray());
+    }
+
+    @Test
+    void empty_whenWinLengthDoesNotFit_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> MnkBoard.empty(3, 3, 4));
+    }
+
+    private static int cell(int row, int column) {
+        return row * 15 + column;
+    }
+}
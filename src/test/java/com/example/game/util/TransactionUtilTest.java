@@ -0,0 +1,53 @@
+package com.example.game.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TransactionUtilTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void runAfterCommit_whenNoTransaction_thenRunsImmediately() {
+        var runs = new AtomicInteger();
+
+        TransactionUtil.runAfterCommit(runs::incrementAndGet);
+
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runAfterCommit_whenTransactionActive_thenRunsOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        var runs = new AtomicInteger();
+
+        TransactionUtil.runAfterCommit(runs::incrementAndGet);
+        assertEquals(0, runs.get());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void runAfterCommit_whenTransactionRollsBack_thenNeverRuns() {
+        TransactionSynchronizationManager.initSynchronization();
+        var runs = new AtomicInteger();
+
+        TransactionUtil.runAfterCommit(runs::incrementAndGet);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0, runs.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.game.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UuidV7Test {
+
+    @Test
+    void next_whenGenerated_thenVersion7WithCurrentTimestamp() {
+        long before = System.currentTimeMillis();
+
+        UUID uuid = UuidV7.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertThat(UuidV7.timestamp(uuid)).isBetween(before, System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void next_whenManyGeneratedWithinMilliseconds_thenStrictlyIncreasing() {
+        List<UUID> uuids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            uuids.add(UuidV7.next());
+        }
+
+        for (int i = 1; i < uuids.size(); i++) {
+            assertThat(uuids.get(i)).isGreaterThan(uuids.get(i - 1));
+        }
+    }
+
+    @Test
+    void of_whenGivenFields_thenLaysThemOutPerRfc() {
+        UUID uuid = UuidV7.of(0x017F22E279B0L, 0xCC3L, -1L);
+
+        assertEquals(UUID.fromString("017f22e2-79b0-7cc3-bfff-ffffffffffff"), uuid);
+        assertEquals(0x017F22E279B0L, UuidV7.timestamp(uuid));
+    }
+
+    @Test
+    void timestamp_whenRandomUuid_thenThrowsException() {
+        UUID uuid = UUID.randomUUID();
+
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestamp(uuid));
+    }
+}